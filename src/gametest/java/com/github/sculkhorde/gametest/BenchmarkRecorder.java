@@ -0,0 +1,278 @@
+package com.github.sculkhorde.gametest;
+
+import com.github.sculkhorde.common.entity.infection.CursorEntity;
+import com.github.sculkhorde.core.SculkHorde;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures how the horde performs while a benchmark scenario runs, and writes the results as JSON. <br>
+ * Call {@link #start()} once the scenario is set up, {@link #tick()} every tick after that, and {@link #finish()} at the end.
+ * Everything is read on the server thread, which is where the game tests run. Allocations on the
+ * cursor search threads are added up by {@link com.github.sculkhorde.core.gravemind.CursorHandler} while recording.
+ */
+public class BenchmarkRecorder {
+
+    public static final String OUTPUT_DIRECTORY_NAME = "benchmarks";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final String scenario;
+    private final ServerLevel level;
+    // Cursors found in here are timed, even if the scenario did not spawn them itself
+    private final AABB cursorArea;
+    @Nullable
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    // Cursors that are still running, with the game time we first saw them at
+    private final Map<CursorEntity, Long> runningCursors = new HashMap<>();
+    private final LongArrayList cursorCompletionTicks = new LongArrayList();
+    private int peakRunningCursors = 0;
+
+    private boolean isRecording = false;
+    private int ticksRecorded = 0;
+    private long startInfestedBlocksCount;
+    private long startCursorWorkNanos;
+    private long startAllocatedBytes;
+    private long startSearchAllocatedBytes;
+    private long startTargetRegionQueriesCount;
+    private long startTargetRegionHitsCount;
+    private long startTargetAreaQueriesCount;
+    // What we allocate ourselves while looking for cursors should not count against the horde
+    private long ownAllocatedBytes;
+
+    public BenchmarkRecorder(String scenario, ServerLevel level, AABB cursorArea)
+    {
+        this.scenario = scenario;
+        this.level = level;
+        this.cursorArea = cursorArea;
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported())
+        {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            this.threadBean = sunBean;
+        }
+        else
+        {
+            this.threadBean = null;
+        }
+    }
+
+    /** Accessors **/
+
+    public String getScenario()
+    {
+        return scenario;
+    }
+
+    public boolean isRecording()
+    {
+        return isRecording;
+    }
+
+    public int getTicksRecorded()
+    {
+        return ticksRecorded;
+    }
+
+    public boolean areAllCursorsFinished()
+    {
+        return runningCursors.isEmpty();
+    }
+
+    /**
+     * @return How many blocks were infested in the level of the scenario. Cures and follow-up blocks like flora do not count.
+     */
+    public long getBlocksInfested()
+    {
+        return SculkHorde.infestationWriteBuffer.getInfestedBlocksCount(level.dimension()) - startInfestedBlocksCount;
+    }
+
+    private long getAllocatedBytes()
+    {
+        return threadBean == null ? 0 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Modifiers **/
+
+    /**
+     * Starts timing a cursor from now on.
+     * @param cursor The cursor
+     */
+    public void addCursor(CursorEntity cursor)
+    {
+        runningCursors.putIfAbsent(cursor, level.getGameTime());
+        peakRunningCursors = Math.max(peakRunningCursors, runningCursors.size());
+    }
+
+    /** Events **/
+
+    public void start()
+    {
+        isRecording = true;
+        ticksRecorded = 0;
+        startInfestedBlocksCount = SculkHorde.infestationWriteBuffer.getInfestedBlocksCount(level.dimension());
+        startCursorWorkNanos = SculkHorde.cursorHandler.getTotalCursorWorkNanos();
+        ownAllocatedBytes = 0;
+        startAllocatedBytes = getAllocatedBytes();
+        startSearchAllocatedBytes = SculkHorde.cursorHandler.getSearchAllocatedBytes();
+        SculkHorde.cursorHandler.setTrackingSearchAllocations(threadBean != null);
+        startTargetRegionQueriesCount = SculkHorde.targetCandidateCache.getRegionQueriesCount();
+        startTargetRegionHitsCount = SculkHorde.targetCandidateCache.getRegionHitsCount();
+        startTargetAreaQueriesCount = SculkHorde.targetCandidateCache.getAreaQueriesCount();
+    }
+
+    public void tick()
+    {
+        if(!isRecording)
+        {
+            return;
+        }
+
+        ticksRecorded++;
+        long allocatedBytesBefore = getAllocatedBytes();
+
+        // Cursors remove themselves from the level when they are done
+        long gameTime = level.getGameTime();
+        runningCursors.entrySet().removeIf(entry -> {
+            if(!entry.getKey().isRemoved())
+            {
+                return false;
+            }
+            cursorCompletionTicks.add(gameTime - entry.getValue());
+            return true;
+        });
+
+        for(CursorEntity cursor : level.getEntitiesOfClass(CursorEntity.class, cursorArea, cursor -> !runningCursors.containsKey(cursor)))
+        {
+            addCursor(cursor);
+        }
+
+        ownAllocatedBytes += getAllocatedBytes() - allocatedBytesBefore;
+    }
+
+    /**
+     * Stops recording and writes the results to the benchmarks folder of the game directory.
+     * @return The results
+     */
+    public JsonObject finish()
+    {
+        isRecording = false;
+        SculkHorde.cursorHandler.setTrackingSearchAllocations(false);
+        int ticks = Math.max(1, ticksRecorded);
+        double seconds = ticks / 20.0D;
+        long blocksInfested = getBlocksInfested();
+        long cursorWorkNanos = SculkHorde.cursorHandler.getTotalCursorWorkNanos() - startCursorWorkNanos;
+
+        JsonObject results = new JsonObject();
+        results.addProperty("scenario", scenario);
+        results.addProperty("timestamp", Instant.now().toString());
+        results.addProperty("ticks", ticks);
+        results.addProperty("blocks_infested", blocksInfested);
+        results.addProperty("blocks_infested_per_second", blocksInfested / seconds);
+        // How much of every tick went to cursors, next to how long the whole tick took
+        results.addProperty("cursor_mspt", cursorWorkNanos / 1_000_000.0D / ticks);
+        results.addProperty("server_mspt", level.getServer().getAverageTickTime());
+        if(threadBean == null)
+        {
+            results.addProperty("allocated_bytes_per_tick", -1);
+        }
+        else
+        {
+            // The total includes the search threads, the parts are there to tell where the allocations come from
+            long serverThreadAllocatedBytes = getAllocatedBytes() - startAllocatedBytes - ownAllocatedBytes;
+            long searchThreadsAllocatedBytes = SculkHorde.cursorHandler.getSearchAllocatedBytes() - startSearchAllocatedBytes;
+            results.addProperty("allocated_bytes_per_tick", (serverThreadAllocatedBytes + searchThreadsAllocatedBytes) / ticks);
+            results.addProperty("server_thread_allocated_bytes_per_tick", serverThreadAllocatedBytes / ticks);
+            results.addProperty("search_threads_allocated_bytes_per_tick", searchThreadsAllocatedBytes / ticks);
+        }
+        results.add("cursors", getCursorResults());
+        results.add("target_searches", getTargetSearchResults());
+
+        writeResults(results);
+        SculkHorde.LOGGER.info("Benchmark " + scenario + ": " + GSON.toJson(results));
+        return results;
+    }
+
+    private JsonObject getCursorResults()
+    {
+        JsonObject cursors = new JsonObject();
+        cursors.addProperty("peak_running", peakRunningCursors);
+        cursors.addProperty("completed", cursorCompletionTicks.size());
+        cursors.addProperty("unfinished", runningCursors.size());
+
+        if(cursorCompletionTicks.isEmpty())
+        {
+            return cursors;
+        }
+
+        long[] completionTicks = cursorCompletionTicks.toLongArray();
+        Arrays.sort(completionTicks);
+        long totalTicks = 0;
+        for(long completionTick : completionTicks)
+        {
+            totalTicks += completionTick;
+        }
+
+        JsonObject completion = new JsonObject();
+        completion.addProperty("min", completionTicks[0]);
+        completion.addProperty("mean", (double) totalTicks / completionTicks.length);
+        completion.addProperty("p50", getPercentile(completionTicks, 0.5D));
+        completion.addProperty("p95", getPercentile(completionTicks, 0.95D));
+        completion.addProperty("max", completionTicks[completionTicks.length - 1]);
+        cursors.add("completion_ticks", completion);
+        return cursors;
+    }
+
+    /**
+     * How well sculk mobs shared their target searches. Most scenarios spawn no mobs, so these are often 0.
+     */
+    private JsonObject getTargetSearchResults()
+    {
+        long regionQueries = SculkHorde.targetCandidateCache.getRegionQueriesCount() - startTargetRegionQueriesCount;
+        long regionHits = SculkHorde.targetCandidateCache.getRegionHitsCount() - startTargetRegionHitsCount;
+
+        JsonObject targetSearches = new JsonObject();
+        targetSearches.addProperty("region_queries", regionQueries);
+        targetSearches.addProperty("region_hits", regionHits);
+        targetSearches.addProperty("region_hit_rate", regionQueries == 0 ? 0 : (double) regionHits / regionQueries);
+        targetSearches.addProperty("area_queries", SculkHorde.targetCandidateCache.getAreaQueriesCount() - startTargetAreaQueriesCount);
+        return targetSearches;
+    }
+
+    private static long getPercentile(long[] sortedValues, double percentile)
+    {
+        int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, index))];
+    }
+
+    private void writeResults(JsonObject results)
+    {
+        Path outputDirectory = FMLPaths.GAMEDIR.get().resolve(OUTPUT_DIRECTORY_NAME);
+        try
+        {
+            Files.createDirectories(outputDirectory);
+            Files.writeString(outputDirectory.resolve(scenario + ".json"), GSON.toJson(results));
+        }
+        catch (IOException e)
+        {
+            SculkHorde.LOGGER.error("Could not write the results of benchmark " + scenario, e);
+        }
+    }
+}
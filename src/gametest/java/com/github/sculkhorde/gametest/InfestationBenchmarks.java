@@ -0,0 +1,246 @@
+package com.github.sculkhorde.gametest;
+
+import com.github.sculkhorde.common.entity.infection.CursorSurfaceInfectorEntity;
+import com.github.sculkhorde.core.ModBlocks;
+import com.github.sculkhorde.core.ModSavedData;
+import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.util.TickUnits;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for how fast the horde infests blocks, and what it costs the server. <br>
+ * Run them with the runGameTestServer gradle task. Every scenario writes its results to
+ * run/benchmarks/[scenario].json, see {@link BenchmarkRecorder} for what is measured. <br>
+ * Every scenario has its own batch, so they run one after the other and do not skew each other's numbers.
+ * A scenario fails if it did not infest a single block.
+ */
+@GameTestHolder(SculkHorde.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class InfestationBenchmarks {
+
+    // An empty structure the scenarios build themselves in
+    private static final String ARENA_TEMPLATE = "gametest/benchmark_arena";
+    private static final int ARENA_SIZE = 48;
+    private static final int ARENA_HEIGHT = 24;
+
+    // These are used in annotations, so they have to be constants
+    // Lets lighting and chunk loading settle before we start measuring
+    private static final int SETTLE_TICKS = TickUnits.TICKS_PER_SECOND;
+    // Nodes only check if they can activate once a minute
+    private static final int NODE_WARMUP_TICKS = TickUnits.TICKS_PER_MINUTE + SETTLE_TICKS;
+    private static final int MEASURED_TICKS = TickUnits.TICKS_PER_MINUTE;
+    private static final int TIMEOUT_MARGIN_TICKS = TickUnits.TICKS_PER_SECOND * 5;
+
+    // Node cursors wander outside the arena, so look for them further out
+    private static final int CURSOR_AREA_MARGIN = 64;
+    private static final long RANDOM_SEED = 8364L;
+
+    /** Scenarios **/
+
+    @GameTest(template = ARENA_TEMPLATE, batch = "benchmark_flat_stone_field", timeoutTicks = NODE_WARMUP_TICKS + MEASURED_TICKS + TIMEOUT_MARGIN_TICKS)
+    public static void flatStoneField(GameTestHelper helper)
+    {
+        activateHorde();
+        fill(helper, 0, 0, 0, ARENA_SIZE - 1, 3, ARENA_SIZE - 1, Blocks.STONE.defaultBlockState());
+
+        // On top of the field, so its cursors have somewhere to spread
+        BlockPos nodePos = new BlockPos(ARENA_SIZE / 2, 4, ARENA_SIZE / 2);
+        helper.setBlock(nodePos, ModBlocks.SCULK_NODE_BLOCK.get());
+        SculkHorde.savedData.addNodeToMemory(helper.getLevel(), helper.absolutePos(nodePos));
+
+        runBenchmark(helper, "flat_stone_field", NODE_WARMUP_TICKS, false, recorder -> {});
+    }
+
+    @GameTest(template = ARENA_TEMPLATE, batch = "benchmark_cave_system", timeoutTicks = SETTLE_TICKS + MEASURED_TICKS + TIMEOUT_MARGIN_TICKS)
+    public static void caveSystem(GameTestHelper helper)
+    {
+        activateHorde();
+        fill(helper, 0, 0, 0, ARENA_SIZE - 1, ARENA_HEIGHT - 5, ARENA_SIZE - 1, Blocks.STONE.defaultBlockState());
+
+        // Carve winding tunnels, and spawn a cursor where each one starts
+        RandomSource random = RandomSource.create(RANDOM_SEED);
+        BlockPos[] tunnelStarts = new BlockPos[12];
+        for(int i = 0; i < tunnelStarts.length; i++)
+        {
+            tunnelStarts[i] = carveTunnel(helper, random, 80);
+        }
+
+        runBenchmark(helper, "cave_system", SETTLE_TICKS, true, recorder -> {
+            for(BlockPos tunnelStart : tunnelStarts)
+            {
+                spawnInfectorCursor(helper, recorder, tunnelStart, 200, 24);
+            }
+        });
+    }
+
+    @GameTest(template = ARENA_TEMPLATE, batch = "benchmark_ocean_floor", timeoutTicks = SETTLE_TICKS + MEASURED_TICKS + TIMEOUT_MARGIN_TICKS)
+    public static void oceanFloor(GameTestHelper helper)
+    {
+        activateHorde();
+
+        // Glass walls keep the water from flowing out of the arena
+        fill(helper, 0, 0, 0, ARENA_SIZE - 1, ARENA_HEIGHT - 6, ARENA_SIZE - 1, Blocks.GLASS.defaultBlockState());
+        fill(helper, 1, 1, 1, ARENA_SIZE - 2, ARENA_HEIGHT - 6, ARENA_SIZE - 2, Blocks.WATER.defaultBlockState());
+
+        RandomSource random = RandomSource.create(RANDOM_SEED);
+        BlockState[] floorBlocks = { Blocks.SAND.defaultBlockState(), Blocks.GRAVEL.defaultBlockState(), Blocks.CLAY.defaultBlockState() };
+        for(int x = 1; x < ARENA_SIZE - 1; x++)
+        {
+            for(int z = 1; z < ARENA_SIZE - 1; z++)
+            {
+                int floorHeight = 2 + random.nextInt(3);
+                for(int y = 1; y <= floorHeight; y++)
+                {
+                    setBlockQuietly(helper, new BlockPos(x, y, z), floorBlocks[random.nextInt(floorBlocks.length)]);
+                }
+            }
+        }
+
+        runBenchmark(helper, "ocean_floor", SETTLE_TICKS, true, recorder -> {
+            for(int i = 0; i < 12; i++)
+            {
+                BlockPos pos = new BlockPos(2 + random.nextInt(ARENA_SIZE - 4), 5, 2 + random.nextInt(ARENA_SIZE - 4));
+                spawnInfectorCursor(helper, recorder, pos, 200, 24);
+            }
+        });
+    }
+
+    @GameTest(template = ARENA_TEMPLATE, batch = "benchmark_cursor_stress", timeoutTicks = SETTLE_TICKS + MEASURED_TICKS + TIMEOUT_MARGIN_TICKS)
+    public static void cursorStress(GameTestHelper helper)
+    {
+        activateHorde();
+        fill(helper, 0, 0, 0, ARENA_SIZE - 1, 3, ARENA_SIZE - 1, Blocks.STONE.defaultBlockState());
+
+        RandomSource random = RandomSource.create(RANDOM_SEED);
+        runBenchmark(helper, "cursor_stress_200", SETTLE_TICKS, true, recorder -> {
+            for(int i = 0; i < 200; i++)
+            {
+                BlockPos pos = new BlockPos(random.nextInt(ARENA_SIZE), 4, random.nextInt(ARENA_SIZE));
+                spawnInfectorCursor(helper, recorder, pos, 50, 16);
+            }
+        });
+    }
+
+    /** Helpers **/
+
+    /**
+     * Starts recording after the warmup, and ends the test once enough ticks were recorded.
+     * @param helper The game test helper
+     * @param scenario The name of the results file
+     * @param warmupTicks How long to wait before recording
+     * @param stopWhenCursorsFinish If true, the test also ends once every cursor we know of is done
+     * @param onStart Spawns whatever the scenario needs once recording starts
+     */
+    private static void runBenchmark(GameTestHelper helper, String scenario, int warmupTicks, boolean stopWhenCursorsFinish, Consumer<BenchmarkRecorder> onStart)
+    {
+        BenchmarkRecorder recorder = new BenchmarkRecorder(scenario, helper.getLevel(), helper.getBounds().inflate(CURSOR_AREA_MARGIN));
+
+        helper.runAfterDelay(warmupTicks, () -> {
+            recorder.start();
+            onStart.accept(recorder);
+        });
+
+        helper.onEachTick(() -> {
+            if(!recorder.isRecording())
+            {
+                return;
+            }
+
+            recorder.tick();
+            boolean isDone = recorder.getTicksRecorded() >= MEASURED_TICKS || (stopWhenCursorsFinish && recorder.areAllCursorsFinished());
+            if(!isDone)
+            {
+                return;
+            }
+
+            recorder.finish();
+            if(recorder.getBlocksInfested() <= 0)
+            {
+                helper.fail("Benchmark " + scenario + " did not infest any blocks");
+            }
+            helper.succeed();
+        });
+    }
+
+    private static void activateHorde()
+    {
+        if(!SculkHorde.savedData.isHordeActive())
+        {
+            SculkHorde.savedData.setHordeState(ModSavedData.HordeState.ACTIVE);
+        }
+    }
+
+    private static void spawnInfectorCursor(GameTestHelper helper, BenchmarkRecorder recorder, BlockPos relativePos, int maxTransformations, int maxRange)
+    {
+        ServerLevel level = helper.getLevel();
+        BlockPos pos = helper.absolutePos(relativePos);
+        CursorSurfaceInfectorEntity cursor = new CursorSurfaceInfectorEntity(level);
+        cursor.setPos(pos.getX(), pos.getY(), pos.getZ());
+        cursor.setMaxTransformations(maxTransformations);
+        cursor.setMaxRange(maxRange);
+        level.addFreshEntity(cursor);
+        recorder.addCursor(cursor);
+    }
+
+    /**
+     * Digs a tunnel that winds through the arena.
+     * @return Where the tunnel starts
+     */
+    private static BlockPos carveTunnel(GameTestHelper helper, RandomSource random, int length)
+    {
+        double x = 4 + random.nextInt(ARENA_SIZE - 8);
+        double y = 4 + random.nextInt(ARENA_HEIGHT - 12);
+        double z = 4 + random.nextInt(ARENA_SIZE - 8);
+        BlockPos start = BlockPos.containing(x, y, z);
+        float yaw = random.nextFloat() * Mth.TWO_PI;
+        float pitch = 0;
+
+        for(int step = 0; step < length; step++)
+        {
+            int radius = 1 + random.nextInt(2);
+            for(BlockPos pos : BlockPos.betweenClosed(BlockPos.containing(x - radius, y - radius, z - radius), BlockPos.containing(x + radius, y + radius, z + radius)))
+            {
+                boolean isInsideArena = pos.getX() > 0 && pos.getX() < ARENA_SIZE - 1 && pos.getY() > 0 && pos.getY() < ARENA_HEIGHT - 6 && pos.getZ() > 0 && pos.getZ() < ARENA_SIZE - 1;
+                if(isInsideArena && pos.distToCenterSqr(x, y, z) <= radius * radius)
+                {
+                    setBlockQuietly(helper, pos, Blocks.CAVE_AIR.defaultBlockState());
+                }
+            }
+
+            yaw += (random.nextFloat() - 0.5F) * 0.8F;
+            pitch = Mth.clamp(pitch + (random.nextFloat() - 0.5F) * 0.4F, -0.5F, 0.5F);
+            x = Mth.clamp(x + Mth.cos(yaw) * Mth.cos(pitch), 2, ARENA_SIZE - 3);
+            y = Mth.clamp(y + Mth.sin(pitch), 2, ARENA_HEIGHT - 8);
+            z = Mth.clamp(z + Mth.sin(yaw) * Mth.cos(pitch), 2, ARENA_SIZE - 3);
+        }
+        return start;
+    }
+
+    private static void fill(GameTestHelper helper, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, BlockState state)
+    {
+        for(BlockPos pos : BlockPos.betweenClosed(minX, minY, minZ, maxX, maxY, maxZ))
+        {
+            setBlockQuietly(helper, pos, state);
+        }
+    }
+
+    /**
+     * Building a scenario sets a lot of blocks, so skip the neighbor updates.
+     */
+    private static void setBlockQuietly(GameTestHelper helper, BlockPos relativePos, BlockState state)
+    {
+        helper.getLevel().setBlock(helper.absolutePos(relativePos), state, Block.UPDATE_CLIENTS);
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.sculkhorde.ModdingAPI;
 
 import com.github.sculkhorde.common.block.InfestationEntries.BlockInfestationTable;
+import com.github.sculkhorde.systems.BlockInfestationCache;
 import com.github.sculkhorde.systems.BlockInfestationSystem;
 
 import java.util.Comparator;
@@ -12,6 +13,7 @@ public class BlockInfestationAPI {
     {
         BlockInfestationSystem.INFESTATION_TABLES.add(table);
         BlockInfestationSystem.INFESTATION_TABLES.sort(Comparator.comparing(BlockInfestationTable::getPriority));
+        BlockInfestationCache.invalidate();
         return table;
     }
 
@@ -44,6 +44,11 @@ public abstract class BlockEntityInfestationTableEntry implements IBlockInfestat
         return ((Block)infectedVariant).defaultBlockState().is(blockState.getBlock());
     }
 
+    @Override
+    public Block getInfectedVariantIndexKey() {
+        return (Block)infectedVariant;
+    }
+
     @Override
     public BlockState getNormalVariant(Level level, BlockPos blockPos)
     {
@@ -49,6 +49,32 @@ public class BlockIDOnlyCurableTableEntry implements IBlockInfestationEntry
         return BuiltInRegistries.BLOCK.getKey(blockState.getBlock()).toString().equals(infectedVariantID);
     }
 
+    @Override
+    public boolean canInfestBlocks()
+    {
+        return false;
+    }
+
+    /**
+     * If the block does not exist (the other mod is not installed), no block state can match this entry.
+     */
+    @Override
+    public boolean canCureBlocks()
+    {
+        return getInfectedVariantIndexKey() != null;
+    }
+
+    @Override
+    public Block getInfectedVariantIndexKey()
+    {
+        ResourceLocation infectedVariantLocation = ResourceLocation.tryParse(infectedVariantID);
+        if(infectedVariantLocation == null)
+        {
+            return null;
+        }
+        return BuiltInRegistries.BLOCK.getOptional(infectedVariantLocation).orElse(null);
+    }
+
     public BlockState getNormalVariant(Level level, BlockPos blockPos)
     {
         return getNormalVariant(level.getBlockState(blockPos));
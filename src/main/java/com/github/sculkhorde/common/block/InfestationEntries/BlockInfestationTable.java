@@ -1,24 +1,33 @@
 package com.github.sculkhorde.common.block.InfestationEntries;
 
 import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.systems.BlockInfestationCache;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.sounds.SoundEvents;
-import net.minecraft.sounds.SoundSource;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.Tier;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 public class BlockInfestationTable{
 
     private List<IBlockInfestationEntry> entries;
+    // Compiled from entries, rebuilt lazily whenever entries change.
+    // Cursor searches read the indexes from other threads, so a rebuild makes new indexes and swaps them in,
+    // instead of changing the ones that might be read at the same time.
+    private volatile boolean isIndexDirty = true;
+    private volatile EntryIndex normalVariantIndex = new EntryIndex(true, List.of());
+    private volatile EntryIndex infectedVariantIndex = new EntryIndex(false, List.of());
     protected boolean denyNonSolidBlocks = true;
     protected float priority = 0F;
 
@@ -48,66 +57,120 @@ public class BlockInfestationTable{
      * @param normalVariant The normal variant of the block.
      * @param infectedVariant The infected variant of the block.
      */
-    public void addEntry(float priority, Block normalVariant, BlockState infectedVariant)
+    public synchronized void addEntry(float priority, Block normalVariant, BlockState infectedVariant)
     {
         entries.add(new BlockInfestationTableEntry(priority, normalVariant, infectedVariant));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public void addEntry(float priority, TagKey<Block> normalTag, ITagInfestedBlock infectedVariant, Block defaultNormalVariant)
+    public synchronized void addEntry(float priority, TagKey<Block> normalTag, ITagInfestedBlock infectedVariant, Block defaultNormalVariant)
     {
         entries.add(new BlockTagInfestationTableEntry(priority, normalTag, infectedVariant, defaultNormalVariant));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public void addEntry(float priority, String normalBlockID, String infectedBlockID)
+    public synchronized void addEntry(float priority, String normalBlockID, String infectedBlockID)
     {
         entries.add(new BlockIDOnlyCurableTableEntry(priority, normalBlockID, infectedBlockID));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public void addEntry(float priority, TagKey<Block> toolRequired, Tier tier, ITagInfestedBlock infectedVariant, Block defaultNormalVariant)
+    public synchronized void addEntry(float priority, TagKey<Block> toolRequired, Tier tier, ITagInfestedBlock infectedVariant, Block defaultNormalVariant)
     {
         entries.add(new ToolTaglInfestationTableEntry(priority, toolRequired, tier, infectedVariant, defaultNormalVariant));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public void addEntry(float priority, TagKey<Block> tag1, TagKey<Block> tag2, Tier tier, ITagInfestedBlock infestedVariant, Block defaultNormalVariant)
+    public synchronized void addEntry(float priority, TagKey<Block> tag1, TagKey<Block> tag2, Tier tier, ITagInfestedBlock infestedVariant, Block defaultNormalVariant)
     {
         entries.add(new MultiTagInfestationTableEntry(priority, tag1, tag2, tier, infestedVariant, defaultNormalVariant));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public void addEntry(ITagInfestedBlock infectedVariant)
+    public synchronized void addEntry(ITagInfestedBlock infectedVariant)
     {
         entries.add(new ConfigInfestationTableEntry(infectedVariant));
-        entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+        onEntriesChanged();
     }
 
-    public BlockState getInfestedVariant(Level level, BlockPos blockPos)
+    /**
+     * Entries are only sorted and indexed the next time the table is used,
+     * so adding a lot of entries in a row does not re-sort the list every time.
+     */
+    protected void onEntriesChanged()
     {
-        BlockState blockState = level.getBlockState(blockPos);
-        for(IBlockInfestationEntry entry : entries)
+        isIndexDirty = true;
+        BlockInfestationCache.invalidate();
+    }
+
+    protected void rebuildIndexIfDirty()
+    {
+        if(!isIndexDirty)
         {
-            if(entry.isNormalVariant(blockState))
+            return;
+        }
+
+        synchronized(this)
+        {
+            // Another thread might have rebuilt it while we waited
+            if(!isIndexDirty)
             {
-                return entry.getInfectedVariant(level, blockPos);
+                return;
             }
+
+            // List.sort is stable, so entries with the same priority keep the order they were added in
+            entries.sort(Comparator.comparing(IBlockInfestationEntry::getPriority));
+            normalVariantIndex = new EntryIndex(true, entries);
+            infectedVariantIndex = new EntryIndex(false, entries);
+            isIndexDirty = false;
+        }
+    }
+
+    /**
+     * Rebuilds the indexes now if entries changed, so that nothing has to be rebuilt while cursors search on other threads.
+     * Call this on the server thread.
+     */
+    public void prepareIndex()
+    {
+        rebuildIndexIfDirty();
+    }
+
+    /**
+     * @return The highest priority entry that considers this block state a normal variant, or null.
+     */
+    protected IBlockInfestationEntry getEntryForNormalVariant(BlockState blockState)
+    {
+        rebuildIndexIfDirty();
+        return normalVariantIndex.find(blockState);
+    }
+
+    /**
+     * @return The highest priority entry that considers this block state an infected variant, or null.
+     */
+    protected IBlockInfestationEntry getEntryForInfectedVariant(BlockState blockState)
+    {
+        rebuildIndexIfDirty();
+        return infectedVariantIndex.find(blockState);
+    }
+
+    public BlockState getInfestedVariant(Level level, BlockPos blockPos)
+    {
+        IBlockInfestationEntry entry = getEntryForNormalVariant(level.getBlockState(blockPos));
+        if(entry == null)
+        {
+            return null;
         }
-        return null;
+        return entry.getInfectedVariant(level, blockPos);
     }
 
     public BlockState getNormalVariant(Level level, BlockPos blockPos)
     {
-        BlockState blockState = level.getBlockState(blockPos);
-        for(IBlockInfestationEntry entry : entries)
+        IBlockInfestationEntry entry = getEntryForInfectedVariant(level.getBlockState(blockPos));
+        if(entry == null)
         {
-            if(entry.isInfectedVariant(blockState))
-            {
-                return entry.getNormalVariant(level, blockPos);
-            }
+            return null;
         }
-        return null;
+        return entry.getNormalVariant(level, blockPos);
     }
 
 
@@ -121,20 +184,31 @@ public class BlockInfestationTable{
 
         // If we are denying non-solid blocks, then we need to check if the block is solid.
         boolean areWeDenyingNonSolidBlocks = isDenyNonSolidBlocks();
-        boolean isBlockNotSolid = BlockAlgorithms.isNotSolid(level, pos);
-        if(areWeDenyingNonSolidBlocks && isBlockNotSolid)
+        if(areWeDenyingNonSolidBlocks && BlockAlgorithms.isNotSolid(level, pos))
         {
             return false;
         }
 
-        for(IBlockInfestationEntry entry : entries)
-        {
-            if(entry.isNormalVariant(blockState))
-            {
-                return true;
-            }
-        }
-        return false;
+        return canStateBeInfectedByThisTable(blockState);
+    }
+
+    /**
+     * Checks if any entry considers this block state a normal variant.
+     * Unlike {@link #canBeInfectedByThisTable(ServerLevel, BlockPos)}, this does not check if the block is solid.
+     * @return True if the block state is a normal variant.
+     */
+    public boolean canStateBeInfectedByThisTable(BlockState blockState)
+    {
+        return getEntryForNormalVariant(blockState) != null;
+    }
+
+    /**
+     * Checks if any entry considers this block state an infected variant.
+     * @return True if the block state is an infected variant.
+     */
+    public boolean canStateBeCuredByThisTable(BlockState blockState)
+    {
+        return getEntryForInfectedVariant(blockState) != null;
     }
 
     /**
@@ -158,8 +232,7 @@ public class BlockInfestationTable{
             return false;
         }
 
-        world.setBlockAndUpdate(targetPos, newBlock);
-        world.playSound(null, targetPos, SoundEvents.SCULK_CATALYST_BLOOM, SoundSource.BLOCKS, 2.0F, 0.6F + world.getRandom().nextFloat() * 0.4F);
+        SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos, newBlock);
 
         if(newBlock.getBlock() instanceof ITagInfestedBlock tagInfestedBlock)
         {
@@ -176,4 +249,68 @@ public class BlockInfestationTable{
 
         return true;
     }
+
+    /**
+     * Finds the highest priority entry matching a block state.
+     * Entries that only match a single block are looked up in a map.
+     * Everything else (tags, tools, config) is kept in a small list that still has to be tested,
+     * but only the part of it with a higher priority than the map hit. <br>
+     * An index is never changed after it is built, so it can be read from any thread.
+     */
+    private static class EntryIndex
+    {
+        private final boolean matchNormalVariant;
+        private final IdentityHashMap<Block, IBlockInfestationEntry> entriesByBlock = new IdentityHashMap<>();
+        private final Reference2IntOpenHashMap<Block> entryOrderByBlock = new Reference2IntOpenHashMap<>();
+        private final List<IBlockInfestationEntry> residualEntries = new ArrayList<>();
+        private final IntArrayList residualEntryOrder = new IntArrayList();
+
+        private EntryIndex(boolean matchNormalVariant, List<IBlockInfestationEntry> sortedEntries)
+        {
+            this.matchNormalVariant = matchNormalVariant;
+
+            for(int order = 0; order < sortedEntries.size(); order++)
+            {
+                IBlockInfestationEntry entry = sortedEntries.get(order);
+
+                boolean canEntryEverMatch = matchNormalVariant ? entry.canInfestBlocks() : entry.canCureBlocks();
+                if(!canEntryEverMatch)
+                {
+                    continue;
+                }
+
+                Block key = matchNormalVariant ? entry.getNormalVariantIndexKey() : entry.getInfectedVariantIndexKey();
+                if(key == null)
+                {
+                    residualEntries.add(entry);
+                    residualEntryOrder.add(order);
+                }
+                // Only the first (highest priority) entry for a block can ever be returned
+                else if(!entriesByBlock.containsKey(key))
+                {
+                    entriesByBlock.put(key, entry);
+                    entryOrderByBlock.put(key, order);
+                }
+            }
+        }
+
+        private IBlockInfestationEntry find(BlockState blockState)
+        {
+            Block block = blockState.getBlock();
+            IBlockInfestationEntry indexedEntry = entriesByBlock.get(block);
+            int indexedEntryOrder = indexedEntry == null ? Integer.MAX_VALUE : entryOrderByBlock.getInt(block);
+
+            for(int i = 0; i < residualEntries.size() && residualEntryOrder.getInt(i) < indexedEntryOrder; i++)
+            {
+                IBlockInfestationEntry entry = residualEntries.get(i);
+                boolean isMatch = matchNormalVariant ? entry.isNormalVariant(blockState) : entry.isInfectedVariant(blockState);
+                if(isMatch)
+                {
+                    return entry;
+                }
+            }
+
+            return indexedEntry;
+        }
+    }
 }
@@ -46,6 +46,18 @@ public class BlockInfestationTableEntry implements IBlockInfestationEntry
         return infectedVariant.is(blockState.getBlock());
     }
 
+    @Override
+    public Block getNormalVariantIndexKey()
+    {
+        return normalVariant;
+    }
+
+    @Override
+    public Block getInfectedVariantIndexKey()
+    {
+        return infectedVariant.getBlock();
+    }
+
     public BlockState getNormalVariant(Level level, BlockPos blockPos)
     {
         return getNormalVariant(level.getBlockState(blockPos));
@@ -32,6 +32,12 @@ public class ConfigInfestationTableEntry implements IBlockInfestationEntry
         return ((Block)infectedVariant).defaultBlockState().is(blockState.getBlock());
     }
 
+    @Override
+    public Block getInfectedVariantIndexKey()
+    {
+        return (Block)infectedVariant;
+    }
+
     public BlockState getNormalVariant(Level level, BlockPos blockPos)
     {
         ITagInfestedBlockEntity blockEntity = infectedVariant.getTagInfestedBlockEntity(level, blockPos);
@@ -2,6 +2,7 @@ package com.github.sculkhorde.common.block.InfestationEntries;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 
 public interface IBlockInfestationEntry {
@@ -12,4 +13,40 @@ public interface IBlockInfestationEntry {
     BlockState getInfectedVariant(Level level, BlockPos blockPos);
 
     float getPriority();
+
+    /**
+     * If {@link #isNormalVariant(BlockState)} is true exactly for the states of one block,
+     * return that block so tables can look this entry up by block instead of testing it.
+     * @return The block, or null if this entry has to be tested against every block state.
+     */
+    default Block getNormalVariantIndexKey()
+    {
+        return null;
+    }
+
+    /**
+     * If {@link #isInfectedVariant(BlockState)} is true exactly for the states of one block,
+     * return that block so tables can look this entry up by block instead of testing it.
+     * @return The block, or null if this entry has to be tested against every block state.
+     */
+    default Block getInfectedVariantIndexKey()
+    {
+        return null;
+    }
+
+    /**
+     * @return False if {@link #isNormalVariant(BlockState)} never returns true, so tables can skip it entirely.
+     */
+    default boolean canInfestBlocks()
+    {
+        return true;
+    }
+
+    /**
+     * @return False if {@link #isInfectedVariant(BlockState)} never returns true, so tables can skip it entirely.
+     */
+    default boolean canCureBlocks()
+    {
+        return true;
+    }
 }
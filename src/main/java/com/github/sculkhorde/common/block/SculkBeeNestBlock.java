@@ -118,6 +118,18 @@ public class SculkBeeNestBlock extends BaseEntityBlock
         }
     }
 
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving)
+    {
+        //If world isn't client side and saved data exists, remove this nest from memory
+        if(!newState.is(this) && !level.isClientSide() && SculkHorde.savedData != null)
+        {
+            SculkHorde.savedData.removeBeeNestFromMemory(pos);
+        }
+
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
 
     /**
      * Determines what the blockstate should be for placement.
@@ -467,4 +467,16 @@ public class SculkBeeNestBlockEntity extends BlockEntity
         EMERGENCY;
     }
 
+    /**
+     * Stops building the structure, so it is no longer told about block changes.
+     */
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if(beeNestStructure != null && beeNestStructure.isCurrentlyBuilding())
+        {
+            beeNestStructure.stopBuildProcedure();
+        }
+    }
 }
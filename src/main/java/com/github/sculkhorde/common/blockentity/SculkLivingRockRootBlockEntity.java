@@ -62,4 +62,17 @@ public class SculkLivingRockRootBlockEntity extends BlockEntity
             blockEntity.proceduralStructure.startBuildProcedure();
         }
     }
+
+    /**
+     * Stops building the structure, so it is no longer told about block changes.
+     */
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if(proceduralStructure != null && proceduralStructure.isCurrentlyBuilding())
+        {
+            proceduralStructure.stopBuildProcedure();
+        }
+    }
 }
@@ -157,4 +157,17 @@ public class SculkNodeBlockEntity extends BlockEntity
             blockEntity.nodeProceduralStructure.startBuildProcedure();
         }
     }
+
+    /**
+     * Stops building the structure, so it is no longer told about block changes.
+     */
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if(nodeProceduralStructure != null && nodeProceduralStructure.isCurrentlyBuilding())
+        {
+            nodeProceduralStructure.stopBuildProcedure();
+        }
+    }
 }
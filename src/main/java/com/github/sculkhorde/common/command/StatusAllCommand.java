@@ -45,10 +45,16 @@ public class StatusAllCommand implements Command<CommandSourceStack> {
                         + "\n"
                         + "BlockEntity Chunk load Requests: " + SculkHorde.blockEntityChunkLoaderHelper.getBlockChunkLoadRequests().size()
                         + "\n"
+                        + "Chunks Kept Loaded: " + SculkHorde.chunkTicketManager.getChunksWithTicketsCount()
+                        + "\n"
                         + "Events in Queue: " + SculkHorde.eventHandler.getEvents().size()
                         + "\n"
                         + "Performance Mode: " + SculkHorde.autoPerformanceSystem.getPerformanceMode().toString()
                         + "\n"
+                        + "Performance Scale: " + String.format("%.2f", SculkHorde.autoPerformanceSystem.getPerformanceScale())
+                        + "\n"
+                        + "MSPT (p50 / p95): " + String.format("%.1f / %.1f", SculkHorde.autoPerformanceSystem.getMSPTMedian(), SculkHorde.autoPerformanceSystem.getMSPTPercentile95())
+                        + "\n"
                         + "Performance Mode Cursor Threshold?: " + SculkHorde.autoPerformanceSystem.getInfectorCursorPopulationThreshold()
                         + "\n"
                         + "Performance Mode Cursors to Tick Per Tick: " + SculkHorde.autoPerformanceSystem.getCursorsToTickPerTick()
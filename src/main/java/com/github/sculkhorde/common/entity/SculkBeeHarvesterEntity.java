@@ -3,6 +3,7 @@ package com.github.sculkhorde.common.entity;
 import com.github.sculkhorde.common.blockentity.SculkBeeNestBlockEntity;
 import com.github.sculkhorde.core.ModBlocks;
 import com.github.sculkhorde.core.ModEntities;
+import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import com.github.sculkhorde.util.TickUnits;
 import com.google.common.collect.Lists;
@@ -53,6 +54,7 @@ import software.bernie.geckolib.core.animation.AnimatableManager;
 import software.bernie.geckolib.util.GeckoLibUtil;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
@@ -897,35 +899,22 @@ public class SculkBeeHarvesterEntity extends Monster implements GeoEntity, Flyin
             return;
         }
 
-        private final Predicate<BlockState> VALID_HIVE_BLOCKS = (validBlocksPredicate) ->
+        /**
+         * Asks the gravemind which of the nests it knows about have space, instead of scanning every block around the bee.
+         * @return The positions of the nests, closest first
+         */
+        protected List<BlockPos> findNearbyHivesWithSpace()
         {
-            if (validBlocksPredicate.is(ModBlocks.SCULK_BEE_NEST_BLOCK.get()))
+            if(SculkHorde.savedData == null)
             {
-                return true;
+                return new ArrayList<>();
             }
-            return false;
 
-        };
-
-        protected List<BlockPos> findNearbyHivesWithSpace()
-        {
-            List<BlockPos> list = BlockAlgorithms.getBlocksInArea(
+            return SculkHorde.savedData.getBeeNestsWithSpaceWithinRange(
                     (ServerLevel) SculkBeeHarvesterEntity.this.level(),
                     SculkBeeHarvesterEntity.this.blockPosition(),
-                    VALID_HIVE_BLOCKS,
                     TOO_FAR_DISTANCE - 1
             );
-
-            //Remove hives from list without space
-            for(int index = 0; index < list.size(); index++)
-            {
-                if(!SculkBeeHarvesterEntity.this.doesHiveHaveSpace(list.get(index)))
-                {
-                    list.remove(index);
-                    index--;
-                }
-            }
-            return list;
         }
     }
 
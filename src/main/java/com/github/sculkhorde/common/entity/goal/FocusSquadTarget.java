@@ -23,6 +23,13 @@ public class FocusSquadTarget extends TargetGoal {
     {
         ISculkSmartEntity sculkSmartEntity = (ISculkSmartEntity) this.mob;
 
+        // Leaders push their target to the members when it changes, see SquadHandler.pushTargetToMembers.
+        // This is only a fallback for members that lost their target while the leader still has one.
+        if(this.mob.getTarget() != null)
+        {
+            return false;
+        }
+
         boolean squadDoesntExist = !SquadHandler.doesSquadExist(((ISculkSmartEntity)this.mob).getSquad());
         boolean isSquadLeader = sculkSmartEntity.getSquad().isSquadLeader();
         if(squadDoesntExist || isSquadLeader)
@@ -30,7 +37,7 @@ public class FocusSquadTarget extends TargetGoal {
             return false;
         }
 
-        return true;
+        return sculkSmartEntity.getSquad().getSquadTarget() != null;
     }
 
     /**
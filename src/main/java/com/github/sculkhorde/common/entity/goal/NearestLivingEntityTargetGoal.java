@@ -1,6 +1,7 @@
 package com.github.sculkhorde.common.entity.goal;
 
 import com.github.sculkhorde.common.entity.ISculkSmartEntity;
+import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.SquadHandler;
 import com.github.sculkhorde.util.TickUnits;
 import net.minecraft.world.entity.LivingEntity;
@@ -11,13 +12,11 @@ import net.minecraft.world.phys.AABB;
 
 import javax.annotation.Nullable;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.function.Predicate;
 
 public class NearestLivingEntityTargetGoal<T extends LivingEntity> extends TargetGoal {
 
     //protected EntityPredicate targetConditions;
-    List<LivingEntity> possibleTargets;
 
     long lastTimeSinceTargetSearch = 0;
     long targetSearchInterval = TickUnits.convertSecondsToTicks(2);
@@ -67,28 +66,19 @@ public class NearestLivingEntityTargetGoal<T extends LivingEntity> extends Targe
 
         lastTimeSinceTargetSearch = this.mob.level().getGameTime();
 
-        possibleTargets =
-                this.mob.level().getEntitiesOfClass(
-                LivingEntity.class,
+        // Mobs close to each other share the entities found in their area, and only apply their own filter
+        LivingEntity closestLivingEntity = SculkHorde.targetCandidateCache.findClosestTarget(
+                this.mob.level(),
+                this.mob,
                 this.getTargetSearchArea(this.getFollowDistance()),
-                        ((ISculkSmartEntity)this.mob).getTargetParameters().isPossibleNewTargetValid);
+                ((ISculkSmartEntity)this.mob).getTargetParameters().isPossibleNewTargetValid);
 
         //If there is available targets
-        if(possibleTargets.size() <= 0)
+        if(closestLivingEntity == null)
         {
             return;
         }
 
-        LivingEntity closestLivingEntity = possibleTargets.get(0);
-
-        //Return nearest Mob
-        for(LivingEntity e : possibleTargets)
-        {
-            if(e.distanceTo(this.mob) < e.distanceTo(closestLivingEntity))
-            {
-                closestLivingEntity = e;
-            }
-        }
         setTargetMob(closestLivingEntity); //Return target
 
     }
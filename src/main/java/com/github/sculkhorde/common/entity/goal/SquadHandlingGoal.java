@@ -5,6 +5,7 @@ import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.core.gravemind.Gravemind;
 import com.github.sculkhorde.util.SquadHandler;
+import com.github.sculkhorde.util.SquadRegistry;
 import com.github.sculkhorde.util.TickUnits;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
@@ -12,9 +13,7 @@ import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.phys.AABB;
 
-import java.util.Comparator;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Optional;
 
 public class SquadHandlingGoal extends Goal {
@@ -91,27 +90,15 @@ public class SquadHandlingGoal extends Goal {
     protected boolean tryToJoinNearBySquad()
     {
         AABB boundingBox = getMob().getBoundingBox().inflate(16.0D, 8.0D, 16.0D);
-        // Get list of mobs in range
-        List<? extends Mob> list = getMob().level().getEntitiesOfClass(Mob.class, boundingBox);
+        // Only look at squads whose leader is nearby, instead of every mob in range
+        SquadHandler bestSquad = SquadRegistry.getSquadRegistry().findClosestJoinableSquad(getMob(), boundingBox);
 
-
-        // Early exit if list is empty
-        if (list.isEmpty()) {
-            return false;
-        }
-
-        // Use streams to filter out non-iSculkSmartEntities that are squad leaders, and exclude this mob.
-        Mob bestMob = list.stream()
-                .filter(mob -> mob instanceof ISculkSmartEntity && ((ISculkSmartEntity) mob).getSquad() != null && ((ISculkSmartEntity) mob).getSquad().isSquadLeader() && mob != getMob())
-                .min(Comparator.comparingDouble(getMob()::distanceToSqr))
-                .orElse(null);
-
-        if(bestMob == null)
+        if(bestSquad == null)
         {
             return false;
         }
 
-        return ((ISculkSmartEntity) bestMob).getSquad().tryToAcceptMemberIntoSquad(mob);
+        return bestSquad.tryToAcceptMemberIntoSquad(mob);
 
     }
 
@@ -3,12 +3,15 @@ package com.github.sculkhorde.common.entity.infection;
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.*;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -50,17 +53,34 @@ public abstract class CursorEntity extends Entity
     protected int searchIterationsPerTick = 20;
     protected long tickIntervalMilliseconds = 1000;
 
+    // How expensive this cursor is to tick. Used by the CursorHandler to throttle expensive cursors.
+    protected long averageCursorTickNanos = 0;
+    protected int throttledRoundsRemaining = 0;
+
     protected BlockPos origin = BlockPos.ZERO;
     protected BlockPos target = BlockPos.ZERO;
-    protected HashMap<Long, Boolean> positionsSearched = new HashMap<>();
-    Queue<BlockPos> searchQueue = new LinkedList<>();
+    protected final CursorSearchEngine searchEngine = new CursorSearchEngine(random.nextLong());
+    // Reused when checking positions so the search does not allocate a BlockPos per node
+    protected final BlockPos.MutableBlockPos currentSearchPos = new BlockPos.MutableBlockPos();
+    protected final BlockPos.MutableBlockPos neighborSearchPos = new BlockPos.MutableBlockPos();
     public boolean isSuccessful = false;
 
-    //Create a hash map to store all visited nodes
-    protected HashMap<Long, Boolean> visitedPositons = new HashMap<>();
-
-    // Client Side Particle Spawning
-    protected int particleSpawnCooldown = TickUnits.convertSecondsToTicks(1);
+    // Where the search reads blocks from. Null means the level. See CursorSearchSnapshot.
+    protected BlockGetter searchLevel = null;
+    // Set when search steps for the next tick already ran on another thread. See CursorHandler.
+    protected boolean hasParallelSearchResult = false;
+    protected boolean isParallelSearchComplete = false;
+    protected int parallelSearchStepsDone = 0;
+    // How far around a position the search reads blocks, when checking it and its neighbors
+    protected static final int SEARCH_READ_RADIUS = 2;
+    // Searches spread over a wider area only capture the chunks around their next position
+    protected static final int MAX_CAPTURED_SEARCH_AREA_WIDTH = 128;
+
+    //Create a hash set to store all visited nodes
+    protected LongOpenHashSet visitedPositons = new LongOpenHashSet();
+
+    // Particles are spawned by the server, see CursorParticleBatcher
+    protected int particleSpawnCooldown = TickUnits.convertSecondsToTicks(0.5F);
     protected int ticksSinceLastParticleSpawn = particleSpawnCooldown;
 
 
@@ -93,11 +113,35 @@ public abstract class CursorEntity extends Entity
 
     public boolean canBeManuallyTicked() { return canBeManuallyTicked; }
 
+    public long getAverageCursorTickNanos() { return averageCursorTickNanos; }
+
+    public int getThrottledRoundsRemaining() { return throttledRoundsRemaining; }
+
+    public void setThrottledRoundsRemaining(int rounds) { throttledRoundsRemaining = rounds; }
+
     public void setState(State state)
     {
         this.state = state;
     }
 
+    /**
+     * @return The level, or the snapshot of it while searching on another thread
+     */
+    protected BlockGetter getSearchLevel()
+    {
+        return searchLevel != null ? searchLevel : level();
+    }
+
+    /**
+     * Whether the search of this cursor can run on another thread. Only return true if isTarget() and isObstructed()
+     * read blocks through getSearchLevel() and do not change anything outside this cursor.
+     * @return True if the search can run on another thread
+     */
+    public boolean canSearchInParallel()
+    {
+        return false;
+    }
+
 
     /**
      * Returns true if the block is considered obstructed.
@@ -121,7 +165,7 @@ public abstract class CursorEntity extends Entity
             return true;
         }
         // This is to prevent the entity from getting stuck in a loop
-        else if(visitedPositons.containsKey(pos.asLong()))
+        else if(visitedPositons.contains(pos.asLong()))
         {
             return true;
         }
@@ -147,6 +191,20 @@ public abstract class CursorEntity extends Entity
         level().setBlockAndUpdate(pos, Blocks.DIAMOND_BLOCK.defaultBlockState());
     }
 
+    /**
+     * Spawns the particle effects of this cursor once every {@link #particleSpawnCooldown} ticks.
+     * Call this every server tick.
+     */
+    protected void tickParticleEffects()
+    {
+        ticksSinceLastParticleSpawn += 1;
+        if(ticksSinceLastParticleSpawn >= particleSpawnCooldown)
+        {
+            ticksSinceLastParticleSpawn = 0;
+            spawnParticleEffects();
+        }
+    }
+
     protected void spawnParticleEffects()
     {
         //this.level().addParticle(ParticleTypes.TOTEM_OF_UNDYING, this.getRandomX(0.5D), this.getRandomY(), this.getRandomZ(0.5D), 0.0D, 0.1D, 0.0D);
@@ -154,60 +212,192 @@ public abstract class CursorEntity extends Entity
 
     protected void resetSearchTick()
     {
-        searchQueue.clear();
-        positionsSearched.clear();
+        searchEngine.reset();
+        hasParallelSearchResult = false;
     }
 
     protected void addPositionToQueueIfValid(BlockPos pos)
     {
-        boolean isPositionNotVisited = !positionsSearched.containsKey(pos.asLong());
-        BlockState neighborBlockState = level().getBlockState(pos);
-        boolean isPositionNotObstructed = !isObstructed(neighborBlockState, pos);
+        addPositionToQueueIfValid(pos.asLong());
+    }
+
+    protected void addPositionToQueueIfValid(long packedPos)
+    {
+        // Check visited first, it is much cheaper than reading the block state
+        if (searchEngine.hasVisited(packedPos)) {
+            return;
+        }
+
+        neighborSearchPos.set(packedPos);
+        BlockState neighborBlockState = getSearchLevel().getBlockState(neighborSearchPos);
 
         // If not visited and is a valid block to navigate
-        if (isPositionNotVisited && isPositionNotObstructed) {
-            searchQueue.add(pos);
-            positionsSearched.put(pos.asLong(), true);
+        if (!isObstructed(neighborBlockState, neighborSearchPos)) {
+            searchEngine.add(packedPos);
+            searchEngine.markVisited(packedPos);
         }
     }
 
+    /**
+     * Adds every valid neighbor of a position to the search queue in a random order.
+     * @param packedPos the packed position to expand
+     */
+    protected void addNeighborsToQueueIfValid(long packedPos)
+    {
+        for (int neighborIndex : searchEngine.nextNeighborOrder()) {
+            addPositionToQueueIfValid(CursorSearchEngine.getNeighbor(packedPos, neighborIndex));
+        }
+    }
+
+    /**
+     * Adds the positions the search should go to next from a position.
+     * @param packedPos the packed position to expand
+     */
+    protected void expandSearchNode(long packedPos)
+    {
+        addNeighborsToQueueIfValid(packedPos);
+    }
+
+    /**
+     * Does one step of the Breadth-First Search.
+     * @return true if complete. false if not complete.
+     */
+    protected boolean searchStep()
+    {
+        if (searchEngine.isEmpty()) {
+            isSuccessful = false;
+            target = BlockPos.ZERO;
+            return true;
+        }
+
+        long currentBlock = searchEngine.pollFirst();
+
+        // If the current block is a target, return it
+        if (isTarget(currentSearchPos.set(currentBlock))) {
+            isSuccessful = true;
+            target = BlockPos.of(currentBlock);
+            return true;
+        }
+
+        expandSearchNode(currentBlock);
+        return false;
+    }
+
     /**
      * Use Breadth-First Search to find the nearest infectable block within a certain maximum distance.
      * @return true if complete. false if not complete.
      */
     protected boolean searchTick() {
-        // Initialize the visited positions map and the queue
-        // Complete 20 times.
-        for (int i = 0; i < Math.max(searchIterationsPerTick, 1); i++)
-        {
-            // Breadth-First Search
+        int steps = Math.max(searchIterationsPerTick, 1);
 
-            if (searchQueue.isEmpty()) {
-                isSuccessful = false;
-                target = BlockPos.ZERO;
+        // Some or all of the steps of this tick may have already run on another thread
+        if (hasParallelSearchResult) {
+            hasParallelSearchResult = false;
+            if (isParallelSearchComplete) {
                 return true;
             }
+            steps -= parallelSearchStepsDone;
+        }
 
-            BlockPos currentBlock = searchQueue.poll();
-
-            // If the current block is a target, return it
-            if (isTarget(currentBlock)) {
-                isSuccessful = true;
-                target = currentBlock;
+        for (int i = 0; i < steps; i++)
+        {
+            if (searchStep()) {
                 return true;
             }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return True if this cursor is searching, will tick next time, and its search can run on another thread
+     */
+    public boolean isReadyForParallelSearch()
+    {
+        return !isRemoved()
+                && state == State.SEARCHING
+                && !hasParallelSearchResult
+                && canSearchInParallel()
+                && level() instanceof ServerLevel
+                && isDueForCursorTick();
+    }
+
+    /**
+     * Adds the chunks the next search steps will likely read to a snapshot. Only call this on the server thread.
+     * @param snapshot The snapshot of the level this cursor is in
+     */
+    public void captureSearchArea(CursorSearchSnapshot snapshot)
+    {
+        if (searchEngine.isEmpty()) {
+            return;
+        }
 
-            // Get all possible directions
-            ArrayList<BlockPos> possibleBlocksToVisit = BlockAlgorithms.getNeighborsCube(currentBlock, false);
-            Collections.shuffle(possibleBlocksToVisit);
+        int minX = searchEngine.getMinX() - SEARCH_READ_RADIUS;
+        int minZ = searchEngine.getMinZ() - SEARCH_READ_RADIUS;
+        int maxX = searchEngine.getMaxX() + SEARCH_READ_RADIUS;
+        int maxZ = searchEngine.getMaxZ() + SEARCH_READ_RADIUS;
+
+        if (maxX - minX > MAX_CAPTURED_SEARCH_AREA_WIDTH || maxZ - minZ > MAX_CAPTURED_SEARCH_AREA_WIDTH) {
+            long next = searchEngine.peekFirst();
+            minX = BlockPos.getX(next) - SEARCH_READ_RADIUS;
+            minZ = BlockPos.getZ(next) - SEARCH_READ_RADIUS;
+            maxX = BlockPos.getX(next) + SEARCH_READ_RADIUS;
+            maxZ = BlockPos.getZ(next) + SEARCH_READ_RADIUS;
+        }
+
+        snapshot.captureArea(minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Runs the search steps of the next tick on another thread, reading blocks from a snapshot.
+     * Stops early if the next step would read a chunk that is not in the snapshot,
+     * the rest of the steps then run on the server thread as usual.
+     * @param snapshot The snapshot of the level this cursor is in
+     */
+    public void parallelSearchTick(CursorSearchSnapshot snapshot)
+    {
+        int steps = Math.max(searchIterationsPerTick, 1);
+        int stepsDone = 0;
+        boolean isComplete = false;
 
-            // Add all neighbors to the queue
-            for (BlockPos neighbor : possibleBlocksToVisit) {
-                addPositionToQueueIfValid(neighbor);
+        searchLevel = snapshot;
+        try
+        {
+            while (stepsDone < steps && !isComplete)
+            {
+                if (!searchEngine.isEmpty() && !snapshot.canRead(searchEngine.peekFirst(), SEARCH_READ_RADIUS)) {
+                    break;
+                }
+                isComplete = searchStep();
+                stepsDone++;
             }
         }
+        finally
+        {
+            searchLevel = null;
+        }
 
-        return false;
+        parallelSearchStepsDone = stepsDone;
+        isParallelSearchComplete = isComplete;
+        hasParallelSearchResult = true;
+    }
+
+    /**
+     * Makes sure two cursors do not go after the same block because they searched at the same time.
+     * If another cursor already claimed the target, this cursor forgets it and keeps searching next tick.
+     * @param claimedTargets The targets claimed so far
+     */
+    public void claimParallelSearchTarget(LongOpenHashSet claimedTargets)
+    {
+        if (!hasParallelSearchResult || !isParallelSearchComplete || !isSuccessful) {
+            return;
+        }
+
+        if (!claimedTargets.add(target.asLong())) {
+            isSuccessful = false;
+            target = BlockPos.ZERO;
+            isParallelSearchComplete = false;
+        }
     }
 
     public void exploreTick()
@@ -260,18 +450,37 @@ public abstract class CursorEntity extends Entity
 
             setState(State.SEARCHING);
             resetSearchTick();
-            searchQueue.add(this.blockPosition());
+            searchEngine.add(this.blockPosition());
         }
 
         // Mark position as visited
-        visitedPositons.put(closest.asLong(), true);
+        visitedPositons.add(closest.asLong());
     }
     private final Predicate<Entity> IS_DROPPED_ITEM = (entity) ->
     {
         return entity instanceof ItemEntity;
     };
 
-    public void cursorTick()
+    /**
+     * Ticks the cursor and keeps track of how long it took.
+     * @return How long the tick took in nanoseconds
+     */
+    public long timedCursorTick()
+    {
+        long startTime = System.nanoTime();
+        cursorTick();
+        long cost = System.nanoTime() - startTime;
+        SculkHorde.cursorHandler.addCursorWorkNanos(cost);
+
+        // Moving average where every new sample weighs 1/8
+        averageCursorTickNanos = averageCursorTickNanos == 0 ? cost : averageCursorTickNanos + ((cost - averageCursorTickNanos) >> 3);
+        return cost;
+    }
+
+    /**
+     * @return True if enough time passed since the last tick for this cursor to tick again
+     */
+    protected boolean isDueForCursorTick()
     {
         float timeElapsedMilliSeconds = System.currentTimeMillis() - lastTickTime;
         double tickIntervalMillisecondsAfterMultiplier;
@@ -285,7 +494,12 @@ public abstract class CursorEntity extends Entity
             tickIntervalMillisecondsAfterMultiplier = tickIntervalMilliseconds / ModConfig.SERVER.purification_speed_multiplier.get();
         }
 
-        if (timeElapsedMilliSeconds < Math.max(tickIntervalMillisecondsAfterMultiplier, 1)) {
+        return timeElapsedMilliSeconds >= Math.max(tickIntervalMillisecondsAfterMultiplier, 1);
+    }
+
+    public void cursorTick()
+    {
+        if (!isDueForCursorTick()) {
             return;
         }
 
@@ -329,7 +543,7 @@ public abstract class CursorEntity extends Entity
 
         if(state == State.IDLE)
         {
-            searchQueue.add(this.blockPosition());
+            searchEngine.add(this.blockPosition());
             setState(State.SEARCHING);
         }
         else if (state == State.SEARCHING)
@@ -365,19 +579,14 @@ public abstract class CursorEntity extends Entity
     public void tick() {
         super.tick();
 
-        // Play Particles on Client
+        // Cursors only exist on the client when they are made visible for debugging. There is nothing to do there.
         if (this.level() != null && this.level().isClientSide)
         {
-            ticksSinceLastParticleSpawn += 1;
-            if(ticksSinceLastParticleSpawn >= particleSpawnCooldown)
-            {
-                for (int i = 0; i < 2; ++i) {
-                    spawnParticleEffects();
-                }
-            }
             return;
         }
 
+        tickParticleEffects();
+
         if(canBeManuallyTicked())
         {
             ticksRemainingBeforeCheckingIfInCursorList--;
@@ -394,7 +603,7 @@ public abstract class CursorEntity extends Entity
         boolean shouldTick = canBeManuallyTickedAndManualControlIsNotOn || cannotBeManuallyTicked;
 
         if(shouldTick) {
-            cursorTick();
+            timedCursorTick();
         }
 
     }
@@ -403,9 +612,19 @@ public abstract class CursorEntity extends Entity
         this.target = target;
     }
 
+    /**
+     * Cursors only run on the server, so they are not sent to clients.
+     * This saves the spawn and movement packets of every cursor, and the work of tracking them.
+     */
+    @Override
+    public boolean broadcastToPlayer(ServerPlayer player) {
+        return ModConfig.SERVER.cursors_visible_to_clients.get();
+    }
+
     @Override
     public void onRemovedFromWorld() {
         if(level().isClientSide()) { return; }
+        SculkHorde.cursorHandler.removeCursor(this);
     }
 
 
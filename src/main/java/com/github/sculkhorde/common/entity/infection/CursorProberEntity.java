@@ -17,7 +17,6 @@ import java.util.*;
 public class CursorProberEntity extends CursorSurfaceInfectorEntity {
 
     Direction preferedDirection = Direction.NORTH;
-    Stack<BlockPos> stack = new Stack<>();
 
     /**
      * An Easier Constructor where you do not have to specify the Mob Type
@@ -33,6 +32,14 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
         this.preferedDirection = direction;
     }
 
+    /**
+     * Probers run their own Depth-First Search, so they are never searched in parallel.
+     */
+    @Override
+    public boolean canSearchInParallel() {
+        return false;
+    }
+
     /**
      * Use Depth-First Search to find the nearest infectable block within a certain maximum distance.
      * @return the position of the nearest infectable block, or null if none is found
@@ -44,34 +51,23 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
         {
             // Breadth-First Search
 
-            if (stack.isEmpty()) {
+            if (searchEngine.isEmpty()) {
                 isSuccessful = false;
                 target = BlockPos.ZERO;
                 return true;
             }
 
-            BlockPos currentBlock = stack.pop();
+            long currentBlock = searchEngine.pollLast();
 
             // If the current block is a target, return it
-            if (isTarget(currentBlock)) {
+            if (isTarget(currentSearchPos.set(currentBlock))) {
                 isSuccessful = true;
-                target = currentBlock;
+                target = BlockPos.of(currentBlock);
                 return true;
             }
 
-            // Get all possible directions
-            ArrayList<BlockPos> possiblePaths = BlockAlgorithms.getNeighborsCube(currentBlock, false);
-            Collections.shuffle(possiblePaths);
-
             // Add all neighbors to the stack
-            for (BlockPos neighbor : possiblePaths) {
-
-                // If not visited and is a solid block, add to stack
-                if (!visitedPositons.containsKey(neighbor.asLong()) && !isObstructed(this.level().getBlockState(neighbor), neighbor)) {
-                    stack.add(neighbor);
-                    visitedPositons.put(neighbor.asLong(), true);
-                }
-            }
+            addNeighborsToQueueIfValid(currentBlock);
         }
         return false;
     }
@@ -79,21 +75,19 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
     @Override
     public void tick() {
 
-        float timeElapsedMilliSeconds = System.currentTimeMillis() - lastTickTime;
-
-        if (timeElapsedMilliSeconds < tickIntervalMilliseconds) {
+        // Cursors only exist on the client when they are made visible for debugging
+        if (this.level().isClientSide) {
             return;
         }
-        lastTickTime = System.currentTimeMillis();
 
+        tickParticleEffects();
 
-        // Play Particles on Client
-        if (this.level().isClientSide) {
-            for (int i = 0; i < 2; ++i) {
-                spawnParticleEffects();
-            }
+        float timeElapsedMilliSeconds = System.currentTimeMillis() - lastTickTime;
+
+        if (timeElapsedMilliSeconds < tickIntervalMilliseconds) {
             return;
         }
+        lastTickTime = System.currentTimeMillis();
 
         // Keep track of the origin
         if (origin == BlockPos.ZERO)
@@ -116,7 +110,7 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
 
         if(state == State.IDLE)
         {
-            stack.add(this.blockPosition());
+            searchEngine.add(this.blockPosition());
             state = State.SEARCHING;
         }
         else if (state == State.SEARCHING)
@@ -168,7 +162,7 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
 
             // Move to the closest block
             this.setPos(closest.getX() + 0.5, closest.getY(), closest.getZ() + 0.5);
-            visitedPositons.put(closest.asLong(), true);
+            visitedPositons.add(closest.asLong());
 
             // If we've reached the target block, die then report successful
             if (this.blockPosition().equals(target))
@@ -179,8 +173,8 @@ public class CursorProberEntity extends CursorSurfaceInfectorEntity {
                 currentTransformations++;
                 state = State.SEARCHING;
                 visitedPositons.clear();
-                searchQueue.clear();
-                searchQueue.add(this.blockPosition());
+                resetSearchTick();
+                searchEngine.add(this.blockPosition());
             }
         }
         else if (state == State.FINISHED)
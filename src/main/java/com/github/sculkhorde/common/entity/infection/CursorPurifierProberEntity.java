@@ -20,7 +20,6 @@ import java.util.Stack;
 public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
 
     Direction preferedDirection = Direction.NORTH;
-    Stack<BlockPos> stack = new Stack<>();
 
     /**
      * An Easier Constructor where you do not have to specify the Mob Type
@@ -36,6 +35,14 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
         this.preferedDirection = direction;
     }
 
+    /**
+     * Probers run their own Depth-First Search, so they are never searched in parallel.
+     */
+    @Override
+    public boolean canSearchInParallel() {
+        return false;
+    }
+
     @Override
     protected boolean isTarget(BlockPos pos)
     {
@@ -53,34 +60,23 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
         {
             // Breadth-First Search
 
-            if (stack.isEmpty()) {
+            if (searchEngine.isEmpty()) {
                 isSuccessful = false;
                 target = BlockPos.ZERO;
                 return true;
             }
 
-            BlockPos currentBlock = stack.pop();
+            long currentBlock = searchEngine.pollLast();
 
             // If the current block is a target, return it
-            if (isTarget(currentBlock)) {
+            if (isTarget(currentSearchPos.set(currentBlock))) {
                 isSuccessful = true;
-                target = currentBlock;
+                target = BlockPos.of(currentBlock);
                 return true;
             }
 
-            // Get all possible directions
-            ArrayList<BlockPos> possiblePaths = BlockAlgorithms.getNeighborsCube(currentBlock, false);
-            Collections.shuffle(possiblePaths);
-
             // Add all neighbors to the stack
-            for (BlockPos neighbor : possiblePaths) {
-
-                // If not visited and is a solid block, add to stack
-                if (!visitedPositons.containsKey(neighbor.asLong()) && !isObstructed(this.level().getBlockState(neighbor), neighbor)) {
-                    stack.add(neighbor);
-                    visitedPositons.put(neighbor.asLong(), true);
-                }
-            }
+            addNeighborsToQueueIfValid(currentBlock);
         }
         return false;
     }
@@ -88,21 +84,19 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
     @Override
     public void tick() {
 
-        float timeElapsedMilliSeconds = System.currentTimeMillis() - lastTickTime;
-
-        if (timeElapsedMilliSeconds < tickIntervalMilliseconds) {
+        // Cursors only exist on the client when they are made visible for debugging
+        if (this.level().isClientSide) {
             return;
         }
-        lastTickTime = System.currentTimeMillis();
 
+        tickParticleEffects();
 
-        // Play Particles on Client
-        if (this.level().isClientSide) {
-            for (int i = 0; i < 2; ++i) {
-                spawnParticleEffects();
-            }
+        float timeElapsedMilliSeconds = System.currentTimeMillis() - lastTickTime;
+
+        if (timeElapsedMilliSeconds < tickIntervalMilliseconds) {
             return;
         }
+        lastTickTime = System.currentTimeMillis();
 
         // Keep track of the origin
         if (origin == BlockPos.ZERO)
@@ -125,7 +119,7 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
 
         if(state == State.IDLE)
         {
-            stack.add(this.blockPosition());
+            searchEngine.add(this.blockPosition());
             state = State.SEARCHING;
         }
         else if (state == State.SEARCHING)
@@ -177,7 +171,7 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
 
             // Move to the closest block
             this.setPos(closest.getX() + 0.5, closest.getY(), closest.getZ() + 0.5);
-            visitedPositons.put(closest.asLong(), true);
+            visitedPositons.add(closest.asLong());
 
             // If we've reached the target block, die then report successful
             if (this.blockPosition().equals(target))
@@ -188,8 +182,8 @@ public class CursorPurifierProberEntity extends CursorSurfaceInfectorEntity {
                 currentTransformations++;
                 state = State.SEARCHING;
                 visitedPositons.clear();
-                searchQueue.clear();
-                searchQueue.add(this.blockPosition());
+                resetSearchTick();
+                searchEngine.add(this.blockPosition());
             }
         }
         else if (state == State.FINISHED)
@@ -3,6 +3,7 @@ package com.github.sculkhorde.common.entity.infection;
 import com.github.sculkhorde.core.ModBlocks;
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.ModEntities;
+import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import com.github.sculkhorde.systems.BlockInfestationSystem;
 import net.minecraft.core.BlockPos;
@@ -15,10 +16,6 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.Fluids;
 
-import java.util.Random;
-
-import static com.github.sculkhorde.util.BlockAlgorithms.isExposedToInfestationWardBlock;
-
 public class CursorSurfaceInfectorEntity extends CursorEntity{
     /**
      * An Easier Constructor where you do not have to specify the Mob Type
@@ -56,7 +53,13 @@ public class CursorSurfaceInfectorEntity extends CursorEntity{
     @Override
     protected boolean isTarget(BlockPos pos)
     {
-        return BlockInfestationSystem.isInfectable((ServerLevel) level(), pos);
+        return BlockInfestationSystem.isInfectable(getSearchLevel(), pos);
+    }
+
+    @Override
+    public boolean canSearchInParallel()
+    {
+        return true;
     }
 
     /**
@@ -69,6 +72,31 @@ public class CursorSurfaceInfectorEntity extends CursorEntity{
         BlockInfestationSystem.tryToInfestBlock((ServerLevel) level(), pos);
     }
 
+    /**
+     * Checks the ward index instead of reading every block around the position.
+     * @param pos the block position
+     * @return true if the block is a ward or is next to one
+     */
+    protected boolean isExposedToInfestationWardBlock(BlockPos pos)
+    {
+        return SculkHorde.infestationWardIndex.isExposedToInfestationWardBlock(level().dimension(), getSearchLevel(), pos);
+    }
+
+    /**
+     * On the server thread, the answer is shared with every other cursor for the rest of the tick.
+     * Parallel searches read their snapshot directly, since the cache is not safe to use from other threads.
+     * @param pos the block position
+     * @return true if any block around the position is not solid
+     */
+    protected boolean isExposedToAir(BlockPos pos)
+    {
+        if(searchLevel == null && level() instanceof ServerLevel serverLevel)
+        {
+            return SculkHorde.airExposureCache.isExposedToAir(serverLevel, pos);
+        }
+        return BlockAlgorithms.isExposedToAir(getSearchLevel(), pos);
+    }
+
     /**
      * Returns true if the block is considered obstructed.
      * @param state the block state
@@ -100,7 +128,7 @@ public class CursorSurfaceInfectorEntity extends CursorEntity{
                 return true;
             }
         }
-        else if(isExposedToInfestationWardBlock((ServerLevel) this.level(), pos))
+        else if(isExposedToInfestationWardBlock(pos))
         {
             return true;
         }
@@ -116,12 +144,12 @@ public class CursorSurfaceInfectorEntity extends CursorEntity{
         }
 
         // This is to prevent the entity from getting stuck in a loop
-        if(visitedPositons.containsKey(pos.asLong()))
+        if(visitedPositons.contains(pos.asLong()))
         {
             return true;
         }
 
-        boolean isBlockNotExposedToAir = !BlockAlgorithms.isExposedToAir((ServerLevel) this.level(), pos);
+        boolean isBlockNotExposedToAir = !isExposedToAir(pos);
         boolean isBlockNotSculkArachnoid = !state.is(ModBlocks.SCULK_ARACHNOID.get());
         boolean isBlockNotSculkDuraMatter = !state.is(ModBlocks.SCULK_DURA_MATTER.get());
 
@@ -136,11 +164,6 @@ public class CursorSurfaceInfectorEntity extends CursorEntity{
     @Override
     protected void spawnParticleEffects()
     {
-        Random random = new Random();
-        float maxOffset = 2;
-        float randomXOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        float randomYOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        float randomZOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        this.level().addParticle(ParticleTypes.SCULK_SOUL, getX() + randomXOffset, getY() + randomYOffset, getZ() + randomZOffset, randomXOffset * 0.1, randomYOffset * 0.1, randomZOffset * 0.1);
+        SculkHorde.cursorParticleBatcher.queueParticles((ServerLevel) level(), blockPosition(), ParticleTypes.SCULK_SOUL);
     }
 }
@@ -1,6 +1,7 @@
 package com.github.sculkhorde.common.entity.infection;
 
 import com.github.sculkhorde.core.ModEntities;
+import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import com.github.sculkhorde.systems.BlockInfestationSystem;
 import net.minecraft.core.BlockPos;
@@ -16,7 +17,6 @@ import net.minecraft.world.level.material.Fluids;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
 import java.util.function.Predicate;
 
 public class CursorSurfacePurifierEntity extends CursorEntity{
@@ -92,12 +92,7 @@ public class CursorSurfacePurifierEntity extends CursorEntity{
     @Override
     protected void spawnParticleEffects()
     {
-        Random random = new Random();
-        float maxOffset = 2;
-        float randomXOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        float randomYOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        float randomZOffset = random.nextFloat(maxOffset * 2) - maxOffset;
-        this.level().addParticle(ParticleTypes.TOTEM_OF_UNDYING, getX() + randomXOffset, getY() + randomYOffset, getZ() + randomZOffset, randomXOffset * 0.1, randomYOffset * 0.1, randomZOffset * 0.1);
+        SculkHorde.cursorParticleBatcher.queueParticles((ServerLevel) level(), blockPosition(), ParticleTypes.TOTEM_OF_UNDYING);
     }
 
     /**
@@ -136,7 +131,7 @@ public class CursorSurfacePurifierEntity extends CursorEntity{
         }
 
         // This is to prevent the entity from getting stuck in a loop
-        if(visitedPositons.containsKey(pos.asLong()))
+        if(visitedPositons.contains(pos.asLong()))
         {
             return true;
         }
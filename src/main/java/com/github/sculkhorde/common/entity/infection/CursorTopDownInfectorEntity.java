@@ -3,17 +3,14 @@ package com.github.sculkhorde.common.entity.infection;
 import com.github.sculkhorde.core.ModBlocks;
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.ModEntities;
-import com.github.sculkhorde.util.BlockAlgorithms;
 import com.github.sculkhorde.util.old.BlockInfectionQueue;
 import com.github.sculkhorde.util.old.ChunkInfectionQueue;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
+import net.minecraft.core.Direction;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 
-import static com.github.sculkhorde.util.BlockAlgorithms.isExposedToInfestationWardBlock;
-
 public class CursorTopDownInfectorEntity extends CursorSurfaceInfectorEntity{
     /**
      * An Easier Constructor where you do not have to specify the Mob Type
@@ -29,36 +26,12 @@ public class CursorTopDownInfectorEntity extends CursorSurfaceInfectorEntity{
     /**
      * The only change I made was instead of adding all the neighbors to the queue,
      * just add the block below us.
-     * @return
+     * @param packedPos the packed position to expand
      */
     @Override
-    protected boolean searchTick() {
-        // Initialize the visited positions map and the queue
-        // Complete 20 times.
-        for (int i = 0; i < Math.max(searchIterationsPerTick, 1); i++)
-        {
-            // Breadth-First Search
-
-            if (searchQueue.isEmpty()) {
-                isSuccessful = false;
-                target = BlockPos.ZERO;
-                return true;
-            }
-
-            BlockPos currentBlock = searchQueue.poll();
-
-            // If the current block is a target, return it
-            if (isTarget(currentBlock)) {
-                isSuccessful = true;
-                target = currentBlock;
-                return true;
-            }
-
-            // Add only below neighbor to queue
-            addPositionToQueueIfValid(currentBlock.below());
-        }
-
-        return false;
+    protected void expandSearchNode(long packedPos) {
+        // Add only below neighbor to queue
+        addPositionToQueueIfValid(BlockPos.offset(packedPos, Direction.DOWN));
     }
 
     /**
@@ -74,7 +47,7 @@ public class CursorTopDownInfectorEntity extends CursorSurfaceInfectorEntity{
         {
             return true;
         }
-        else if(isExposedToInfestationWardBlock((ServerLevel) this.level(), pos))
+        else if(isExposedToInfestationWardBlock(pos))
         {
             return true;
         }
@@ -86,12 +59,12 @@ public class CursorTopDownInfectorEntity extends CursorSurfaceInfectorEntity{
         }
 
         // This is to prevent the entity from getting stuck in a loop
-        if(visitedPositons.containsKey(pos.asLong()))
+        if(visitedPositons.contains(pos.asLong()))
         {
             return true;
         }
 
-        boolean isBlockNotExposedToAir = !BlockAlgorithms.isExposedToAir((ServerLevel) this.level(), pos);
+        boolean isBlockNotExposedToAir = !isExposedToAir(pos);
         boolean isBlockNotSculkArachnoid = !state.is(ModBlocks.SCULK_ARACHNOID.get());
         boolean isBlockNotSculkDuraMatter = !state.is(ModBlocks.SCULK_DURA_MATTER.get());
 
@@ -6,6 +6,7 @@ import com.github.sculkhorde.core.ModEntities;
 import com.github.sculkhorde.systems.BlockInfestationSystem;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.BlockTags;
@@ -44,23 +45,23 @@ public class CursorTopDownPurifierEntity extends CursorSurfacePurifierEntity{
         {
             // Breadth-First Search
 
-            if (searchQueue.isEmpty()) {
+            if (searchEngine.isEmpty()) {
                 isSuccessful = false;
                 target = BlockPos.ZERO;
                 return true;
             }
 
-            BlockPos currentBlock = searchQueue.poll();
+            long currentBlock = searchEngine.pollFirst();
 
             // If the current block is a target, return it
-            if (isTarget(currentBlock)) {
+            if (isTarget(currentSearchPos.set(currentBlock))) {
                 isSuccessful = true;
-                target = currentBlock;
+                target = BlockPos.of(currentBlock);
                 return true;
             }
 
             // Add only below neighbor to queue
-            addPositionToQueueIfValid(currentBlock.below());
+            addPositionToQueueIfValid(BlockPos.offset(currentBlock, Direction.DOWN));
         }
 
         return false;
@@ -91,7 +92,7 @@ public class CursorTopDownPurifierEntity extends CursorSurfacePurifierEntity{
         }
 
         // This is to prevent the entity from getting stuck in a loop
-        if(visitedPositons.containsKey(pos.asLong()))
+        if(visitedPositons.contains(pos.asLong()))
         {
             return true;
         }
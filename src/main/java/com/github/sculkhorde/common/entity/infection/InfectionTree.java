@@ -30,6 +30,7 @@ public class InfectionTree {
     private final int MAX_INFECTOR_RANGE = 100;
     private final int MIN_INFECTOR_RANGE = 10;
     private final int MAX_INFECTOR_RANGE_INCREMENT = 10;
+    private final int MAX_FRONTIER_SEED_DISTANCE = 128;
 
     private BlockPos infectedTargetPosition = null;
     private int failedInfectionAttempts = 0;
@@ -89,7 +90,9 @@ public class InfectionTree {
         cursorProbe = new CursorProberEntity(world);
         cursorProbe.setMaxRange(maxDistance);
         cursorProbe.setPreferedDirection(direction);
-        cursorProbe.setPos(this.root.blockPos.getX(), this.root.blockPos.getY(), this.root.blockPos.getZ());
+        // Start at the edge of the infection instead of walking through sculk we already placed
+        BlockPos startPos = SculkHorde.infectionFrontierTracker.findSeedPosition(world, this.root.blockPos, MAX_FRONTIER_SEED_DISTANCE, direction).orElse(this.root.blockPos);
+        cursorProbe.setPos(startPos.getX(), startPos.getY(), startPos.getZ());
         cursorProbe.setMaxTransformations(1);
         this.world.addFreshEntity(cursorProbe);
     }
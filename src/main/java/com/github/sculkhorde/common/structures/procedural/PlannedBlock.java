@@ -15,6 +15,11 @@ public class PlannedBlock
     protected BlockPos targetPos;
     protected ServerLevel world;
 
+    // The last known result of canBePlaced() and isPlaced(), used by the structure to keep count of its progress
+    protected boolean cachedCanBePlaced = false;
+    protected boolean cachedIsPlaced = false;
+    protected boolean isQueuedForRefresh = false;
+
     /**
      * Constructor
      * @param worldIn
@@ -95,4 +100,23 @@ public class PlannedBlock
         return targetPos;
     }
 
+    /**
+     * Checks the world again and stores the result. A block only counts as placed if it can also be placed.
+     */
+    public void refreshCachedStatus()
+    {
+        cachedCanBePlaced = canBePlaced();
+        cachedIsPlaced = cachedCanBePlaced && isPlaced();
+    }
+
+    public boolean getCachedCanBePlaced()
+    {
+        return cachedCanBePlaced;
+    }
+
+    public boolean getCachedIsPlaced()
+    {
+        return cachedIsPlaced;
+    }
+
 }
@@ -0,0 +1,209 @@
+package com.github.sculkhorde.common.structures.procedural;
+
+import com.github.sculkhorde.util.TickUnits;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Tells structures that are being built when a block changes near one of their planned blocks. <br>
+ * This lets a structure keep count of its progress as blocks change, instead of checking
+ * every planned block every tick. Only structures that are currently building are watched. <br>
+ * Some block changes never reach us, like ones made without neighbor updates by other mods.
+ * So every now and then, the watched structures count everything again, in case their counts drifted.
+ */
+public class PlannedBlockChangeWatcher {
+
+    // Structures that have not built anything in this long are assumed to be gone, like when their block entity was removed
+    private static final long ABANDONED_AFTER_TICKS = TickUnits.convertMinutesToTicks(5);
+    private static final long RECOUNT_INTERVAL_TICKS = TickUnits.convertSecondsToTicks(10);
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<ArrayList<ProceduralStructure>>> structuresBySection = new HashMap<>();
+    private static final Map<ProceduralStructure, LongOpenHashSet> watchedSections = new HashMap<>();
+    private static long ticksSinceRecount = 0;
+
+    /**
+     * Starts sending block changes to a structure and its child structures.
+     * @param structure The structure
+     */
+    public static void watch(ProceduralStructure structure)
+    {
+        if(watchedSections.containsKey(structure))
+        {
+            return;
+        }
+
+        // A block change can affect the planned blocks next to it, so also watch the sections of the neighbors
+        LongOpenHashSet sections = new LongOpenHashSet();
+        structure.forEachPlannedPosition(pos -> {
+            sections.add(SectionPos.asLong(pos));
+            for(Direction direction : Direction.values())
+            {
+                sections.add(SectionPos.asLong(pos.relative(direction)));
+            }
+        });
+
+        Long2ObjectOpenHashMap<ArrayList<ProceduralStructure>> levelSections = structuresBySection.computeIfAbsent(structure.world.dimension(), key -> new Long2ObjectOpenHashMap<>());
+        sections.forEach(sectionKey -> levelSections.computeIfAbsent(sectionKey, key -> new ArrayList<>()).add(structure));
+        watchedSections.put(structure, sections);
+    }
+
+    /**
+     * Stops sending block changes to a structure.
+     * @param structure The structure
+     */
+    public static void unwatch(ProceduralStructure structure)
+    {
+        LongOpenHashSet sections = watchedSections.remove(structure);
+        if(sections == null)
+        {
+            return;
+        }
+
+        Long2ObjectOpenHashMap<ArrayList<ProceduralStructure>> levelSections = structuresBySection.get(structure.world.dimension());
+        if(levelSections == null)
+        {
+            return;
+        }
+
+        sections.forEach(sectionKey -> {
+            ArrayList<ProceduralStructure> structures = levelSections.get(sectionKey);
+            if(structures != null)
+            {
+                structures.remove(structure);
+                if(structures.isEmpty())
+                {
+                    levelSections.remove(sectionKey);
+                }
+            }
+        });
+    }
+
+    public static boolean isWatched(ProceduralStructure structure)
+    {
+        return watchedSections.containsKey(structure);
+    }
+
+    public static void clear()
+    {
+        structuresBySection.clear();
+        watchedSections.clear();
+        ticksSinceRecount = 0;
+    }
+
+    /**
+     * Stops every structure that matches, so it is no longer watched.
+     */
+    private static void stopBuilding(Predicate<ProceduralStructure> shouldStop)
+    {
+        ArrayList<ProceduralStructure> structuresToStop = new ArrayList<>();
+        for(ProceduralStructure structure : watchedSections.keySet())
+        {
+            if(shouldStop.test(structure))
+            {
+                structuresToStop.add(structure);
+            }
+        }
+        structuresToStop.forEach(ProceduralStructure::stopBuildProcedure);
+    }
+
+    /**
+     * Gets called every server tick. Every few seconds, forgets abandoned structures,
+     * and makes the others count their planned blocks again the next time they need them.
+     */
+    public static void serverTick()
+    {
+        if(watchedSections.isEmpty() || ++ticksSinceRecount < RECOUNT_INTERVAL_TICKS)
+        {
+            return;
+        }
+        ticksSinceRecount = 0;
+
+        stopBuilding(structure -> structure.world.getGameTime() - structure.lastBuildTickGameTime > ABANDONED_AFTER_TICKS);
+        watchedSections.keySet().forEach(ProceduralStructure::invalidatePlannedBlockCounts);
+    }
+
+    /**
+     * Gets called when a chunk unloads. Structures with their origin in it cannot be built anymore, so they stop.
+     * @param level The level
+     * @param chunkPos The chunk
+     */
+    public static void onChunkUnload(ServerLevel level, ChunkPos chunkPos)
+    {
+        if(watchedSections.isEmpty())
+        {
+            return;
+        }
+
+        stopBuilding(structure -> structure.world == level && chunkPos.equals(new ChunkPos(structure.origin)));
+    }
+
+    /**
+     * Gets called when a level unloads. Every structure in it stops.
+     * @param level The level
+     */
+    public static void onLevelUnload(ServerLevel level)
+    {
+        if(watchedSections.isEmpty())
+        {
+            return;
+        }
+
+        stopBuilding(structure -> structure.world == level);
+        structuresBySection.remove(level.dimension());
+    }
+
+    /**
+     * Gets called every time a block changes in a level.
+     * @param level The level
+     * @param pos The position of the block
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos)
+    {
+        // This runs for every block change on the server, so leave as early as possible
+        if(watchedSections.isEmpty())
+        {
+            return;
+        }
+
+        Long2ObjectOpenHashMap<ArrayList<ProceduralStructure>> levelSections = structuresBySection.get(level.dimension());
+        if(levelSections == null)
+        {
+            return;
+        }
+
+        ArrayList<ProceduralStructure> structures = levelSections.get(SectionPos.asLong(pos));
+        if(structures == null)
+        {
+            return;
+        }
+
+        ArrayList<ProceduralStructure> abandonedStructures = null;
+        for(ProceduralStructure structure : structures)
+        {
+            if(level.getGameTime() - structure.lastBuildTickGameTime > ABANDONED_AFTER_TICKS)
+            {
+                if(abandonedStructures == null) { abandonedStructures = new ArrayList<>(); }
+                abandonedStructures.add(structure);
+                continue;
+            }
+            structure.onBlockChanged(pos);
+        }
+
+        if(abandonedStructures != null)
+        {
+            abandonedStructures.forEach(ProceduralStructure::stopWatchingBlockChanges);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.github.sculkhorde.common.structures.procedural;
 
 import com.github.sculkhorde.util.BlockAlgorithms;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.Direction;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 public class ProceduralStructure
 {
@@ -21,6 +23,19 @@ public class ProceduralStructure
 
     protected ArrayList<ProceduralStructure> childStructuresQueue; //A list of child structures to build
 
+    /*
+    Build progress used to be counted by checking every planned block in the world, several times per build tick.
+    Now the counts are kept, and while the structure is building, only the planned blocks next to a block that changed
+    are checked again. See PlannedBlockChangeWatcher. When nothing tells us about block changes, we count everything like before.
+     */
+    protected int plannedBlocksThatCanBePlacedCount = 0;
+    protected int plannedBlocksPlacedCount = 0;
+    protected int countedPlannedBlockQueueSize = -1; // -1 means the counts are not valid
+    protected boolean isWatchingBlockChanges = false;
+    protected final Long2ObjectOpenHashMap<ArrayList<PlannedBlock>> plannedBlocksByPosition = new Long2ObjectOpenHashMap<>();
+    protected final ArrayList<PlannedBlock> plannedBlocksToRefresh = new ArrayList<>();
+    protected long lastBuildTickGameTime = 0;
+
     /**
      * Default Constructor
      * @param originIn The location of the origin
@@ -43,41 +58,117 @@ public class ProceduralStructure
 
     protected int getPlannedBlocksThatCanBePlaced()
     {
-        int plannedBlocksThatAreAbleToBePlaced = 0;
+        updatePlannedBlockCounts();
+        return plannedBlocksThatCanBePlacedCount;
+    }
+
+    protected int getPlannedBlocksPlaced()
+    {
+        updatePlannedBlockCounts();
+        return plannedBlocksPlacedCount;
+    }
 
-        //Check planned Blocks Queue to check out of all the blocks we are able to place
-        //and see how many of those are placed.
+    /**
+     * Calls the consumer with the position of every planned block of this structure and all child structures.
+     * @param consumer The consumer
+     */
+    public void forEachPlannedPosition(Consumer<BlockPos> consumer)
+    {
         for(PlannedBlock entry : plannedBlockQueue)
         {
-            //If the block can be placed
-            if(entry.canBePlaced())
-            {
-                plannedBlocksThatAreAbleToBePlaced++;
-            }
+            consumer.accept(entry.getPosition());
         }
 
-        return plannedBlocksThatAreAbleToBePlaced;
+        for(ProceduralStructure childStructure : childStructuresQueue)
+        {
+            childStructure.forEachPlannedPosition(consumer);
+        }
     }
 
-    protected int getPlannedBlocksPlaced()
+    /** MODIFIERS **/
+
+    /**
+     * Makes sure the planned block counts match the world.
+     * Counts everything again if the counts are not valid, or if block changes are not being watched.
+     * Otherwise only checks the planned blocks that might have changed.
+     */
+    protected void updatePlannedBlockCounts()
     {
-        int plannedBlocksPlaced = 0;
+        if(!isWatchingBlockChanges || countedPlannedBlockQueueSize != plannedBlockQueue.size())
+        {
+            recountPlannedBlocks();
+            return;
+        }
+
+        for(PlannedBlock entry : plannedBlocksToRefresh)
+        {
+            if(entry.getCachedCanBePlaced()) { plannedBlocksThatCanBePlacedCount--; }
+            if(entry.getCachedIsPlaced()) { plannedBlocksPlacedCount--; }
+            entry.refreshCachedStatus();
+            if(entry.getCachedCanBePlaced()) { plannedBlocksThatCanBePlacedCount++; }
+            if(entry.getCachedIsPlaced()) { plannedBlocksPlacedCount++; }
+            entry.isQueuedForRefresh = false;
+        }
+        plannedBlocksToRefresh.clear();
+    }
+
+    /**
+     * Checks every planned block in the world and counts them again.
+     */
+    protected void recountPlannedBlocks()
+    {
+        plannedBlocksThatCanBePlacedCount = 0;
+        plannedBlocksPlacedCount = 0;
+        plannedBlocksByPosition.clear();
+        plannedBlocksToRefresh.clear();
 
-        //Check planned Blocks Queue to check out of all the blocks we are able to place
-        //and see how many of those are placed.
         for(PlannedBlock entry : plannedBlockQueue)
         {
-            //If the block can be placed
-            if(entry.canBePlaced() && entry.isPlaced())
-            {
-                plannedBlocksPlaced++;
-            }
+            entry.refreshCachedStatus();
+            entry.isQueuedForRefresh = false;
+            if(entry.getCachedCanBePlaced()) { plannedBlocksThatCanBePlacedCount++; }
+            if(entry.getCachedIsPlaced()) { plannedBlocksPlacedCount++; }
+            plannedBlocksByPosition.computeIfAbsent(entry.getPosition().asLong(), key -> new ArrayList<>()).add(entry);
         }
 
-        return plannedBlocksPlaced;
+        countedPlannedBlockQueueSize = plannedBlockQueue.size();
     }
 
-    /** MODIFIERS **/
+    /**
+     * Forgets the planned block counts of this structure and all child structures, so they are counted again next time.
+     */
+    protected void invalidatePlannedBlockCounts()
+    {
+        countedPlannedBlockQueueSize = -1;
+
+        for(ProceduralStructure childStructure : childStructuresQueue)
+        {
+            childStructure.invalidatePlannedBlockCounts();
+        }
+    }
+
+    /**
+     * Sets whether this structure and all child structures get told about block changes.
+     * @param value True if they are being watched
+     */
+    protected void setWatchingBlockChanges(boolean value)
+    {
+        isWatchingBlockChanges = value;
+
+        for(ProceduralStructure childStructure : childStructuresQueue)
+        {
+            childStructure.setWatchingBlockChanges(value);
+        }
+    }
+
+    /**
+     * Stops getting told about block changes. The counts are checked in full again after this.
+     */
+    public void stopWatchingBlockChanges()
+    {
+        PlannedBlockChangeWatcher.unwatch(this);
+        setWatchingBlockChanges(false);
+    }
 
     /**
      * Counts how many blocks that can be placed, are placed from this
@@ -131,6 +222,44 @@ public class ProceduralStructure
 
     /** EVENTS **/
 
+    /**
+     * Gets called when a block changes near one of the planned blocks of this structure.
+     * The planned blocks at and next to that position are checked again the next time the counts are needed,
+     * since some planned blocks depend on their neighbors.
+     * @param pos The position of the block that changed
+     */
+    public void onBlockChanged(BlockPos pos)
+    {
+        queuePlannedBlocksForRefresh(pos);
+        for(Direction direction : Direction.values())
+        {
+            queuePlannedBlocksForRefresh(pos.relative(direction));
+        }
+
+        for(ProceduralStructure childStructure : childStructuresQueue)
+        {
+            childStructure.onBlockChanged(pos);
+        }
+    }
+
+    private void queuePlannedBlocksForRefresh(BlockPos pos)
+    {
+        ArrayList<PlannedBlock> plannedBlocks = plannedBlocksByPosition.get(pos.asLong());
+        if(plannedBlocks == null)
+        {
+            return;
+        }
+
+        for(PlannedBlock entry : plannedBlocks)
+        {
+            if(!entry.isQueuedForRefresh)
+            {
+                entry.isQueuedForRefresh = true;
+                plannedBlocksToRefresh.add(entry);
+            }
+        }
+    }
+
     /**
      * This method fills the building queue with what blocks should
      * be placed down.
@@ -138,6 +267,7 @@ public class ProceduralStructure
     public void generatePlan()
     {
         plannedBlockQueue.clear();
+        countedPlannedBlockQueueSize = -1;
 
         for(ProceduralStructure entry : childStructuresQueue)
         {
@@ -183,10 +313,13 @@ public class ProceduralStructure
      */
     public void startBuildProcedure()
     {
+        // Blocks may have changed since we last looked, so count everything again
+        invalidatePlannedBlockCounts();
         if(canStartToBuild())
         {
             isCurrentlyBuilding = true;
             currentPlannedBlockQueueIndex = 0;
+            lastBuildTickGameTime = world.getGameTime();
             /*
             This method sorts the plannedBlockQueue ArrayList by using the Collections.sort() method, with a custom comparator
             function that compares the distance of each block to the origin using the getBlockDistance method provided.
@@ -196,6 +329,9 @@ public class ProceduralStructure
                 plannedBlockQueue.sort((block1, block2) ->
                         Float.compare(BlockAlgorithms.getBlockDistance(block1.getPosition(), origin),
                                 BlockAlgorithms.getBlockDistance(block2.getPosition(), origin)));
+
+            setWatchingBlockChanges(true);
+            PlannedBlockChangeWatcher.watch(this);
         }
     }
 
@@ -205,6 +341,7 @@ public class ProceduralStructure
     public void stopBuildProcedure()
     {
         isCurrentlyBuilding = false;
+        stopWatchingBlockChanges();
     }
 
     /**
@@ -214,6 +351,7 @@ public class ProceduralStructure
     {
         //Do Not Tick if we arent in build mode
         if(!isCurrentlyBuilding) { return; }
+        lastBuildTickGameTime = world.getGameTime();
         if(!canContinueToBuild())
         {
             stopBuildProcedure();
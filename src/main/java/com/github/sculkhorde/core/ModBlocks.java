@@ -8,16 +8,20 @@ import com.github.sculkhorde.common.block.*;
 
 import com.mojang.blaze3d.platform.InputConstants;
 import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.*;
 import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.MapColor;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -896,6 +900,24 @@ public class ModBlocks {
 						tooltip.add(Component.translatable("tooltip.sculkhorde.default"));
 					}
 				}
+
+				@Override
+				public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
+					super.onPlace(state, level, pos, oldState, isMoving);
+					if(level instanceof ServerLevel serverLevel && !oldState.is(this))
+					{
+						SculkHorde.infestationWardIndex.onWardPlaced(serverLevel, pos);
+					}
+				}
+
+				@Override
+				public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+					if(level instanceof ServerLevel serverLevel && !newState.is(this))
+					{
+						SculkHorde.infestationWardIndex.onWardRemoved(serverLevel, pos);
+					}
+					super.onRemove(state, level, pos, newState, isMoving);
+				}
 			});
 
 	public static final RegistryObject<SpikeBlock> SPIKE =
@@ -3,6 +3,7 @@ package com.github.sculkhorde.core;
 import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.file.CommentedFileConfig;
 import com.electronwill.nightconfig.core.io.WritingMode;
+import com.github.sculkhorde.systems.BlockInfestationCache;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.item.ItemEntity;
@@ -69,6 +70,10 @@ public class ModConfig {
         public final ForgeConfigSpec.DoubleValue infection_speed_multiplier;
         public final ForgeConfigSpec.ConfigValue<Integer> max_nodes_active;
         public final ForgeConfigSpec.ConfigValue<Boolean> disable_auto_performance_system;
+        public final ForgeConfigSpec.ConfigValue<Integer> cursor_tick_budget_microseconds;
+        public final ForgeConfigSpec.ConfigValue<Boolean> cursors_visible_to_clients;
+        public final ForgeConfigSpec.ConfigValue<Integer> cursor_search_threads;
+        public final ForgeConfigSpec.ConfigValue<Integer> auto_performance_target_mspt;
 
         public void loadItemsInfectionCursorsCanEat()
         {
@@ -116,6 +121,7 @@ public class ModConfig {
             {
                 manually_configured_infestable_blocks.put(block, true);
             }
+            BlockInfestationCache.invalidate();
         }
 
         public boolean isBlockConfiguredToBeInfestable(BlockState blockState)
@@ -146,6 +152,10 @@ public class ModConfig {
             disable_auto_performance_system = builder.comment("Should the automatic performance system be disabled? (Default False)").define("disable_auto_performance_system", false);
             max_unit_population = builder.comment("How many sculk mobs should be allowed to exist at one time? (Default 200)").defineInRange("max_unit_population",200, 0, 1000);
             max_nodes_active = builder.comment("How many nodes can be active at once? (Default 1)").defineInRange("max_nodes_active",1, 0, 1000);
+            auto_performance_target_mspt = builder.comment("The automatic performance system scales the Sculk Horde down while the server takes longer than this many milliseconds per tick, and back up when it is faster. (Default 40)").defineInRange("auto_performance_target_mspt",40, 5, 50);
+            cursor_tick_budget_microseconds = builder.comment("When there are too many cursors, how much time (in microseconds) can be spent ticking them each server tick? 0 disables the time budget. (Default 2000)").defineInRange("cursor_tick_budget_microseconds",2000, 0, 50000);
+            cursors_visible_to_clients = builder.comment("Should cursor entities be sent to clients? Only useful for debugging, since it costs network traffic for every cursor. Their particles are shown either way. (Default false)").define("cursors_visible_to_clients",false);
+            cursor_search_threads = builder.comment("When there are too many cursors, how many threads can they use to search for blocks to infest? Never more than the number of processors minus one. 0 searches on the server thread only. (Default 4)").defineInRange("cursor_search_threads",4, 0, 64);
             builder.pop();
 
             builder.push("Mod Compatability");
@@ -1,23 +1,33 @@
 package com.github.sculkhorde.core;
 
 import com.github.sculkhorde.common.block.SculkBeeNestBlock;
+import com.github.sculkhorde.common.blockentity.SculkBeeNestBlockEntity;
 import com.github.sculkhorde.common.blockentity.SculkNodeBlockEntity;
 import com.github.sculkhorde.core.gravemind.Gravemind;
 import com.github.sculkhorde.core.gravemind.RaidData;
 import com.github.sculkhorde.core.gravemind.RaidHandler;
 import com.github.sculkhorde.core.gravemind.events.EventHandler;
 import com.github.sculkhorde.misc.StatisticsData;
+import com.github.sculkhorde.systems.InfectionFrontierTracker;
+import com.github.sculkhorde.util.AsyncNbtFileWriter;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import com.github.sculkhorde.util.ChunkLoading.BlockEntityChunkLoaderHelper;
 import com.github.sculkhorde.util.ChunkLoading.EntityChunkLoaderHelper;
 import com.github.sculkhorde.util.EntityAlgorithms;
+import com.github.sculkhorde.util.NbtColumns;
+import com.github.sculkhorde.util.SpatiallyIndexedList;
 import com.github.sculkhorde.util.TickUnits;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtUtils;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.monster.Creeper;
 import net.minecraft.world.entity.player.Player;
@@ -27,10 +37,10 @@ import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraftforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-
-import static com.github.sculkhorde.util.BlockAlgorithms.getBlockDistance;
+import java.util.function.Consumer;
 
 /**
  * This class handels all data that gets saved to and loaded from the world. <br>
@@ -69,16 +79,47 @@ public class ModSavedData extends SavedData {
 
     public void setHordeState(HordeState hordeState) {
         this.hordeState = hordeState;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
+    }
+
+    /**
+     * The parts of the saved data that can be marked dirty on their own.
+     * When saving, only dirty sections are serialized again. Clean sections
+     * reuse the tag they produced the last time they were saved.
+     */
+    public enum SaveSection {
+        GENERAL,
+        MASS,
+        NODES,
+        BEE_NESTS,
+        HOSTILES,
+        PRIORITY_BLOCKS,
+        DEATH_AREAS,
+        AREAS_OF_INTEREST,
+        NO_RAID_ZONES,
+        PLAYER_PROFILES,
+        RAID_DATA,
+        STATISTICS,
+        INFECTION_FRONTIER,
+        CHUNK_LOADERS,
+        EVENTS
     }
 
-    private final ArrayList<NodeEntry> nodeEntries = new ArrayList<>();
-    private final ArrayList<BeeNestEntry> beeNestEntries = new ArrayList<>();
-    private final Map<String, HostileEntry> hostileEntries = new HashMap<>();
+    private final EnumSet<SaveSection> dirtySections = EnumSet.allOf(SaveSection.class);
+    private final EnumMap<SaveSection, CompoundTag> cachedSectionTags = new EnumMap<>(SaveSection.class);
+    private final long[] sectionRewriteCounts = new long[SaveSection.values().length];
+    // Shared between worlds, so a save of the previous world is finished before the next one is written
+    private static final AsyncNbtFileWriter fileWriter = new AsyncNbtFileWriter("Sculk Horde Save Writer");
+
+    // These lists are also indexed by dimension and position, so that looking things up near a position does not have to check every entry.
+    private final SpatiallyIndexedList<NodeEntry> nodeEntries = new SpatiallyIndexedList<>(entry -> entry.dimension, entry -> entry.position, 6);
+    private final SpatiallyIndexedList<BeeNestEntry> beeNestEntries = new SpatiallyIndexedList<>(entry -> entry.dimension, entry -> entry.position, 6);
+    // Keyed by the type itself, so checking if a mob is hostile does not have to build a string
+    private final Reference2ObjectOpenHashMap<EntityType<?>, HostileEntry> hostileEntries = new Reference2ObjectOpenHashMap<>();
     private final ArrayList<PriorityBlockEntry> priorityBlockEntries = new ArrayList<>();
-    private final ArrayList<DeathAreaEntry> deathAreaEntries = new ArrayList<>();
-    private final ArrayList<AreaOfInterestEntry> areasOfInterestEntries = new ArrayList<>();
-    private final ArrayList<NoRaidZoneEntry> noRaidZoneEntries = new ArrayList<>();
+    private final SpatiallyIndexedList<DeathAreaEntry> deathAreaEntries = new SpatiallyIndexedList<>(entry -> entry.dimension, entry -> entry.position, 7);
+    private final SpatiallyIndexedList<AreaOfInterestEntry> areasOfInterestEntries = new SpatiallyIndexedList<>(entry -> entry.dimension, entry -> entry.position, 7);
+    private final SpatiallyIndexedList<NoRaidZoneEntry> noRaidZoneEntries = new SpatiallyIndexedList<>(entry -> entry.dimension, entry -> entry.position, entry -> entry.radius, 10);
     private final ArrayList<PlayerProfileEntry> playerProfileEntries = new ArrayList<>();
 
     private int sculkAccumulatedMass = 0;
@@ -88,6 +129,14 @@ public class ModSavedData extends SavedData {
     private int ticksSinceLastRaid = TickUnits.convertHoursToTicks(8);
     private static final String ticksSinceLastRaidIdentifier = "ticksSinceLastRaid";
 
+    // Entry lists saved as columns, see NbtColumns. Bump the version when the columns of an entry change.
+    private static final int ENTRY_COLUMNS_FORMAT_VERSION = 1;
+    private static final String nodeEntriesIdentifier = "node_entries";
+    private static final String beeNestEntriesIdentifier = "bee_nest_entries";
+    private static final String deathAreaEntriesIdentifier = "death_area_entries";
+    private static final String areaOfInterestEntriesIdentifier = "area_of_interest_entries";
+    private static final String noRaidZoneEntriesIdentifier = "no_raid_zone_entries";
+
     /**
      * Default Constructor
      */
@@ -133,33 +182,58 @@ public class ModSavedData extends SavedData {
 
         SculkHorde.setDebugMode(nbt.getBoolean(debugModeIdentifier));
 
-        for (int i = 0; gravemindData.contains("node_entry" + i); i++) {
-            SculkHorde.savedData.getNodeEntries().add(NodeEntry.serialize(gravemindData.getCompound("node_entry" + i)));
+        // Worlds saved before the columns format have one tag per entry. They get converted on the next save.
+        if (gravemindData.contains(nodeEntriesIdentifier)) {
+            NodeEntry.readColumns(gravemindData.getCompound(nodeEntriesIdentifier)).forEach(SculkHorde.savedData.getNodeEntries()::add);
+        } else {
+            for (int i = 0; gravemindData.contains("node_entry" + i); i++) {
+                SculkHorde.savedData.getNodeEntries().add(NodeEntry.serialize(gravemindData.getCompound("node_entry" + i)));
+            }
         }
 
-        for (int i = 0; gravemindData.contains("bee_nest_entry" + i); i++) {
-            SculkHorde.savedData.getBeeNestEntries().add(BeeNestEntry.serialize(gravemindData.getCompound("bee_nest_entry" + i)));
+        if (gravemindData.contains(beeNestEntriesIdentifier)) {
+            BeeNestEntry.readColumns(gravemindData.getCompound(beeNestEntriesIdentifier)).forEach(SculkHorde.savedData.getBeeNestEntries()::add);
+        } else {
+            for (int i = 0; gravemindData.contains("bee_nest_entry" + i); i++) {
+                SculkHorde.savedData.getBeeNestEntries().add(BeeNestEntry.serialize(gravemindData.getCompound("bee_nest_entry" + i)));
+            }
         }
 
         for (int i = 0; gravemindData.contains("hostile_entry" + i); i++) {
             HostileEntry hostileEntry = HostileEntry.serialize(gravemindData.getCompound("hostile_entry" + i));
-            SculkHorde.savedData.getHostileEntries().putIfAbsent(hostileEntry.identifier, hostileEntry);
+            // The mob no longer exists, probably because a mod was removed
+            if (hostileEntry == null) {
+                continue;
+            }
+            SculkHorde.savedData.getHostileEntries().putIfAbsent(hostileEntry.entityType, hostileEntry);
         }
 
         for (int i = 0; gravemindData.contains("priority_block_entry" + i); i++) {
             SculkHorde.savedData.getPriorityBlockEntries().add(PriorityBlockEntry.serialize(gravemindData.getCompound("priority_block_entry" + i)));
         }
 
-        for (int i = 0; gravemindData.contains("death_area_entry" + i); i++) {
-            SculkHorde.savedData.getDeathAreaEntries().add(DeathAreaEntry.serialize(gravemindData.getCompound("death_area_entry" + i)));
+        if (gravemindData.contains(deathAreaEntriesIdentifier)) {
+            DeathAreaEntry.readColumns(gravemindData.getCompound(deathAreaEntriesIdentifier)).forEach(SculkHorde.savedData.getDeathAreaEntries()::add);
+        } else {
+            for (int i = 0; gravemindData.contains("death_area_entry" + i); i++) {
+                SculkHorde.savedData.getDeathAreaEntries().add(DeathAreaEntry.serialize(gravemindData.getCompound("death_area_entry" + i)));
+            }
         }
 
-        for (int i = 0; gravemindData.contains("area_of_interest_entry" + i); i++) {
-            SculkHorde.savedData.getAreasOfInterestEntries().add(AreaOfInterestEntry.serialize(gravemindData.getCompound("area_of_interest_entry" + i)));
+        if (gravemindData.contains(areaOfInterestEntriesIdentifier)) {
+            AreaOfInterestEntry.readColumns(gravemindData.getCompound(areaOfInterestEntriesIdentifier)).forEach(SculkHorde.savedData.getAreasOfInterestEntries()::add);
+        } else {
+            for (int i = 0; gravemindData.contains("area_of_interest_entry" + i); i++) {
+                SculkHorde.savedData.getAreasOfInterestEntries().add(AreaOfInterestEntry.serialize(gravemindData.getCompound("area_of_interest_entry" + i)));
+            }
         }
 
-        for(int i = 0; gravemindData.contains("no_raid_zone_entry" + i); i++) {
-            SculkHorde.savedData.getNoRaidZoneEntries().add(NoRaidZoneEntry.serialize(gravemindData.getCompound("no_raid_zone_entry" + i)));
+        if (gravemindData.contains(noRaidZoneEntriesIdentifier)) {
+            NoRaidZoneEntry.readColumns(gravemindData.getCompound(noRaidZoneEntriesIdentifier)).forEach(SculkHorde.savedData.getNoRaidZoneEntries()::add);
+        } else {
+            for(int i = 0; gravemindData.contains("no_raid_zone_entry" + i); i++) {
+                SculkHorde.savedData.getNoRaidZoneEntries().add(NoRaidZoneEntry.serialize(gravemindData.getCompound("no_raid_zone_entry" + i)));
+            }
         }
 
         for(int i = 0; gravemindData.contains("player_profile_entry" + i); i++) {
@@ -180,6 +254,7 @@ public class ModSavedData extends SavedData {
         RaidData.load(nbt);
         BlockEntityChunkLoaderHelper.load(nbt);
         EntityChunkLoaderHelper.load(nbt);
+        InfectionFrontierTracker.load(nbt);
         EventHandler.load(nbt);
 
         return getGravemindMemory();
@@ -200,55 +275,177 @@ public class ModSavedData extends SavedData {
     public @NotNull CompoundTag save(CompoundTag nbt) {
         CompoundTag gravemindData = new CompoundTag();
 
-        nbt.putInt("hordeState", hordeState.ordinal());
-        nbt.putInt(sculkAccumulatedMassIdentifier, sculkAccumulatedMass);
-        nbt.putInt(ticksSinceSculkNodeDestructionIdentifier, noNodeSpawningTicksElapsed);
-        nbt.putInt(ticksSinceLastRaidIdentifier, ticksSinceLastRaid);
-        nbt.putBoolean(debugModeIdentifier, SculkHorde.isDebugMode());
+        writeSection(SaveSection.GENERAL, nbt, tag -> {
+            tag.putInt("hordeState", hordeState.ordinal());
+            tag.putInt(ticksSinceSculkNodeDestructionIdentifier, noNodeSpawningTicksElapsed);
+            tag.putInt(ticksSinceLastRaidIdentifier, ticksSinceLastRaid);
+            tag.putBoolean(debugModeIdentifier, SculkHorde.isDebugMode());
+        });
 
-        for (ListIterator<NodeEntry> iterator = getNodeEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("node_entry" + iterator.nextIndex(), iterator.next().deserialize());
-        }
+        writeSection(SaveSection.MASS, nbt, tag -> tag.putInt(sculkAccumulatedMassIdentifier, sculkAccumulatedMass));
 
-        for (ListIterator<BeeNestEntry> iterator = getBeeNestEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("bee_nest_entry" + iterator.nextIndex(), iterator.next().deserialize());
-        }
+        writeSection(SaveSection.NODES, gravemindData, tag -> tag.put(nodeEntriesIdentifier, NodeEntry.writeColumns(getNodeEntries())));
+
+        writeSection(SaveSection.BEE_NESTS, gravemindData, tag -> tag.put(beeNestEntriesIdentifier, BeeNestEntry.writeColumns(getBeeNestEntries())));
+
+        writeSection(SaveSection.HOSTILES, gravemindData, tag -> {
+            int hostileIndex = 0;
+            for (HostileEntry entry : getHostileEntries().values()) {
+                tag.put("hostile_entry" + hostileIndex, entry.deserialize());
+                hostileIndex++;
+            }
+        });
 
-        int hostileIndex = 0;
-        for (Map.Entry<String, HostileEntry> entry : getHostileEntries().entrySet()) {
-            gravemindData.put("hostile_entry" + hostileIndex, entry.getValue().deserialize());
-            hostileIndex++;
+        writeSection(SaveSection.PRIORITY_BLOCKS, gravemindData, tag -> {
+            for (ListIterator<PriorityBlockEntry> iterator = getPriorityBlockEntries().listIterator(); iterator.hasNext(); ) {
+                tag.put("priority_block_entry" + iterator.nextIndex(), iterator.next().deserialize());
+            }
+        });
+
+        writeSection(SaveSection.DEATH_AREAS, gravemindData, tag -> tag.put(deathAreaEntriesIdentifier, DeathAreaEntry.writeColumns(getDeathAreaEntries())));
+
+        writeSection(SaveSection.AREAS_OF_INTEREST, gravemindData, tag -> tag.put(areaOfInterestEntriesIdentifier, AreaOfInterestEntry.writeColumns(getAreasOfInterestEntries())));
+
+        writeSection(SaveSection.NO_RAID_ZONES, gravemindData, tag -> tag.put(noRaidZoneEntriesIdentifier, NoRaidZoneEntry.writeColumns(getNoRaidZoneEntries())));
+
+        writeSection(SaveSection.PLAYER_PROFILES, gravemindData, tag -> {
+            for (ListIterator<PlayerProfileEntry> iterator = getPlayerProfileEntries().listIterator(); iterator.hasNext(); ) {
+                tag.put("player_profile_entry" + iterator.nextIndex(), iterator.next().deserialize());
+            }
+        });
+
+        nbt.put("gravemindData", gravemindData);
+
+        writeSection(SaveSection.RAID_DATA, nbt, RaidData::save);
+        writeSection(SaveSection.STATISTICS, nbt, StatisticsData::save);
+        writeSection(SaveSection.INFECTION_FRONTIER, nbt, InfectionFrontierTracker::save);
+        writeSection(SaveSection.CHUNK_LOADERS, nbt, tag -> {
+            BlockEntityChunkLoaderHelper.save(tag);
+            EntityChunkLoaderHelper.save(tag);
+        });
+        writeSection(SaveSection.EVENTS, nbt, EventHandler::save);
+
+        if (SculkHorde.isDebugMode()) {
+            SculkHorde.LOGGER.info("Saved Sculk Horde data. Section rewrite counts: " + getSectionRewriteCountsAsString());
         }
 
-        for (ListIterator<PriorityBlockEntry> iterator = getPriorityBlockEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("priority_block_entry" + iterator.nextIndex(), iterator.next().deserialize());
+        return nbt;
+    }
+
+    /**
+     * Vanilla builds the tag and writes it to disk on the server thread. Building the tag is cheap
+     * since only changed sections get serialized again, but compressing and writing the whole file is not.
+     * So we build the tag here, which acts as the snapshot, and let {@link #fileWriter} write it in the background.
+     * When the server is shutting down, we wait for the background writes and write synchronously instead.
+     *
+     * @param file The file to save to
+     */
+    @Override
+    public void save(@NotNull File file) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        boolean isShuttingDown = server == null || !server.isRunning();
+
+        if (!isDirty()) {
+            // The background thread would not survive the game closing
+            if (isShuttingDown) {
+                fileWriter.waitForPendingWrites();
+            }
+            return;
         }
 
-        for (ListIterator<DeathAreaEntry> iterator = getDeathAreaEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("death_area_entry" + iterator.nextIndex(), iterator.next().deserialize());
+        CompoundTag fileTag = new CompoundTag();
+        fileTag.put("data", save(new CompoundTag()));
+        NbtUtils.addCurrentDataVersion(fileTag);
+        setDirty(false);
+
+        // If the write fails, mark the data dirty again so the next save tries again.
+        // The cached section tags still hold everything, so the next save writes the complete data.
+        if (isShuttingDown) {
+            if (!fileWriter.writeNow(fileTag, file)) {
+                setDirty();
+            }
+        } else {
+            fileWriter.writeAsync(fileTag, file, () -> server.execute(this::setDirty));
         }
+    }
 
-        for (ListIterator<AreaOfInterestEntry> iterator = getAreasOfInterestEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("area_of_interest_entry" + iterator.nextIndex(), iterator.next().deserialize());
+    /**
+     * Copies the tags of a section into the destination. If the section is dirty,
+     * or was never saved before, it gets serialized again first.
+     * The cached tags are shared with the destination, which is fine because
+     * they are never changed after being created. A dirty section gets a new tag instead.
+     * This also means the destination can be written to disk on another thread.
+     *
+     * @param section The section to write
+     * @param destination The tag to write into
+     * @param writer Serializes the section into an empty tag
+     */
+    private void writeSection(SaveSection section, CompoundTag destination, Consumer<CompoundTag> writer) {
+        CompoundTag sectionTag = cachedSectionTags.get(section);
+        if (sectionTag == null || dirtySections.contains(section)) {
+            dirtySections.remove(section);
+            sectionTag = new CompoundTag();
+            writer.accept(sectionTag);
+            cachedSectionTags.put(section, sectionTag);
+            sectionRewriteCounts[section.ordinal()]++;
         }
 
-        for (ListIterator<NoRaidZoneEntry> iterator = getNoRaidZoneEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("no_raid_zone_entry" + iterator.nextIndex(), iterator.next().deserialize());
+        for (String key : sectionTag.getAllKeys()) {
+            destination.put(key, sectionTag.get(key));
         }
+    }
+
+    /**
+     * Marks a single section as changed, so it gets serialized on the next save.
+     * Prefer this over {@link #setDirty()}, which marks every section as changed.
+     *
+     * @param section The section that changed
+     */
+    public void markSectionDirty(SaveSection section) {
+        dirtySections.add(section);
+        super.setDirty(true);
+    }
 
-        for (ListIterator<PlayerProfileEntry> iterator = getPlayerProfileEntries().listIterator(); iterator.hasNext(); ) {
-            gravemindData.put("player_profile_entry" + iterator.nextIndex(), iterator.next().deserialize());
+    /**
+     * Marks a section as changed if the saved data exists. Used by the entries,
+     * which can get modified while the saved data is still being loaded.
+     *
+     * @param section The section that changed
+     */
+    private static void markSectionDirtyIfLoaded(SaveSection section) {
+        if (SculkHorde.savedData != null) {
+            SculkHorde.savedData.markSectionDirty(section);
         }
+    }
 
-        nbt.put("gravemindData", gravemindData);
+    /**
+     * We do not know what changed, so every section has to be written again.
+     */
+    @Override
+    public void setDirty(boolean dirty) {
+        if (dirty) {
+            dirtySections.addAll(EnumSet.allOf(SaveSection.class));
+        }
+        super.setDirty(dirty);
+    }
 
-        RaidData.save(nbt);
-        StatisticsData.save(nbt);
-        BlockEntityChunkLoaderHelper.save(nbt);
-        EntityChunkLoaderHelper.save(nbt);
-        EventHandler.save(nbt);
+    /**
+     * @param section The section
+     * @return How many times this section was actually serialized since the world was loaded.
+     */
+    public long getSectionRewriteCount(SaveSection section) {
+        return sectionRewriteCounts[section.ordinal()];
+    }
 
-        return nbt;
+    public String getSectionRewriteCountsAsString() {
+        StringBuilder builder = new StringBuilder();
+        for (SaveSection section : SaveSection.values()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(section.name()).append(": ").append(getSectionRewriteCount(section));
+        }
+        return builder.toString();
     }
 
 
@@ -262,18 +459,17 @@ public class ModSavedData extends SavedData {
     }
 
     public int getTicksSinceLastRaid() {
-        setDirty();
         return ticksSinceLastRaid;
     }
 
     public void setTicksSinceLastRaid(int ticksSinceLastRaid) {
         this.ticksSinceLastRaid = ticksSinceLastRaid;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
     }
 
     public void incrementTicksSinceLastRaid() {
         this.ticksSinceLastRaid++;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
     }
 
     public boolean isNodeSpawnCooldownOver() {
@@ -292,24 +488,23 @@ public class ModSavedData extends SavedData {
     }
 
     public int getTicksElapsedForNodeSpawningCooldown() {
-        setDirty();
         return noNodeSpawningTicksElapsed;
     }
 
     public void setNoNodeSpawningTicksElapsed(int noNodeSpawningTicksElapsed) {
         this.noNodeSpawningTicksElapsed = noNodeSpawningTicksElapsed;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
     }
 
     public void incrementNoNodeSpawningTicksElapsed() {
         this.noNodeSpawningTicksElapsed++;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
     }
 
     public void resetNoNodeSpawningTicksElapsed() {
         //Send message to all players that node has spawned
         this.noNodeSpawningTicksElapsed = 0;
-        setDirty();
+        markSectionDirty(SaveSection.GENERAL);
     }
 
     /**
@@ -318,7 +513,6 @@ public class ModSavedData extends SavedData {
      * @return An integer representing all Sculk mass accumulated.
      */
     public int getSculkAccumulatedMass() {
-        setDirty();
         return sculkAccumulatedMass;
     }
 
@@ -328,7 +522,7 @@ public class ModSavedData extends SavedData {
      * @param amount The amount you want to add
      */
     public int addSculkAccumulatedMass(int amount) {
-        setDirty();
+        markSectionDirty(SaveSection.MASS);
         sculkAccumulatedMass += amount;
         return sculkAccumulatedMass;
     }
@@ -339,7 +533,7 @@ public class ModSavedData extends SavedData {
      * @param amount The amount to substract
      */
     public int subtractSculkAccumulatedMass(int amount) {
-        setDirty();
+        markSectionDirty(SaveSection.MASS);
         sculkAccumulatedMass -= amount;
         return sculkAccumulatedMass;
     }
@@ -350,7 +544,7 @@ public class ModSavedData extends SavedData {
      * @param amount The amount to set it to.
      */
     public int setSculkAccumulatedMass(int amount) {
-        setDirty();
+        markSectionDirty(SaveSection.MASS);
         sculkAccumulatedMass = amount;
         return sculkAccumulatedMass;
     }
@@ -363,7 +557,7 @@ public class ModSavedData extends SavedData {
         return beeNestEntries;
     }
 
-    public Map<String, HostileEntry> getHostileEntries() {
+    public Map<EntityType<?>, HostileEntry> getHostileEntries() {
         return hostileEntries;
     }
 
@@ -389,7 +583,7 @@ public class ModSavedData extends SavedData {
         if (!isNodePositionInMemory(positionIn) && getNodeEntries() != null)
         {
             getNodeEntries().add(new NodeEntry(level, positionIn));
-            setDirty();
+            markSectionDirty(SaveSection.NODES);
         }
     }
 
@@ -403,7 +597,7 @@ public class ModSavedData extends SavedData {
         if (!isBeeNestPositionInMemory(positionIn) && getBeeNestEntries() != null)
         {
             getBeeNestEntries().add(new BeeNestEntry(level, positionIn));
-            setDirty();
+            markSectionDirty(SaveSection.BEE_NESTS);
         }
         // TODO For some reason this continously gets called, find out why
         //else if(DEBUG_MODE) System.out.println("Attempted to Add Nest To Memory but failed.");
@@ -416,11 +610,12 @@ public class ModSavedData extends SavedData {
             return;
         }
 
-        String identifier = entityIn.getType().toString();
-        if (!identifier.isEmpty())
+        // Most calls are for mobs we already know, so check before creating an entry
+        EntityType<?> entityType = entityIn.getType();
+        if (!getHostileEntries().containsKey(entityType))
         {
-            getHostileEntries().putIfAbsent(identifier, new HostileEntry(identifier));
-            setDirty();
+            getHostileEntries().put(entityType, new HostileEntry(entityType));
+            markSectionDirty(SaveSection.HOSTILES);
         }
     }
 
@@ -463,7 +658,7 @@ public class ModSavedData extends SavedData {
         }
 
         getPriorityBlockEntries().add(new PriorityBlockEntry(positionIn, priority));
-        setDirty();
+        markSectionDirty(SaveSection.PRIORITY_BLOCKS);
 
     }
 
@@ -476,17 +671,14 @@ public class ModSavedData extends SavedData {
         }
 
         // If already exists in memory, dont add it again
-        for(int i = 0; i < getDeathAreaEntries().size(); i++)
+        if(deathAreaEntries.getAtPosition(positionIn).isPresent())
         {
-            if(getDeathAreaEntries().get(i).position == positionIn)
-            {
-                return;
-            }
+            return;
         }
 
         SculkHorde.LOGGER.info("Adding Death Area in " + dimension.dimension() + " at " + positionIn + " to memory");
         getDeathAreaEntries().add(new DeathAreaEntry(dimension, positionIn));
-        setDirty();
+        markSectionDirty(SaveSection.DEATH_AREAS);
     }
 
     public Optional<AreaOfInterestEntry> addAreaOfInterestToMemory(ServerLevel dimension, BlockPos positionIn) {
@@ -497,18 +689,15 @@ public class ModSavedData extends SavedData {
         }
 
         // If already exists in memory, dont add it again
-        for(int i = 0; i < getAreasOfInterestEntries().size(); i++)
+        if(areasOfInterestEntries.findFirstWithinRange(positionIn, 100, entry -> entry.position.equals(positionIn) || entry.position.closerThan(positionIn, 100)).isPresent())
         {
-            if(getAreasOfInterestEntries().get(i).position == positionIn || getAreasOfInterestEntries().get(i).position.closerThan(positionIn, 100))
-            {
-                return Optional.empty();
-            }
+            return Optional.empty();
         }
 
         SculkHorde.LOGGER.info("Adding Area of Interest at " + dimension.dimension() + " at " + positionIn + " to memory");
         AreaOfInterestEntry entry = new AreaOfInterestEntry(dimension, positionIn);
         getAreasOfInterestEntries().add(entry);
-        setDirty();
+        markSectionDirty(SaveSection.AREAS_OF_INTEREST);
         return Optional.of(entry);
     }
 
@@ -520,24 +709,19 @@ public class ModSavedData extends SavedData {
         }
 
         // If already exists in memory, dont add it again
-        for(int i = 0; i < getNoRaidZoneEntries().size(); i++)
+        Optional<NoRaidZoneEntry> existingEntry = noRaidZoneEntries.findFirstWithinRange(dimension.dimension(), positionIn, 100,
+                entry -> entry.position.equals(positionIn) || entry.position.closerThan(positionIn, 100));
+        if(existingEntry.isPresent())
         {
-            boolean areInSameDimension = BlockAlgorithms.areTheseDimensionsEqual(getNoRaidZoneEntries().get(i).dimension, dimension.dimension());
-            boolean arePositionsEqual = getNoRaidZoneEntries().get(i).position.equals(positionIn);
-            boolean isCloserThan100BlocksFromPosition = getNoRaidZoneEntries().get(i).position.closerThan(positionIn, 100);
+            if(existingEntry.get().position.closerThan(positionIn, 100)) { SculkHorde.LOGGER.debug("Attempted to add a no raid zone to memory but it was too close to another no raid zone"); }
+            else { SculkHorde.LOGGER.debug("Attempted to add a no raid zone to memory but it already existed"); }
 
-            if((areInSameDimension && arePositionsEqual) || (areInSameDimension && isCloserThan100BlocksFromPosition))
-            {
-                if(isCloserThan100BlocksFromPosition) { SculkHorde.LOGGER.debug("Attempted to add a no raid zone to memory but it was too close to another no raid zone"); }
-                else if(arePositionsEqual) { SculkHorde.LOGGER.debug("Attempted to add a no raid zone to memory but it already existed"); }
-
-                return;
-            }
+            return;
         }
 
         SculkHorde.LOGGER.info("Adding No Raid Zone at " + positionIn + " in " + dimension.dimension() + " to memory");
         getNoRaidZoneEntries().add(new NoRaidZoneEntry(dimension, positionIn, 1000, level.getGameTime(), TickUnits.convertMinutesToTicks(ModConfig.SERVER.sculk_raid_no_raid_zone_duration_minutes.get())));
-        setDirty();
+        markSectionDirty(SaveSection.NO_RAID_ZONES);
     }
 
     private Optional<DeathAreaEntry> getDeathAreaWithinRange(BlockPos positionIn, int range)
@@ -548,14 +732,7 @@ public class ModSavedData extends SavedData {
             return Optional.empty();
         }
 
-        for(int i = 0; i < getDeathAreaEntries().size(); i++)
-        {
-            if(getDeathAreaEntries().get(i).position.closerThan(positionIn, range))
-            {
-                return Optional.of(getDeathAreaEntries().get(i));
-            }
-        }
-        return Optional.empty();
+        return deathAreaEntries.findFirstWithinRange(positionIn, range, entry -> entry.position.closerThan(positionIn, range));
     }
 
     public Optional<DeathAreaEntry> getDeathAreaWithHighestDeaths()
@@ -622,7 +799,7 @@ public class ModSavedData extends SavedData {
             if (!entry.isEntryValid()) {
                 resetNoNodeSpawningTicksElapsed();
                 iterator.remove();
-                setDirty();
+                markSectionDirty(SaveSection.NODES);
             }
         }
         long endTime = System.nanoTime();
@@ -651,8 +828,10 @@ public class ModSavedData extends SavedData {
                 toRemove.add(entry);
             }
         }
-        getBeeNestEntries().removeAll(toRemove);
-        setDirty();
+        if (!toRemove.isEmpty()) {
+            getBeeNestEntries().removeAll(toRemove);
+            markSectionDirty(SaveSection.BEE_NESTS);
+        }
         long endTime = System.nanoTime();
         if (SculkHorde.isDebugMode()) {
             System.out.println("Bee Nest Validation Took " + TimeUnit.MILLISECONDS.convert(endTime - startTime, TimeUnit.NANOSECONDS) + " milliseconds");
@@ -667,7 +846,7 @@ public class ModSavedData extends SavedData {
             if (!entry.isInNoRaidZone()) {
                 SculkHorde.LOGGER.info("Area of Interest at " + entry.position + " is on no raid zone. Removing from memory.");
                 iterator.remove();
-                setDirty();
+                markSectionDirty(SaveSection.AREAS_OF_INTEREST);
             }
         }
         long endTime = System.currentTimeMillis();
@@ -684,7 +863,7 @@ public class ModSavedData extends SavedData {
             if (entry.isExpired(level.getGameTime())) {
                 SculkHorde.LOGGER.info("No Raid Zone Entry at " + entry.position + " has expired. Removing from memory.");
                 iterator.remove();
-                setDirty();
+                markSectionDirty(SaveSection.NO_RAID_ZONES);
             }
         }
         long endTime = System.currentTimeMillis();
@@ -702,12 +881,31 @@ public class ModSavedData extends SavedData {
      * @return true if in memory, false otherwise
      */
     public boolean isBeeNestPositionInMemory(BlockPos position) {
-        for (BeeNestEntry entry : getBeeNestEntries()) {
-            if (entry.position == position) {
-                return true;
-            }
-        }
-        return false;
+        return beeNestEntries.getAtPosition(position).isPresent();
+    }
+
+    /**
+     * Finds the known bee nests that still have room for another bee.
+     * This replaces scanning every block around a bee, which is very slow with a large range.
+     *
+     * @param dimension The dimension to look in
+     * @param position The position to look around
+     * @param range How far away a nest can be on each axis
+     * @return The positions of the nests, closest first
+     */
+    public List<BlockPos> getBeeNestsWithSpaceWithinRange(ServerLevel dimension, BlockPos position, int range) {
+        List<BeeNestEntry> entries = beeNestEntries.getAllWithinRange(dimension.dimension(), position, range, entry ->
+                Math.abs(entry.position.getX() - position.getX()) <= range
+                && Math.abs(entry.position.getY() - position.getY()) <= range
+                && Math.abs(entry.position.getZ() - position.getZ()) <= range
+                && entry.hasSpace());
+
+        List<BlockPos> positions = new ArrayList<>(entries.size());
+        for (BeeNestEntry entry : entries) {
+            positions.add(entry.position);
+        }
+        positions.sort(Comparator.comparingDouble(position::distSqr));
+        return positions;
     }
 
 
@@ -719,12 +917,7 @@ public class ModSavedData extends SavedData {
      * @return true if in memory, false otherwise
      */
     public boolean isNodePositionInMemory(BlockPos position) {
-        for (NodeEntry entry : getNodeEntries()) {
-            if (entry.position.equals(position)) {
-                return true;
-            }
-        }
-        return false;
+        return nodeEntries.getAtPosition(position).isPresent();
     }
 
     /**
@@ -733,15 +926,7 @@ public class ModSavedData extends SavedData {
      * @return The Closest TreeNode
      */
     public NodeEntry getClosestNodeEntry(ServerLevel dimension, BlockPos pos) {
-        NodeEntry closestNode = null;
-        double closestDistance = Double.MAX_VALUE;
-        for (NodeEntry node : getNodeEntries()) {
-            if (pos.distSqr(node.position) < closestDistance) {
-                closestNode = node;
-                closestDistance = pos.distSqr(node.position);
-            }
-        }
-        return closestNode;
+        return nodeEntries.getClosest(pos).orElse(null);
     }
 
     public void removeNodeFromMemory(BlockPos positionIn)
@@ -752,17 +937,29 @@ public class ModSavedData extends SavedData {
             return;
         }
 
-        for(int i = 0; i < getNodeEntries().size(); i++)
+        Optional<NodeEntry> entry = nodeEntries.getAtPosition(positionIn);
+        if(entry.isPresent())
         {
-            if(getNodeEntries().get(i).position.equals(positionIn))
-            {
-                getNodeEntries().remove(i);
-                setDirty();
-                resetNoNodeSpawningTicksElapsed();
-                return;
-            }
+            getNodeEntries().remove(entry.get());
+            markSectionDirty(SaveSection.NODES);
+            resetNoNodeSpawningTicksElapsed();
+        }
+    }
+
+    public void removeBeeNestFromMemory(BlockPos positionIn)
+    {
+        if(getBeeNestEntries() == null)
+        {
+            SculkHorde.LOGGER.warn("Attempted to remove a bee nest from memory but the list was null");
+            return;
+        }
+
+        Optional<BeeNestEntry> entry = beeNestEntries.getAtPosition(positionIn);
+        if(entry.isPresent())
+        {
+            getBeeNestEntries().remove(entry.get());
+            markSectionDirty(SaveSection.BEE_NESTS);
         }
-        setDirty();
     }
 
     public void removeDeathAreaFromMemory(BlockPos positionIn)
@@ -773,16 +970,12 @@ public class ModSavedData extends SavedData {
             return;
         }
 
-        for(int i = 0; i < getDeathAreaEntries().size(); i++)
+        Optional<DeathAreaEntry> entry = deathAreaEntries.getAtPosition(positionIn);
+        if(entry.isPresent())
         {
-            if(getDeathAreaEntries().get(i).position == positionIn)
-            {
-                getDeathAreaEntries().remove(i);
-                setDirty();
-                return;
-            }
+            getDeathAreaEntries().remove(entry.get());
+            markSectionDirty(SaveSection.DEATH_AREAS);
         }
-        setDirty();
     }
 
     public void removeAreaOfInterestFromMemory(BlockPos positionIn)
@@ -793,16 +986,12 @@ public class ModSavedData extends SavedData {
             return;
         }
 
-        for(int i = 0; i < getAreasOfInterestEntries().size(); i++)
+        Optional<AreaOfInterestEntry> entry = areasOfInterestEntries.getAtPosition(positionIn);
+        if(entry.isPresent())
         {
-            if(getAreasOfInterestEntries().get(i).position == positionIn)
-            {
-                getAreasOfInterestEntries().remove(i);
-                setDirty();
-                return;
-            }
+            getAreasOfInterestEntries().remove(entry.get());
+            markSectionDirty(SaveSection.AREAS_OF_INTEREST);
         }
-        setDirty();
     }
 
     /**
@@ -820,7 +1009,6 @@ public class ModSavedData extends SavedData {
         if(deathArea.isPresent())
         {
             deathArea.get().iterateDeathCount();
-            setDirty();
             return;
         }
 
@@ -966,6 +1154,7 @@ public class ModSavedData extends SavedData {
             }
 
             IsActive = activeIn;
+            markSectionDirtyIfLoaded(SaveSection.NODES);
             SculkNodeBlockEntity sculkNodeBlockEntity = (SculkNodeBlockEntity) getDimension().getBlockEntity(position);
             sculkNodeBlockEntity.setActive(activeIn);
         }
@@ -978,11 +1167,13 @@ public class ModSavedData extends SavedData {
         public void setLastTimeWasActive(long lastTimeWasActiveIn)
         {
             lastTimeWasActive = lastTimeWasActiveIn;
+            markSectionDirtyIfLoaded(SaveSection.NODES);
         }
 
         public void setActivationTimeStamp(long activationTimeStampIn)
         {
             activationTimeStamp = activationTimeStampIn;
+            markSectionDirtyIfLoaded(SaveSection.NODES);
         }
 
         public long getActivationTimeStamp()
@@ -1032,6 +1223,71 @@ public class ModSavedData extends SavedData {
             return entry;
         }
 
+        /**
+         * Saves many entries at once, one array per field.
+         * @param entries The entries
+         * @return The nbt with the columns
+         */
+        public static CompoundTag writeColumns(List<NodeEntry> entries)
+        {
+            CompoundTag nbt = NbtColumns.createColumnsTag(ENTRY_COLUMNS_FORMAT_VERSION, entries.size());
+            NbtColumns.DimensionDictionary dimensions = new NbtColumns.DimensionDictionary();
+            int[] dimension = new int[entries.size()];
+            long[] position = new long[entries.size()];
+            long[] lastTimeWasActive = new long[entries.size()];
+            long[] activationTimeStamp = new long[entries.size()];
+            byte[] isActive = new byte[entries.size()];
+
+            for(int i = 0; i < entries.size(); i++)
+            {
+                NodeEntry entry = entries.get(i);
+                dimension[i] = dimensions.encode(entry.dimension);
+                position[i] = entry.position.asLong();
+                lastTimeWasActive[i] = entry.lastTimeWasActive;
+                activationTimeStamp[i] = entry.activationTimeStamp;
+                isActive[i] = (byte) (entry.IsActive ? 1 : 0);
+            }
+
+            dimensions.save(nbt);
+            nbt.putIntArray("dimension", dimension);
+            nbt.putLongArray("position", position);
+            nbt.putLongArray("lastTimeWasActive", lastTimeWasActive);
+            nbt.putLongArray("activationTimeStamp", activationTimeStamp);
+            nbt.putByteArray("IsActive", isActive);
+            return nbt;
+        }
+
+        /**
+         * Loads entries saved with {@link #writeColumns(List)}.
+         * @param nbt The nbt with the columns
+         * @return The entries
+         */
+        public static List<NodeEntry> readColumns(CompoundTag nbt)
+        {
+            if(!NbtColumns.canReadFormatVersion(nbt, ENTRY_COLUMNS_FORMAT_VERSION, "node entries"))
+            {
+                return new ArrayList<>();
+            }
+
+            NbtColumns.DimensionDictionary dimensions = NbtColumns.DimensionDictionary.load(nbt);
+            int[] dimension = NbtColumns.getIntColumn(nbt, "dimension");
+            long[] position = NbtColumns.getLongColumn(nbt, "position");
+            long[] lastTimeWasActive = NbtColumns.getLongColumn(nbt, "lastTimeWasActive");
+            long[] activationTimeStamp = NbtColumns.getLongColumn(nbt, "activationTimeStamp");
+            byte[] isActive = NbtColumns.getByteColumn(nbt, "IsActive");
+
+            List<NodeEntry> entries = new ArrayList<>(NbtColumns.getSize(nbt));
+            for(int i = 0; i < NbtColumns.getSize(nbt); i++)
+            {
+                NodeEntry entry = new NodeEntry(dimensions.decode(dimension[i]), BlockPos.of(position[i]));
+                entry.setLastTimeWasActive(lastTimeWasActive[i]);
+                entry.setActivationTimeStamp(activationTimeStamp[i]);
+                entry.setActive(isActive[i] != 0);
+                entries.add(entry);
+            }
+            return entries;
+        }
+
     }
 
     /**
@@ -1099,6 +1355,23 @@ public class ModSavedData extends SavedData {
             return dimension.getBlockState(position).getBlock().equals(ModBlocks.SCULK_BEE_NEST_BLOCK.get());
         }
 
+        /**
+         * Checks if another bee can move into this nest.
+         * Does not load the chunk if it is not loaded already.
+         * @return True if the nest is loaded and not full, false otherwise.
+         */
+        public boolean hasSpace()
+        {
+            ServerLevel dimension = getDimension();
+
+            if(dimension == null || !dimension.isLoaded(position))
+            {
+                return false;
+            }
+
+            return dimension.getBlockEntity(position) instanceof SculkBeeNestBlockEntity nest && !nest.isFull();
+        }
+
 
         /**
          * is Hive enabled?
@@ -1132,26 +1405,7 @@ public class ModSavedData extends SavedData {
 
         public Optional<NodeEntry> getClosestNode(BlockPos pos)
         {
-            Optional<NodeEntry> closestEntry = Optional.empty();
-            for(NodeEntry entry : getGravemindMemory().getNodeEntries())
-            {
-                // If we are not in the same dimension
-                if(!entry.dimension.equals(dimension))
-                {
-                    continue;
-                }
-
-                if(closestEntry.isEmpty())
-                {
-                    closestEntry = Optional.of(entry);
-                }
-                //If entry is closer than our current closest entry
-                else if(getBlockDistance(pos, entry.position) < getBlockDistance(pos, closestEntry.get().position))
-                {
-                    closestEntry = Optional.of(entry);
-                }
-            }
-            return closestEntry;
+            return getGravemindMemory().nodeEntries.getClosest(dimension, pos);
         }
 
         /**
@@ -1164,34 +1418,13 @@ public class ModSavedData extends SavedData {
             //Make sure nodeEntries isn't null and nodeEntries isn't empty
             if(getGravemindMemory().getNodeEntries() != null && !getGravemindMemory().getNodeEntries().isEmpty())
             {
-                Optional<NodeEntry> closestEntry = Optional.empty();
-                for(NodeEntry entry : getGravemindMemory().getNodeEntries())
+                Optional<NodeEntry> closestEntry = getClosestNode(position);
+
+                if(closestEntry.isPresent() && closestEntry.get().getPosition() != null && !closestEntry.get().getPosition().equals(parentNodePosition))
                 {
-                    // If we are not in the same dimension
-                    if(!entry.dimension.equals(dimension))
-                    {
-                        continue;
-                    }
-
-                    if(Optional.of(entry).isEmpty())
-                    {
-                        SculkHorde.LOGGER.error("Failed To Set Parent Node To Closest. Node Entry was null.");
-                        continue;
-                    }
-
-                    if(closestEntry.isEmpty())
-                    {
-                        closestEntry = Optional.of(entry);
-                    }
-                    //If entry is closer than our current closest entry
-                    // NOTE: We shouldnt need the isPresent() check here but it was throwing an exception
-                    else if(closestEntry.isPresent() && getBlockDistance(position, entry.position) < getBlockDistance(position, closestEntry.get().position))
-                    {
-                        closestEntry = Optional.of(entry);
-                    }
+                    parentNodePosition = closestEntry.get().getPosition();
+                    markSectionDirtyIfLoaded(SaveSection.BEE_NESTS);
                 }
-
-                if(closestEntry.isPresent() && closestEntry.get().getPosition() != null) { parentNodePosition = closestEntry.get().getPosition(); }
             }
         }
 
@@ -1220,6 +1453,60 @@ public class ModSavedData extends SavedData {
 
             return new BeeNestEntry(dimensionResourceKey, BlockPos.of(nbt.getLong("position")), BlockPos.of(nbt.getLong("parentNodePosition")));
         }
+
+        /**
+         * Saves many entries at once, one array per field.
+         * A missing parent node is saved as 0, which is also what the old format loaded it as.
+         * @param entries The entries
+         * @return The nbt with the columns
+         */
+        public static CompoundTag writeColumns(List<BeeNestEntry> entries)
+        {
+            CompoundTag nbt = NbtColumns.createColumnsTag(ENTRY_COLUMNS_FORMAT_VERSION, entries.size());
+            NbtColumns.DimensionDictionary dimensions = new NbtColumns.DimensionDictionary();
+            int[] dimension = new int[entries.size()];
+            long[] position = new long[entries.size()];
+            long[] parentNodePosition = new long[entries.size()];
+
+            for(int i = 0; i < entries.size(); i++)
+            {
+                BeeNestEntry entry = entries.get(i);
+                dimension[i] = dimensions.encode(entry.dimension);
+                position[i] = entry.position.asLong();
+                parentNodePosition[i] = entry.parentNodePosition == null ? 0 : entry.parentNodePosition.asLong();
+            }
+
+            dimensions.save(nbt);
+            nbt.putIntArray("dimension", dimension);
+            nbt.putLongArray("position", position);
+            nbt.putLongArray("parentNodePosition", parentNodePosition);
+            return nbt;
+        }
+
+        /**
+         * Loads entries saved with {@link #writeColumns(List)}.
+         * @param nbt The nbt with the columns
+         * @return The entries
+         */
+        public static List<BeeNestEntry> readColumns(CompoundTag nbt)
+        {
+            if(!NbtColumns.canReadFormatVersion(nbt, ENTRY_COLUMNS_FORMAT_VERSION, "bee nest entries"))
+            {
+                return new ArrayList<>();
+            }
+
+            NbtColumns.DimensionDictionary dimensions = NbtColumns.DimensionDictionary.load(nbt);
+            int[] dimension = NbtColumns.getIntColumn(nbt, "dimension");
+            long[] position = NbtColumns.getLongColumn(nbt, "position");
+            long[] parentNodePosition = NbtColumns.getLongColumn(nbt, "parentNodePosition");
+
+            List<BeeNestEntry> entries = new ArrayList<>(NbtColumns.getSize(nbt));
+            for(int i = 0; i < NbtColumns.getSize(nbt); i++)
+            {
+                entries.add(new BeeNestEntry(dimensions.decode(dimension[i]), BlockPos.of(position[i]), BlockPos.of(parentNodePosition[i])));
+            }
+            return entries;
+        }
     }
 
     /**
@@ -1229,16 +1516,15 @@ public class ModSavedData extends SavedData {
      */
     private static class HostileEntry
     {
-        private final String identifier; //The String that is the class name identifier of the mob. Example: class net.minecraft.entity.monster.SpiderEntity
+        private final EntityType<?> entityType; //The type of the mob
 
         /**
          * Default Constructor
-         * @param identifierIn The String that is the class name identifier of the mob. <br>
-         * Example: class net.minecraft.entity.monster.SpiderEntity
+         * @param entityTypeIn The type of the mob
          */
-        public HostileEntry(String identifierIn)
+        public HostileEntry(EntityType<?> entityTypeIn)
         {
-            identifier = identifierIn;
+            entityType = entityTypeIn;
         }
 
 
@@ -1249,17 +1535,32 @@ public class ModSavedData extends SavedData {
         public CompoundTag deserialize()
         {
             CompoundTag nbt = new CompoundTag();
-            nbt.putString("identifier", identifier);
+            nbt.putString("entityType", BuiltInRegistries.ENTITY_TYPE.getKey(entityType).toString());
             return nbt;
         }
 
         /**
          * Extracting our data from the nbt.
-         * @return The nbt with our data
+         * Older versions saved the description ID of the mob, like "entity.minecraft.spider", under "identifier".
+         * @return The entry, or null if the mob does not exist anymore
          */
         public static HostileEntry serialize(CompoundTag nbt)
         {
-            return new HostileEntry(nbt.getString("identifier"));
+            if (nbt.contains("entityType")) {
+                ResourceLocation entityTypeLocation = ResourceLocation.tryParse(nbt.getString("entityType"));
+                if (entityTypeLocation == null) {
+                    return null;
+                }
+                return BuiltInRegistries.ENTITY_TYPE.getOptional(entityTypeLocation).map(HostileEntry::new).orElse(null);
+            }
+
+            String legacyIdentifier = nbt.getString("identifier");
+            for (EntityType<?> entityType : BuiltInRegistries.ENTITY_TYPE) {
+                if (entityType.toString().equals(legacyIdentifier)) {
+                    return new HostileEntry(entityType);
+                }
+            }
+            return null;
         }
 
     }
@@ -1293,6 +1594,7 @@ public class ModSavedData extends SavedData {
         public void setDeathCount(int deathCountIn)
         {
             deathCount = deathCountIn;
+            markSectionDirtyIfLoaded(SaveSection.DEATH_AREAS);
         }
 
         public int getDeathCount()
@@ -1303,6 +1605,7 @@ public class ModSavedData extends SavedData {
         public void iterateDeathCount()
         {
             deathCount++;
+            markSectionDirtyIfLoaded(SaveSection.DEATH_AREAS);
         }
 
         public BlockPos getPosition()
@@ -1340,6 +1643,59 @@ public class ModSavedData extends SavedData {
             ResourceKey<Level> dimensionResourceKey = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(nbt.getString("dimension")));
             return new DeathAreaEntry(dimensionResourceKey, BlockPos.of(nbt.getLong("position")), nbt.getInt("deathCount"));
         }
+
+        /**
+         * Saves many entries at once, one array per field.
+         * @param entries The entries
+         * @return The nbt with the columns
+         */
+        public static CompoundTag writeColumns(List<DeathAreaEntry> entries)
+        {
+            CompoundTag nbt = NbtColumns.createColumnsTag(ENTRY_COLUMNS_FORMAT_VERSION, entries.size());
+            NbtColumns.DimensionDictionary dimensions = new NbtColumns.DimensionDictionary();
+            int[] dimension = new int[entries.size()];
+            long[] position = new long[entries.size()];
+            int[] deathCount = new int[entries.size()];
+
+            for(int i = 0; i < entries.size(); i++)
+            {
+                DeathAreaEntry entry = entries.get(i);
+                dimension[i] = dimensions.encode(entry.dimension);
+                position[i] = entry.position.asLong();
+                deathCount[i] = entry.deathCount;
+            }
+
+            dimensions.save(nbt);
+            nbt.putIntArray("dimension", dimension);
+            nbt.putLongArray("position", position);
+            nbt.putIntArray("deathCount", deathCount);
+            return nbt;
+        }
+
+        /**
+         * Loads entries saved with {@link #writeColumns(List)}.
+         * @param nbt The nbt with the columns
+         * @return The entries
+         */
+        public static List<DeathAreaEntry> readColumns(CompoundTag nbt)
+        {
+            if(!NbtColumns.canReadFormatVersion(nbt, ENTRY_COLUMNS_FORMAT_VERSION, "death area entries"))
+            {
+                return new ArrayList<>();
+            }
+
+            NbtColumns.DimensionDictionary dimensions = NbtColumns.DimensionDictionary.load(nbt);
+            int[] dimension = NbtColumns.getIntColumn(nbt, "dimension");
+            long[] position = NbtColumns.getLongColumn(nbt, "position");
+            int[] deathCount = NbtColumns.getIntColumn(nbt, "deathCount");
+
+            List<DeathAreaEntry> entries = new ArrayList<>(NbtColumns.getSize(nbt));
+            for(int i = 0; i < NbtColumns.getSize(nbt); i++)
+            {
+                entries.add(new DeathAreaEntry(dimensions.decode(dimension[i]), BlockPos.of(position[i]), deathCount[i]));
+            }
+            return entries;
+        }
     }
 
     public static class AreaOfInterestEntry
@@ -1373,14 +1729,7 @@ public class ModSavedData extends SavedData {
 
         public boolean isInNoRaidZone()
         {
-            for(NoRaidZoneEntry entry : SculkHorde.savedData.getNoRaidZoneEntries())
-            {
-                if(entry.isBlockPosInRadius(entry.getDimension(), getPosition()))
-                {
-                    return true;
-                }
-            }
-            return false;
+            return SculkHorde.savedData.noRaidZoneEntries.findFirstWithinRange(getPosition(), 0, entry -> entry.isBlockPosInRadius(entry.getDimension(), getPosition())).isPresent();
         }
 
         public boolean isEntryValid()
@@ -1412,6 +1761,59 @@ public class ModSavedData extends SavedData {
             ResourceKey<Level> dimensionResourceKey = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(nbt.getString("dimension")));
             return new AreaOfInterestEntry(dimensionResourceKey, BlockPos.of(nbt.getLong("position")), nbt.getLong("ticksSinceLastRaid"));
         }
+
+        /**
+         * Saves many entries at once, one array per field.
+         * @param entries The entries
+         * @return The nbt with the columns
+         */
+        public static CompoundTag writeColumns(List<AreaOfInterestEntry> entries)
+        {
+            CompoundTag nbt = NbtColumns.createColumnsTag(ENTRY_COLUMNS_FORMAT_VERSION, entries.size());
+            NbtColumns.DimensionDictionary dimensions = new NbtColumns.DimensionDictionary();
+            int[] dimension = new int[entries.size()];
+            long[] position = new long[entries.size()];
+            long[] ticksSinceLastRaid = new long[entries.size()];
+
+            for(int i = 0; i < entries.size(); i++)
+            {
+                AreaOfInterestEntry entry = entries.get(i);
+                dimension[i] = dimensions.encode(entry.dimension);
+                position[i] = entry.position.asLong();
+                ticksSinceLastRaid[i] = entry.ticksSinceLastRaid;
+            }
+
+            dimensions.save(nbt);
+            nbt.putIntArray("dimension", dimension);
+            nbt.putLongArray("position", position);
+            nbt.putLongArray("ticksSinceLastRaid", ticksSinceLastRaid);
+            return nbt;
+        }
+
+        /**
+         * Loads entries saved with {@link #writeColumns(List)}.
+         * @param nbt The nbt with the columns
+         * @return The entries
+         */
+        public static List<AreaOfInterestEntry> readColumns(CompoundTag nbt)
+        {
+            if(!NbtColumns.canReadFormatVersion(nbt, ENTRY_COLUMNS_FORMAT_VERSION, "area of interest entries"))
+            {
+                return new ArrayList<>();
+            }
+
+            NbtColumns.DimensionDictionary dimensions = NbtColumns.DimensionDictionary.load(nbt);
+            int[] dimension = NbtColumns.getIntColumn(nbt, "dimension");
+            long[] position = NbtColumns.getLongColumn(nbt, "position");
+            long[] ticksSinceLastRaid = NbtColumns.getLongColumn(nbt, "ticksSinceLastRaid");
+
+            List<AreaOfInterestEntry> entries = new ArrayList<>(NbtColumns.getSize(nbt));
+            for(int i = 0; i < NbtColumns.getSize(nbt); i++)
+            {
+                entries.add(new AreaOfInterestEntry(dimensions.decode(dimension[i]), BlockPos.of(position[i]), ticksSinceLastRaid[i]));
+            }
+            return entries;
+        }
     }
 
     public static class NoRaidZoneEntry
@@ -1474,6 +1876,7 @@ public class ModSavedData extends SavedData {
             if(ticksUntilThisNoRaidZoneExpires > defaultTicksUntilExpiration)
             {
                 durationInTicksUntilExpiration = defaultTicksUntilExpiration;
+                markSectionDirtyIfLoaded(SaveSection.NO_RAID_ZONES);
             }
 
             return (currentTimeStamp - getTimeOfCreation()) > getDurationInTicksUntilExpiration();
@@ -1509,6 +1912,67 @@ public class ModSavedData extends SavedData {
             ResourceKey<Level> dimensionResourceKey = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(nbt.getString("dimension")));
             return new NoRaidZoneEntry(dimensionResourceKey, BlockPos.of(nbt.getLong("position")), nbt.getInt("radius"), nbt.getLong("gameTimeStamp"), nbt.getLong("durationUntilExpiration"));
         }
+
+        /**
+         * Saves many entries at once, one array per field.
+         * @param entries The entries
+         * @return The nbt with the columns
+         */
+        public static CompoundTag writeColumns(List<NoRaidZoneEntry> entries)
+        {
+            CompoundTag nbt = NbtColumns.createColumnsTag(ENTRY_COLUMNS_FORMAT_VERSION, entries.size());
+            NbtColumns.DimensionDictionary dimensions = new NbtColumns.DimensionDictionary();
+            int[] dimension = new int[entries.size()];
+            long[] position = new long[entries.size()];
+            int[] radius = new int[entries.size()];
+            long[] gameTimeStamp = new long[entries.size()];
+            long[] durationUntilExpiration = new long[entries.size()];
+
+            for(int i = 0; i < entries.size(); i++)
+            {
+                NoRaidZoneEntry entry = entries.get(i);
+                dimension[i] = dimensions.encode(entry.dimension);
+                position[i] = entry.position.asLong();
+                radius[i] = entry.radius;
+                gameTimeStamp[i] = entry.timeOfCreation;
+                durationUntilExpiration[i] = entry.durationInTicksUntilExpiration;
+            }
+
+            dimensions.save(nbt);
+            nbt.putIntArray("dimension", dimension);
+            nbt.putLongArray("position", position);
+            nbt.putIntArray("radius", radius);
+            nbt.putLongArray("gameTimeStamp", gameTimeStamp);
+            nbt.putLongArray("durationUntilExpiration", durationUntilExpiration);
+            return nbt;
+        }
+
+        /**
+         * Loads entries saved with {@link #writeColumns(List)}.
+         * @param nbt The nbt with the columns
+         * @return The entries
+         */
+        public static List<NoRaidZoneEntry> readColumns(CompoundTag nbt)
+        {
+            if(!NbtColumns.canReadFormatVersion(nbt, ENTRY_COLUMNS_FORMAT_VERSION, "no raid zone entries"))
+            {
+                return new ArrayList<>();
+            }
+
+            NbtColumns.DimensionDictionary dimensions = NbtColumns.DimensionDictionary.load(nbt);
+            int[] dimension = NbtColumns.getIntColumn(nbt, "dimension");
+            long[] position = NbtColumns.getLongColumn(nbt, "position");
+            int[] radius = NbtColumns.getIntColumn(nbt, "radius");
+            long[] gameTimeStamp = NbtColumns.getLongColumn(nbt, "gameTimeStamp");
+            long[] durationUntilExpiration = NbtColumns.getLongColumn(nbt, "durationUntilExpiration");
+
+            List<NoRaidZoneEntry> entries = new ArrayList<>(NbtColumns.getSize(nbt));
+            for(int i = 0; i < NbtColumns.getSize(nbt); i++)
+            {
+                entries.add(new NoRaidZoneEntry(dimensions.decode(dimension[i]), BlockPos.of(position[i]), radius[i], gameTimeStamp[i], durationUntilExpiration[i]));
+            }
+            return entries;
+        }
     }
 
     // ###### Player Profile Entries ######
@@ -1566,6 +2030,7 @@ public class ModSavedData extends SavedData {
             {
                 relationshipToTheHorde = Math.min(MAX_RELATIONSHIP_VALUE, value);
             }
+            markSectionDirtyIfLoaded(SaveSection.PLAYER_PROFILES);
         }
 
         public void increaseOrDecreaseRelationshipToHorde(int value)
@@ -1576,6 +2041,7 @@ public class ModSavedData extends SavedData {
         public void setVessel(boolean value)
         {
             isVessel = value;
+            markSectionDirtyIfLoaded(SaveSection.PLAYER_PROFILES);
         }
 
         public boolean isVessel()
@@ -1586,6 +2052,7 @@ public class ModSavedData extends SavedData {
         public void setActiveVessel(boolean value)
         {
             isActiveVessel = value;
+            markSectionDirtyIfLoaded(SaveSection.PLAYER_PROFILES);
         }
 
         public boolean isActiveVessel()
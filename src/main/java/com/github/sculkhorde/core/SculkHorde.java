@@ -7,12 +7,20 @@ import com.github.sculkhorde.core.gravemind.entity_factory.EntityFactory;
 import com.github.sculkhorde.core.gravemind.events.EventHandler;
 import com.github.sculkhorde.misc.StatisticsData;
 import com.github.sculkhorde.misc.contributions.ContributionHandler;
+import com.github.sculkhorde.systems.AirExposureCache;
 import com.github.sculkhorde.systems.AutoPerformanceSystem;
 import com.github.sculkhorde.systems.BeeNestActivitySystem;
+import com.github.sculkhorde.systems.CursorParticleBatcher;
+import com.github.sculkhorde.systems.InfectionFrontierTracker;
+import com.github.sculkhorde.systems.InfestationWardIndex;
+import com.github.sculkhorde.systems.InfestationWriteBuffer;
+import com.github.sculkhorde.systems.TargetCandidateCache;
 import com.github.sculkhorde.util.ChunkLoading.BlockEntityChunkLoaderHelper;
+import com.github.sculkhorde.util.ChunkLoading.ChunkTicketManager;
 import com.github.sculkhorde.util.ChunkLoading.EntityChunkLoaderHelper;
 import com.github.sculkhorde.util.CursorQueueChunks;
 import com.github.sculkhorde.util.DeathAreaInvestigator;
+import com.github.sculkhorde.util.SquadRegistry;
 import com.mojang.logging.LogUtils;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.common.Mod;
@@ -46,8 +54,16 @@ public class SculkHorde {
     public static StatisticsData statisticsData;
     public static BlockEntityChunkLoaderHelper blockEntityChunkLoaderHelper;
     public static EntityChunkLoaderHelper entityChunkLoaderHelper = new EntityChunkLoaderHelper();
+    public static ChunkTicketManager chunkTicketManager = new ChunkTicketManager();
+    public static InfectionFrontierTracker infectionFrontierTracker = new InfectionFrontierTracker();
+    public static SquadRegistry squadRegistry = new SquadRegistry();
+    public static InfestationWardIndex infestationWardIndex = new InfestationWardIndex();
+    public static AirExposureCache airExposureCache = new AirExposureCache();
     public static final ContributionHandler contributionHandler = new ContributionHandler();
     public static final SculkPopulationHandler populationHandler = new SculkPopulationHandler();
+    public static final InfestationWriteBuffer infestationWriteBuffer = new InfestationWriteBuffer();
+    public static final TargetCandidateCache targetCandidateCache = new TargetCandidateCache();
+    public static final CursorParticleBatcher cursorParticleBatcher = new CursorParticleBatcher();
     public static BeeNestActivitySystem beeNestActivitySystem;
 
     //public static CursorQueueChunks chunkInfectionQueue = new CursorQueueChunks(ModEntities.CURSOR_TOP_DOWN_INFECTOR.get());
@@ -88,7 +104,7 @@ public class SculkHorde {
 
     public static void setDebugMode(boolean debugMode) {
         DEBUG_MODE = debugMode;
-        savedData.setDirty();
+        savedData.markSectionDirty(ModSavedData.SaveSection.GENERAL);
     }
 
 }
\ No newline at end of file
@@ -1,21 +1,57 @@
 package com.github.sculkhorde.core.gravemind;
 
 import com.github.sculkhorde.common.entity.infection.CursorEntity;
+import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
-
+import com.github.sculkhorde.systems.BlockInfestationCache;
+import com.github.sculkhorde.util.CursorSearchSnapshot;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CursorHandler {
 
-    SortedCursorList cursors = new SortedCursorList();
+    IndexedCursorList cursors = new IndexedCursorList();
     private int index = 0;
 
     private int tickDelay = 3;
 
     private boolean manualControlOfTickingEnabled = false;
 
+    // Time budget for manually ticking cursors. Unused time is carried over to the next tick, and so is time we went over.
+    private long budgetBalanceNanos = 0;
+    // How many ticks worth of budget we can save up, or owe
+    private static final int MAX_BANKED_TICKS = 4;
+    // The most rounds an expensive cursor has to sit out
+    private static final int MAX_THROTTLED_ROUNDS = 8;
+
+    // Searching on other threads is not worth it for a single cursor
+    private static final int MIN_CURSORS_FOR_PARALLEL_SEARCH = 2;
+    private ForkJoinPool searchPool = null;
+    private int searchPoolThreads = 0;
+
+    // All the time spent ticking and searching for cursors, so benchmarks can tell how much of a tick is ours
+    private long totalCursorWorkNanos = 0;
+    // What the searches allocate on the search threads. Only measured while benchmarks ask for it, since it costs a little.
+    private boolean isTrackingSearchAllocations = false;
+    private final AtomicLong searchAllocatedBytes = new AtomicLong(0);
+
     public void setManualControlOfTickingEnabled(boolean value) { manualControlOfTickingEnabled = value; }
     public boolean isManualControlOfTickingEnabled() { return manualControlOfTickingEnabled; }
 
@@ -30,43 +66,305 @@ public class CursorHandler {
      */
     public void computeIfAbsent(CursorEntity entity)
     {
-        if(cursors.getIndexOfCursor(entity).isEmpty())
+        if(!cursors.containsCursor(entity))
         {
             addCursor(entity);
         }
     }
 
+    /**
+     * Gets called when a cursor is removed from the world.
+     * @param entity The cursor
+     */
+    public void removeCursor(CursorEntity entity)
+    {
+        cursors.removeCursor(entity);
+    }
+
     public int getSizeOfCursorList()
     {
-        return cursors.list.size();
+        return cursors.size();
+    }
+
+
+    public long getBudgetPerTickNanos()
+    {
+        return ModConfig.SERVER.cursor_tick_budget_microseconds.get() * 1000L;
+    }
+
+    public boolean isTimeBudgetEnabled()
+    {
+        return getBudgetPerTickNanos() > 0;
+    }
+
+    public long getBudgetBalanceNanos()
+    {
+        return budgetBalanceNanos;
+    }
+
+    public long getTotalCursorWorkNanos()
+    {
+        return totalCursorWorkNanos;
+    }
+
+    public void addCursorWorkNanos(long nanos)
+    {
+        totalCursorWorkNanos += nanos;
+    }
+
+    public void setTrackingSearchAllocations(boolean value)
+    {
+        isTrackingSearchAllocations = value;
+    }
+
+    /**
+     * @return The bytes allocated by searches on the search threads, while tracking was on
+     */
+    public long getSearchAllocatedBytes()
+    {
+        return searchAllocatedBytes.get();
+    }
+
+    @Nullable
+    private com.sun.management.ThreadMXBean getSearchAllocationBean()
+    {
+        if(!isTrackingSearchAllocations)
+        {
+            return null;
+        }
+
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+        {
+            return bean;
+        }
+        return null;
+    }
+
+    private void addTickBudget()
+    {
+        long budgetPerTick = getBudgetPerTickNanos();
+        budgetBalanceNanos = Math.min(budgetBalanceNanos + budgetPerTick, budgetPerTick * MAX_BANKED_TICKS);
+    }
+
+    private int getSearchThreads()
+    {
+        return Math.min(ModConfig.SERVER.cursor_search_threads.get(), Runtime.getRuntime().availableProcessors() - 1);
     }
 
+    /**
+     * Gets the threads cursors search on, or makes them if the config changed.
+     * @return The pool, or null if searching on other threads is disabled
+     */
+    @Nullable
+    private ForkJoinPool getSearchPool()
+    {
+        int threads = getSearchThreads();
+        if(threads == searchPoolThreads && searchPool != null)
+        {
+            return searchPool;
+        }
+
+        if(searchPool != null)
+        {
+            searchPool.shutdown();
+            searchPool = null;
+        }
+
+        searchPoolThreads = threads;
+        if(threads <= 0)
+        {
+            return null;
+        }
+
+        searchPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sculk Horde Cursor Search #" + thread.getPoolIndex());
+            thread.setContextClassLoader(CursorHandler.class.getClassLoader());
+            return thread;
+        }, null, false);
+        return searchPool;
+    }
 
     /**
-     * Go through the list of cursors and tick them
+     * Runs the search steps of the cursors that are about to be ticked on other threads, all at once.
+     * The server thread waits until they are done, so the level does not change while they read it.
+     * When the cursors are ticked afterward, they use these results instead of searching again,
+     * and only change blocks then, on the server thread. <br>
+     * Two cursors can find the same block at the same time. Only the first one keeps it as its target.
+     * @param listOfCursors The list of cursors
+     * @param maxCursorTicks How many cursors will be ticked this round
+     */
+    private void runParallelSearchPhase(ArrayList<CursorEntity> listOfCursors, int maxCursorTicks)
+    {
+        if(listOfCursors.size() < MIN_CURSORS_FOR_PARALLEL_SEARCH)
+        {
+            return;
+        }
+
+        ForkJoinPool pool = getSearchPool();
+        if(pool == null)
+        {
+            return;
+        }
+
+        com.sun.management.ThreadMXBean allocationBean = getSearchAllocationBean();
+
+        // Collect the chunks each cursor will read, on the server thread
+        Map<ResourceKey<Level>, CursorSearchSnapshot> snapshots = new HashMap<>();
+        ArrayList<CursorEntity> searchingCursors = new ArrayList<>();
+        ArrayList<Callable<Void>> searches = new ArrayList<>();
+        int cursorsToCheck = Math.min(maxCursorTicks, listOfCursors.size());
+        for(int i = 0; i < cursorsToCheck; i++)
+        {
+            CursorEntity cursor = listOfCursors.get((index + i) % listOfCursors.size());
+            if(cursors.shouldCursorBeDeleted(cursor) || cursor.getThrottledRoundsRemaining() > 0 || !cursor.isReadyForParallelSearch())
+            {
+                continue;
+            }
+
+            ServerLevel level = (ServerLevel) cursor.level();
+            CursorSearchSnapshot snapshot = snapshots.computeIfAbsent(level.dimension(), key -> new CursorSearchSnapshot(level));
+            cursor.captureSearchArea(snapshot);
+            searchingCursors.add(cursor);
+            searches.add(() -> {
+                long allocatedBytesBefore = allocationBean == null ? 0 : allocationBean.getCurrentThreadAllocatedBytes();
+                cursor.parallelSearchTick(snapshot);
+                if(allocationBean != null)
+                {
+                    searchAllocatedBytes.addAndGet(allocationBean.getCurrentThreadAllocatedBytes() - allocatedBytesBefore);
+                }
+                return null;
+            });
+        }
+
+        if(searches.size() < MIN_CURSORS_FOR_PARALLEL_SEARCH)
+        {
+            return;
+        }
+
+        // The searches read the infestation tables and their cache, so get anything lazy out of the way first
+        BlockInfestationCache.prepareForParallelReads();
+
+        for(Future<Void> search : pool.invokeAll(searches))
+        {
+            try
+            {
+                search.get();
+            }
+            catch (ExecutionException e)
+            {
+                SculkHorde.LOGGER.error("CursorHandler | A cursor search failed", e.getCause());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        LongOpenHashSet claimedTargets = new LongOpenHashSet();
+        for(CursorEntity cursor : searchingCursors)
+        {
+            cursor.claimParallelSearchTarget(claimedTargets);
+        }
+    }
+
+    /**
+     * Go through the list of cursors and tick them, round-robin.
+     * We stop when either the time budget is spent or we ticked as many cursors as the
+     * auto performance system allows. Cursors that take more than their fair share of the
+     * budget have to sit out a few rounds, so a single cursor stuck in a huge cave cannot
+     * eat up the whole tick.
      */
     public void tickCursors()
     {
         ArrayList<CursorEntity> listOfCursors = cursors.getList();
+        boolean isTimeBudgetEnabled = isTimeBudgetEnabled();
+        int maxCursorTicks = SculkHorde.autoPerformanceSystem.getCursorsToTickPerTick();
+        // Throttled cursors do not use up a tick, but we should not go around the list forever either
+        int maxVisits = maxCursorTicks + listOfCursors.size();
+        // How long a cursor tick can take before the cursor gets throttled
+        long fairShareNanos = Math.max(1, getBudgetPerTickNanos() / Math.max(1, Math.min(maxCursorTicks, listOfCursors.size())));
+        int cursorTicks = 0;
+
+        if(!isTimeBudgetEnabled || budgetBalanceNanos > 0)
+        {
+            // The server thread waits for the searches, so that time counts against the budget
+            long searchStartTime = System.nanoTime();
+            runParallelSearchPhase(listOfCursors, maxCursorTicks);
+            long searchCost = System.nanoTime() - searchStartTime;
+            addCursorWorkNanos(searchCost);
+            if(isTimeBudgetEnabled)
+            {
+                budgetBalanceNanos -= searchCost;
+            }
+        }
 
-        for(int i = 0; i < SculkHorde.autoPerformanceSystem.getCursorsToTickPerTick(); i++)
+        for(int visits = 0; visits < maxVisits && cursorTicks < maxCursorTicks; visits++)
         {
+            if(isTimeBudgetEnabled && budgetBalanceNanos <= 0)
+            {
+                break;
+            }
+
             if(index >= listOfCursors.size())
             {
                 index = 0;
+                if(listOfCursors.isEmpty())
+                {
+                    break;
+                }
                 continue;
             }
 
             CursorEntity cursorAtIndex = listOfCursors.get(index);
 
+            if(cursors.shouldCursorBeDeleted(cursorAtIndex))
+            {
+                // Another cursor gets moved into this slot, so do not advance
+                cursors.removeCursorAt(index);
+                continue;
+            }
+
             cursorAtIndex.chanceToThanosSnapThisCursor();
 
-            if(cursorAtIndex.canBeManuallyTicked())
+            // If it got snapped, it already took itself out of the list
+            if(cursorAtIndex.isRemoved())
             {
-                cursorAtIndex.cursorTick();
+                continue;
+            }
+
+            // Expensive cursors sit out a few rounds
+            if(isTimeBudgetEnabled && cursorAtIndex.getThrottledRoundsRemaining() > 0)
+            {
+                cursorAtIndex.setThrottledRoundsRemaining(cursorAtIndex.getThrottledRoundsRemaining() - 1);
                 index++;
+                continue;
+            }
+
+            if(cursorAtIndex.canBeManuallyTicked())
+            {
+                long cost = cursorAtIndex.timedCursorTick();
+                cursorTicks++;
+
+                if(isTimeBudgetEnabled)
+                {
+                    budgetBalanceNanos -= cost;
+                    long roundsToSitOut = cursorAtIndex.getAverageCursorTickNanos() / fairShareNanos - 1;
+                    cursorAtIndex.setThrottledRoundsRemaining((int) Math.max(0, Math.min(MAX_THROTTLED_ROUNDS, roundsToSitOut)));
+                }
+
+                // If it finished during its tick, it already took itself out of the list and another cursor took its slot
+                if(cursorAtIndex.isRemoved())
+                {
+                    continue;
+                }
             }
+            index++;
         }
+
+        // A single huge spike should not stop cursors from ticking for a long time
+        budgetBalanceNanos = Math.max(budgetBalanceNanos, -getBudgetPerTickNanos() * MAX_BANKED_TICKS);
     }
 
     public boolean isPerformanceModeThresholdReached()
@@ -86,6 +384,8 @@ public class CursorHandler {
      */
     public void serverTick()
     {
+        addTickBudget();
+
         //Only Execute if the cooldown. Get the value from the config file.
         if(tickDelay < SculkHorde.autoPerformanceSystem.getDelayBetweenCursorTicks())
         {
@@ -94,7 +394,8 @@ public class CursorHandler {
         }
 
         tickDelay = 0;
-        cursors.clean(); // Clean the list before we start ticking cursors
+        // No need to clean the list here. Cursors take themselves out when they are removed from the world,
+        // and tickCursors() drops any dead cursor it comes across.
 
         if(isPerformanceModeThresholdReached())
         {
@@ -106,20 +407,28 @@ public class CursorHandler {
         setManualControlOfTickingEnabled(false);
     }
 
-    public class SortedCursorList
+    /**
+     * Keeps cursors in a compact array for round-robin ticking, with a hash index from UUID to slot.
+     * Adding, looking up and removing a cursor are all O(1). Removing swaps the last cursor into
+     * the empty slot, and is arranged so that the round-robin position never skips or repeats a cursor.
+     */
+    public class IndexedCursorList
     {
-        private ArrayList<CursorEntity> list;
+        private final ArrayList<CursorEntity> list;
+        private final Object2IntOpenHashMap<UUID> slotByUUID;
 
         /**
          * Default Constructor
          */
-        public SortedCursorList()
+        public IndexedCursorList()
         {
             list = new ArrayList<>();
+            slotByUUID = new Object2IntOpenHashMap<>();
+            slotByUUID.defaultReturnValue(-1);
         }
 
         /**
-         * Just get the list of cursors
+         * Just get the list of cursors. Do not modify it directly.
          * @return The Array List of cursors
          */
         public ArrayList<CursorEntity> getList()
@@ -127,6 +436,11 @@ public class CursorHandler {
             return list;
         }
 
+        public int size()
+        {
+            return list.size();
+        }
+
         /**
          * Determines if a cursor entity should be deleted from the list.
          * @param entity The Cursor entity
@@ -140,74 +454,108 @@ public class CursorHandler {
         /**
          * Go through the list, look for cursors that should be deleted,
          * then get rid of them from the list.
-         * Note: Doing it this way is sort of cheesy. Removing in the middle
-         * of a for loop is not advised.
+         * Removed cursors normally take themselves out of the list, so this is only a safety net.
          */
         public void clean()
         {
-            for(int i = 0; i < list.size(); i++)
+            for(int i = list.size() - 1; i >= 0; i--)
             {
                 if(shouldCursorBeDeleted(list.get(i)))
                 {
-                    list.remove(i);
-                    i--;
+                    removeCursorAt(i);
                 }
             }
         }
 
         /**
-         * Insert a cursor into the list based on the value of it's UUID.
-         * This list is sorted, so we need to insert it into the correct place.
+         * Adds a cursor to the end of the list, unless it is already in it.
          * @param entity The Cursor to Insert.
          */
         public void insertCursor(CursorEntity entity)
         {
-            int positionToInsert = 0;
-
-            for(int index = 0; index < list.size(); index++)
+            if(slotByUUID.containsKey(entity.getUUID()))
             {
-                CursorEntity cursorAtIndex = list.get(index);
-                positionToInsert = index;
-
-                if(entity.getUUID().compareTo(cursorAtIndex.getUUID()) >= 0)
-                {
-                    break;
-                }
+                return;
             }
-            list.add(positionToInsert, entity);
+
+            slotByUUID.put(entity.getUUID(), list.size());
+            list.add(entity);
         }
 
+        /**
+         * Removes a cursor from the list, if it is in it.
+         * @param entity The Cursor to remove.
+         */
+        public void removeCursor(CursorEntity entity)
+        {
+            int slot = slotByUUID.getInt(entity.getUUID());
+            if(slot >= 0 && list.get(slot) == entity)
+            {
+                removeCursorAt(slot);
+            }
+        }
 
         /**
-         * Use Binary Search Algorithm to find the Cursor Entity we are looking for.
-         * @param entity The Cursor Entity
-         * @return The potential position of the cursor in the list.
+         * Removes the cursor in a slot by moving another cursor into it.
+         * If the slot is behind the round-robin position, the last cursor we already ticked
+         * fills the slot instead, and the last cursor in the list takes its place right at the
+         * round-robin position. That way nothing gets ticked twice or skipped this round.
+         * @param slot The slot to remove
          */
-        public Optional<Integer> getIndexOfCursor(CursorEntity entity) {
-            // We use the UUID to compare Cursor Entities
-            UUID uuid = entity.getUUID();
+        private void removeCursorAt(int slot)
+        {
+            int lastSlot = list.size() - 1;
+            CursorEntity removed = list.get(slot);
+            if(removed != null)
+            {
+                slotByUUID.removeInt(removed.getUUID());
+            }
 
-            int leftIndex = 0;
-            int rightIndex = list.size() - 1;
+            if(slot < index)
+            {
+                index--;
+                moveCursor(index, slot);
+                moveCursor(lastSlot, index);
+            }
+            else
+            {
+                moveCursor(lastSlot, slot);
+            }
 
-            while (leftIndex <= rightIndex) {
-                int midIndex = leftIndex + (rightIndex - leftIndex) / 2;
-                int compareValue = list.get(midIndex).getUUID().compareTo(uuid);
+            list.remove(lastSlot);
+        }
 
-                // Check if UUID is present at mid
-                if (compareValue == 0)
-                    return Optional.of(midIndex);
+        private void moveCursor(int fromSlot, int toSlot)
+        {
+            if(fromSlot == toSlot)
+            {
+                return;
+            }
 
-                // If UUID greater, ignore left half
-                if (compareValue > 0)
-                    leftIndex = midIndex + 1;
+            CursorEntity cursor = list.get(fromSlot);
+            list.set(toSlot, cursor);
+            if(cursor != null)
+            {
+                slotByUUID.put(cursor.getUUID(), toSlot);
+            }
+        }
 
-                    // If UUID is smaller, ignore right half
-                else
-                    rightIndex = midIndex - 1;
+        /**
+         * @param entity The Cursor Entity
+         * @return The position of the cursor in the list.
+         */
+        public Optional<Integer> getIndexOfCursor(CursorEntity entity) {
+            int slot = slotByUUID.getInt(entity.getUUID());
+            if(slot < 0)
+            {
+                return Optional.empty();
             }
+            return Optional.of(slot);
+        }
 
-            return Optional.empty();
+        public boolean containsCursor(CursorEntity entity)
+        {
+            return slotByUUID.containsKey(entity.getUUID());
         }
     }
 }
@@ -95,7 +95,7 @@ public class RaidData {
 
     public void setDimension(ResourceKey<Level> dimension) {
         this.dimension = dimension;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void getFoundTargetsFromBlockSearcher(ArrayList<BlockPos> foundTargets)
@@ -166,7 +166,7 @@ public class RaidData {
         setScoutEnderman(null);
         setTimeElapsedScouting(0);
         setCurrentRaidRadius(MINIMUM_RAID_RADIUS);
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
         dimension = null;
         if(bossEvent != null ) {bossEvent.removeAllPlayers();}
         bossEvent = null;
@@ -199,7 +199,10 @@ public class RaidData {
 
     public void removeNoRaidZoneAtBlockPos(ServerLevel level, BlockPos pos)
     {
-        SculkHorde.savedData.getNoRaidZoneEntries().removeIf(entry -> entry.isBlockPosInRadius(level, pos));
+        if(SculkHorde.savedData.getNoRaidZoneEntries().removeIf(entry -> entry.isBlockPosInRadius(level, pos)))
+        {
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.NO_RAID_ZONES);
+        }
     }
 
     public int getTicksSpentTryingToChunkLoad()
@@ -210,13 +213,13 @@ public class RaidData {
     public void incrementTicksSpentTryingToChunkLoad()
     {
         ticksSpentTryingToChunkLoad++;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void resetTicksSpentTryingToChunkLoad()
     {
         ticksSpentTryingToChunkLoad = 0;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getMAX_WAVE_DURATION() {
@@ -225,7 +228,7 @@ public class RaidData {
 
     public void setMAX_WAVE_DURATION(int MAX_WAVE_DURATION) {
         this.MAX_WAVE_DURATION = MAX_WAVE_DURATION;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getWaveDuration() {
@@ -234,12 +237,12 @@ public class RaidData {
 
     public void setWaveDuration(int waveDuration) {
         this.waveDuration = waveDuration;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void incrementWaveDuration() {
         waveDuration++;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getTimeElapsedScouting() {
@@ -248,12 +251,12 @@ public class RaidData {
 
     public void incrementTimeElapsedScouting() {
         timeElapsedScouting++;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void setTimeElapsedScouting(int timeElapsedScouting) {
         this.timeElapsedScouting = timeElapsedScouting;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public BlockPos getSpawnLocation() {
@@ -262,7 +265,7 @@ public class RaidData {
 
     public void setSpawnLocation(BlockPos spawnLocation) {
         this.spawnLocation = spawnLocation;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public BlockPos getRaidLocation() {
@@ -271,7 +274,7 @@ public class RaidData {
 
     public void setRaidLocation(BlockPos raidLocation) {
         this.raidLocation = raidLocation;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public Vec3 getObjectiveLocationVec3()
@@ -285,7 +288,7 @@ public class RaidData {
 
     public void setObjectiveLocation(BlockPos objectiveLocation) {
         this.objectiveLocation = objectiveLocation;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     /**
@@ -350,7 +353,7 @@ public class RaidData {
 
     public void setObjectiveLocationAtStartOfWave(BlockPos objectiveLocationAtStartOfWave) {
         this.objectiveLocationAtStartOfWave = objectiveLocationAtStartOfWave;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public BlockPos getRaidCenter() {
@@ -359,7 +362,7 @@ public class RaidData {
 
     public void setRaidCenter(BlockPos raidCenter) {
         this.raidCenter = raidCenter;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getMINIMUM_RAID_RADIUS() {
@@ -372,7 +375,7 @@ public class RaidData {
 
     public void setCurrentRaidRadius(int currentRaidRadius) {
         this.currentRaidRadius = currentRaidRadius;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getMAXIMUM_RAID_RADIUS() {
@@ -385,7 +388,7 @@ public class RaidData {
 
     public void setWaveParticipants(ArrayList<ISculkSmartEntity> waveParticipants) {
         this.waveParticipants = waveParticipants;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     /**
@@ -402,7 +405,7 @@ public class RaidData {
 
     public void setRaidState(RaidHandler.RaidState raidState) {
         this.raidState = raidState;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
         SculkHorde.LOGGER.debug("RaidHandler | Raid State is now: " + raidState.name() + ".");
     }
 
@@ -413,7 +416,7 @@ public class RaidData {
     public void setFailure(RaidHandler.failureType failure) {
         setRaidState(RaidHandler.RaidState.FAILED);
         this.failure = failure;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public SculkEndermanEntity getScoutEnderman() {
@@ -422,7 +425,7 @@ public class RaidData {
 
     public void setScoutEnderman(SculkEndermanEntity scoutEnderman) {
         this.scoutEnderman = scoutEnderman;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public ServerBossEvent getBossEvent() {
@@ -431,7 +434,7 @@ public class RaidData {
 
     public void setBossEvent(ServerBossEvent bossEvent) {
         this.bossEvent = bossEvent;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public EntityFactoryEntry.StrategicValues[] getCurrentWavePattern() {
@@ -440,7 +443,7 @@ public class RaidData {
 
     public void setCurrentWavePattern(EntityFactoryEntry.StrategicValues[] currentWavePattern) {
         this.currentWavePattern = currentWavePattern;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getMaxWaves() {
@@ -449,7 +452,7 @@ public class RaidData {
 
     public void setMaxWaves(int maxWaves) {
         this.maxWaves = maxWaves;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public int getCurrentWave() {
@@ -458,13 +461,13 @@ public class RaidData {
 
     public void setCurrentWave(int currentWave) {
         this.currentWave = currentWave;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void incrementCurrentWave()
     {
         currentWave++;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     /**
@@ -501,12 +504,12 @@ public class RaidData {
                 setRemainingWaveParticipants(getRemainingWaveParticipants() + 1);
             }
         }
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public void setRemainingWaveParticipants(int remainingWaveParticipants) {
         this.remainingWaveParticipants = remainingWaveParticipants;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     /**
@@ -528,7 +531,7 @@ public class RaidData {
             }
         }
         waveParticipants.clear();
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public ModSavedData.AreaOfInterestEntry getAreaOfInterestEntry() {
@@ -537,7 +540,7 @@ public class RaidData {
 
     public void setAreaOfInterestEntry(ModSavedData.AreaOfInterestEntry areaOfInterestEntry) {
         this.areaOfInterestEntry = areaOfInterestEntry;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     public Optional<BlockSearcher> getBlockSearcher() {
@@ -546,7 +549,7 @@ public class RaidData {
 
     public void setBlockSearcher(BlockSearcher blockSearcher) {
         this.blockSearcher = blockSearcher;
-        SculkHorde.savedData.setDirty();
+        SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.RAID_DATA);
     }
 
     /**
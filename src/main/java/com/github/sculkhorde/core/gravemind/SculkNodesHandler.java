@@ -53,6 +53,7 @@ public class SculkNodesHandler {
                 ModSavedData.NodeEntry nodeToRemove = node;
                 SculkHorde.LOGGER.warn("Removing Node at: " + nodeToRemove.getPosition().toString() + " due to it being in a null dimension.");
                 getNodes().remove(nodeToRemove);
+                getSavedData().markSectionDirty(ModSavedData.SaveSection.NODES);
                 continue;
 
             }
@@ -87,6 +88,7 @@ public class SculkNodesHandler {
                 ModSavedData.NodeEntry nodeToRemove = node;
                 SculkHorde.LOGGER.warn("Removing Node at: " + nodeToRemove.getPosition().toString() + " due to it being in a null dimension.");
                 getNodes().remove(nodeToRemove);
+                getSavedData().markSectionDirty(ModSavedData.SaveSection.NODES);
                 continue;
 
             }
@@ -138,6 +140,7 @@ public class SculkNodesHandler {
                 ModSavedData.NodeEntry nodeToRemove = node;
                 SculkHorde.LOGGER.warn("Removing Node at: " + nodeToRemove.getPosition().toString() + " due to it being in a null dimension.");
                 getNodes().remove(nodeToRemove);
+                getSavedData().markSectionDirty(ModSavedData.SaveSection.NODES);
                 continue;
 
             }
@@ -6,19 +6,48 @@ import com.github.sculkhorde.common.entity.SculkPhantomCorpseEntity;
 import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.EntityAlgorithms;
 import com.github.sculkhorde.util.TickUnits;
+import com.github.sculkhorde.util.TimingWheel;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Keeps track of every loaded Sculk unit. <br>
+ * Units are registered when they join a level and unregistered when they leave it
+ * (death, discard, chunk unload or changing dimension). See {@link com.github.sculkhorde.util.ForgeEventSubscriber}.
+ * This way we never have to sweep through every entity on the server to count them. <br>
+ * Each unit is also put into a {@link TimingWheel} at the tick it would have been idle for long enough to be despawned.
+ * Picking a new target counts as activity and pushes that tick back. Units that expire from the wheel wait in
+ * {@link #idleUnits} until the population is at max, so despawning only looks at units that are already idle.
+ */
 public class SculkPopulationHandler {
 
-    Collection<ISculkSmartEntity> population = new ArrayList<>();
+    private final Map<UUID, ISculkSmartEntity> population = new HashMap<>();
+    private final Map<UUID, ResourceKey<Level>> dimensionOfUnit = new HashMap<>();
+    private final Reference2IntOpenHashMap<ResourceKey<Level>> populationPerDimension = new Reference2IntOpenHashMap<>();
+    private final Reference2IntOpenHashMap<EntityType<?>> populationPerType = new Reference2IntOpenHashMap<>();
 
-    private long lastTimeOfPopulationRecount = 0;
-    private int populationRecountInterval = TickUnits.convertSecondsToTicks(30);
+    private static final int IDLE_THRESHOLD_TICKS = TickUnits.convertSecondsToTicks(30);
+    private static final int IDLE_WHEEL_SLOTS = 64;
+    private static final int TICKS_PER_IDLE_SLOT = TickUnits.convertSecondsToTicks(1);
+    private final TimingWheel<ISculkSmartEntity> idleWheel = new TimingWheel<>(IDLE_WHEEL_SLOTS, TICKS_PER_IDLE_SLOT);
+    private final Reference2LongOpenHashMap<ISculkSmartEntity> lastActivityTick = new Reference2LongOpenHashMap<>();
+    // Oldest idle unit first
+    private final ReferenceLinkedOpenHashSet<ISculkSmartEntity> idleUnits = new ReferenceLinkedOpenHashSet<>();
+
+    private long lastTimeOfPopulationCheck = 0;
+    private int populationCheckInterval = TickUnits.convertSecondsToTicks(30);
 
     public SculkPopulationHandler()
     {
@@ -30,12 +59,17 @@ public class SculkPopulationHandler {
     {
         long currentTime = ServerLifecycleHooks.getCurrentServer().overworld().getGameTime();
 
+        idleWheel.advance(currentTime, entity -> onIdleTimerExpired(entity, currentTime));
+
         // I saw a weird bug where the lastTimeOfPopulationRecount was bigger than currentTime. No Idea why.
         // Therefore I will use math.abs
-        if(Math.abs(currentTime - lastTimeOfPopulationRecount) >= populationRecountInterval)
+        if(Math.abs(currentTime - lastTimeOfPopulationCheck) >= populationCheckInterval)
         {
-            lastTimeOfPopulationRecount = currentTime;
-            updatePopulationCollection();
+            lastTimeOfPopulationCheck = currentTime;
+
+            if(SculkHorde.isDebugMode() && isPopulationAtMax()) { SculkHorde.LOGGER.info("Sculk Horde has reached maximum population. Killing Idle Mobs"); }
+
+            if(isPopulationAtMax()) { despawnIdleMobs(); }
         }
     }
 
@@ -44,6 +78,16 @@ public class SculkPopulationHandler {
         return population.size();
     }
 
+    public int getPopulationSize(ResourceKey<Level> dimension)
+    {
+        return populationPerDimension.getInt(dimension);
+    }
+
+    public int getPopulationSize(EntityType<?> type)
+    {
+        return populationPerType.getInt(type);
+    }
+
     public int getMaxPopulation()
     {
         return SculkHorde.autoPerformanceSystem.getMaxSculkUnitPopulation();
@@ -54,51 +98,208 @@ public class SculkPopulationHandler {
         return population.size() >= getMaxPopulation();
     }
 
-    public void updatePopulationCollection()
+    /**
+     * Checks if an entity counts towards the population.
+     * @param entity The entity
+     * @return True if it is a Sculk unit we should keep track of
+     */
+    public static boolean isCountedAsPopulation(Entity entity)
     {
-        population.clear();
+        if(!(entity instanceof LivingEntity livingEntity) || !(entity instanceof ISculkSmartEntity))
+        {
+            return false;
+        }
 
-        ServerLifecycleHooks.getCurrentServer().getAllLevels().forEach( level -> {
-            Iterable<Entity> listOfEntities = level.getEntities().getAll();
+        if(entity instanceof SculkBeeHarvesterEntity || entity instanceof SculkPhantomCorpseEntity)
+        {
+            return false;
+        }
 
-            for(Entity entity : listOfEntities)
-            {
-                if(! (entity instanceof LivingEntity))
-                {
-                    continue;
-                }
-
-                if(!EntityAlgorithms.isSculkLivingEntity.test((LivingEntity) entity))
-                {
-                    continue;
-                }
-
-                if(entity instanceof SculkBeeHarvesterEntity || entity instanceof SculkPhantomCorpseEntity)
-                {
-                    continue;
-                }
-
-                population.add((ISculkSmartEntity) entity);
-            }
-        });
+        return EntityAlgorithms.isSculkLivingEntity.test(livingEntity);
+    }
+
+    /**
+     * Gets called when an entity joins a level.
+     * @param entity The entity
+     */
+    public void onEntityJoinLevel(Entity entity)
+    {
+        if(entity.level().isClientSide() || !isCountedAsPopulation(entity))
+        {
+            return;
+        }
 
+        UUID uuid = entity.getUUID();
+        // Should not happen, but do not count the same unit twice
+        if(population.containsKey(uuid))
+        {
+            removeFromPopulation(uuid, population.get(uuid));
+        }
+
+        ResourceKey<Level> dimension = entity.level().dimension();
+        population.put(uuid, (ISculkSmartEntity) entity);
+        dimensionOfUnit.put(uuid, dimension);
+        populationPerDimension.addTo(dimension, 1);
+        populationPerType.addTo(entity.getType(), 1);
+
+        ISculkSmartEntity unit = (ISculkSmartEntity) entity;
+        long currentTime = getCurrentGameTime();
+        lastActivityTick.put(unit, currentTime);
+        idleWheel.schedule(unit, currentTime + IDLE_THRESHOLD_TICKS);
+    }
+
+    /**
+     * Gets called when a unit picks a new target. Counts as activity, so the unit is not despawned for being idle.
+     * @param entity The entity
+     * @param newTarget The new target, or null if it lost its target
+     */
+    public void onUnitChangedTarget(ISculkSmartEntity entity, LivingEntity newTarget)
+    {
+        if(newTarget == null || !lastActivityTick.containsKey(entity))
+        {
+            return;
+        }
+
+        long currentTime = getCurrentGameTime();
+        lastActivityTick.put(entity, currentTime);
+
+        // It was waiting to be despawned, so it needs a new spot in the wheel
+        if(idleUnits.remove(entity))
+        {
+            idleWheel.schedule(entity, currentTime + IDLE_THRESHOLD_TICKS);
+        }
+    }
 
-        if(SculkHorde.isDebugMode() && isPopulationAtMax()) { SculkHorde.LOGGER.info("Sculk Horde has reached maximum population. Killing Idle Mobs"); }
+    private boolean isRegistered(ISculkSmartEntity entity)
+    {
+        return population.get(((Entity) entity).getUUID()) == entity;
+    }
 
-        if(isPopulationAtMax()) { despawnIdleMobs(); }
+    private static boolean isActive(ISculkSmartEntity entity)
+    {
+        // We don't want raid entities being killed if raid is active.
+        return !entity.isIdle() || entity.isParticipatingInRaid();
     }
 
+    private void onIdleTimerExpired(ISculkSmartEntity entity, long currentTime)
+    {
+        // Units that left the level are not removed from the wheel, we just drop them here
+        if(!isRegistered(entity))
+        {
+            return;
+        }
+
+        if(isActive(entity))
+        {
+            lastActivityTick.put(entity, currentTime);
+        }
+
+        // Was active since it was scheduled, try again once it has been idle for long enough
+        long idleDeadline = lastActivityTick.getLong(entity) + IDLE_THRESHOLD_TICKS;
+        if(idleDeadline > currentTime)
+        {
+            idleWheel.schedule(entity, idleDeadline);
+            return;
+        }
+
+        idleUnits.add(entity);
+    }
+
+    private static long getCurrentGameTime()
+    {
+        return ServerLifecycleHooks.getCurrentServer().overworld().getGameTime();
+    }
+
+    /**
+     * Gets called when an entity leaves a level.
+     * @param entity The entity
+     */
+    public void onEntityLeaveLevel(Entity entity)
+    {
+        if(entity.level().isClientSide())
+        {
+            return;
+        }
+
+        UUID uuid = entity.getUUID();
+        ISculkSmartEntity registeredEntity = population.get(uuid);
+
+        // When changing dimensions, a copy with the same UUID joins the new level. Only remove the entity that is leaving.
+        if(registeredEntity != entity)
+        {
+            return;
+        }
+
+        removeFromPopulation(uuid, registeredEntity);
+    }
+
+    private void removeFromPopulation(UUID uuid, ISculkSmartEntity entity)
+    {
+        population.remove(uuid);
+        lastActivityTick.removeLong(entity);
+        idleUnits.remove(entity);
+        ResourceKey<Level> dimension = dimensionOfUnit.remove(uuid);
+
+        if(dimension != null && populationPerDimension.addTo(dimension, -1) <= 1)
+        {
+            populationPerDimension.removeInt(dimension);
+        }
+
+        EntityType<?> type = ((Entity) entity).getType();
+        if(populationPerType.addTo(type, -1) <= 1)
+        {
+            populationPerType.removeInt(type);
+        }
+    }
+
+    /**
+     * Forgets every unit. Gets called when a new world is loaded.
+     */
+    public void clear()
+    {
+        population.clear();
+        dimensionOfUnit.clear();
+        populationPerDimension.clear();
+        populationPerType.clear();
+        idleWheel.clear();
+        lastActivityTick.clear();
+        idleUnits.clear();
+        lastTimeOfPopulationCheck = 0;
+    }
+
+    /**
+     * Despawns the units that have been idle for long enough. Only looks at units that already expired from the idle wheel.
+     */
     public void despawnIdleMobs()
     {
-        for(ISculkSmartEntity entity : population)
+        if(SculkHorde.raidHandler.isRaidInactive())
         {
-            // We don't want raid entities being killed if raid is active.
-            if(entity.isIdle() && (!entity.isParticipatingInRaid() && !SculkHorde.raidHandler.isRaidInactive()))
+            return;
+        }
+
+        long currentTime = getCurrentGameTime();
+
+        // Copy first, because discarding an entity removes it from the population
+        ArrayList<ISculkSmartEntity> candidates = new ArrayList<>(idleUnits);
+        idleUnits.clear();
+
+        for(ISculkSmartEntity entity : candidates)
+        {
+            if(!isRegistered(entity))
             {
-                ((LivingEntity) entity).discard();
-                SculkHorde.savedData.addSculkAccumulatedMass((int) ((LivingEntity) entity).getHealth());
+                continue;
             }
+
+            // Could have become active without changing its target, for example by joining a raid
+            if(isActive(entity))
+            {
+                lastActivityTick.put(entity, currentTime);
+                idleWheel.schedule(entity, currentTime + IDLE_THRESHOLD_TICKS);
+                continue;
+            }
+
+            ((LivingEntity) entity).discard();
+            SculkHorde.savedData.addSculkAccumulatedMass((int) ((LivingEntity) entity).getHealth());
         }
     }
 }
-
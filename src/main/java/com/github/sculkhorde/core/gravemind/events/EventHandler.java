@@ -1,5 +1,6 @@
 package com.github.sculkhorde.core.gravemind.events;
 
+import com.github.sculkhorde.core.ModSavedData;
 import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.TickUnits;
 import net.minecraft.nbt.CompoundTag;
@@ -49,12 +50,27 @@ public class EventHandler {
         {
             events.put(event.getEventID(), event);
             SculkHorde.LOGGER.info("Added event " + event.getClass() + " with ID: " + event.getEventID());
+            markDirty();
         }
     }
 
     public void removeEvent(long eventID)
     {
-        events.remove(eventID);
+        if(events.remove(eventID) != null)
+        {
+            markDirty();
+        }
+    }
+
+    /**
+     * Events only change what they save when they are added, removed, started or ended.
+     */
+    private static void markDirty()
+    {
+        if(SculkHorde.savedData != null)
+        {
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.EVENTS);
+        }
     }
 
     public void serverTick()
@@ -84,6 +100,7 @@ public class EventHandler {
             if(!isEventActive && canEventStart)
             {
                 event.start();
+                markDirty();
                 continue;
             }
 
@@ -96,6 +113,7 @@ public class EventHandler {
             if(isEventActive && !canEventContinue)
             {
                 event.end();
+                markDirty();
                 continue;
             }
         }
@@ -1,5 +1,6 @@
 package com.github.sculkhorde.misc;
 
+import com.github.sculkhorde.core.ModSavedData;
 import com.github.sculkhorde.core.SculkHorde;
 import net.minecraft.nbt.CompoundTag;
 
@@ -42,10 +43,12 @@ public class StatisticsData {
 
     public void setTotalUnitDeaths(long totalUnitDeaths) {
         this.totalUnitDeaths = totalUnitDeaths;
+        markDirty();
     }
 
     public void incrementTotalUnitDeaths() {
         this.totalUnitDeaths++;
+        markDirty();
     }
 
     public long getTotalUnitsSpawned() {
@@ -54,10 +57,12 @@ public class StatisticsData {
 
     public void setTotalUnitsSpawned(long totalUnitsSpawned) {
         this.totalUnitsSpawned = totalUnitsSpawned;
+        markDirty();
     }
 
     public void incrementTotalUnitsSpawned() {
         this.totalUnitsSpawned++;
+        markDirty();
     }
 
     public long getTotalVictimsInfested() {
@@ -66,10 +71,12 @@ public class StatisticsData {
 
     public void setTotalVictimsInfested(long totalVictimsInfested) {
         this.totalVictimsInfested = totalVictimsInfested;
+        markDirty();
     }
 
     public void incrementTotalVictimsInfested() {
         this.totalVictimsInfested++;
+        markDirty();
     }
 
     public long getTotalBlocksInfested() {
@@ -78,10 +85,12 @@ public class StatisticsData {
 
     public void setTotalBlocksInfested(long totalBlocksInfested) {
         this.totalBlocksInfested = totalBlocksInfested;
+        markDirty();
     }
 
     public void incrementTotalBlocksInfested() {
         this.totalBlocksInfested++;
+        markDirty();
     }
 
     public long getTotalRaidsOccured() {
@@ -90,10 +99,12 @@ public class StatisticsData {
 
     public void setTotalRaidsOccured(long totalRaidsOccured) {
         this.totalRaidsOccured = totalRaidsOccured;
+        markDirty();
     }
 
     public void incrementTotalRaidsOccured() {
         this.totalRaidsOccured++;
+        markDirty();
     }
 
     public long getTotalMassFromBees() {
@@ -102,10 +113,12 @@ public class StatisticsData {
 
     public void setTotalMassFromBees(long totalMassFromBees) {
         this.totalMassFromBees = totalMassFromBees;
+        markDirty();
     }
 
     public void addTotalMassFromBees(int value) {
         this.totalMassFromBees += value;
+        markDirty();
     }
 
     public long getTotalMassFromBurrowed() {
@@ -114,10 +127,12 @@ public class StatisticsData {
 
     public void setTotalMassFromBurrowed(long totalMassFromBurrowed) {
         this.totalMassFromBurrowed = totalMassFromBurrowed;
+        markDirty();
     }
 
     public void addTotalMassFromBurrowed(int value) {
         this.totalMassFromBurrowed += value;
+        markDirty();
     }
 
     public long getTotalMassFromDiseasedCysts() {
@@ -126,10 +141,12 @@ public class StatisticsData {
 
     public void setTotalMassFromDiseasedCysts(long totalMassFromDiseasedCysts) {
         this.totalMassFromDiseasedCysts = totalMassFromDiseasedCysts;
+        markDirty();
     }
 
     public void addTotalMassFromDiseasedCysts(int value) {
         this.totalMassFromDiseasedCysts += value;
+        markDirty();
     }
 
     public long getTotalMassFromNodes() {
@@ -138,10 +155,12 @@ public class StatisticsData {
 
     public void setTotalMassFromNodes(long totalMassFromNodes) {
         this.totalMassFromNodes = totalMassFromNodes;
+        markDirty();
     }
 
     public void addTotalMassFromNodes(int value) {
         this.totalMassFromNodes += value;
+        markDirty();
     }
 
     public long getTotalMassRemovedFromHorde() {
@@ -150,10 +169,12 @@ public class StatisticsData {
 
     public void setTotalMassRemovedFromHorde(long totalMassRemovedFromHorde) {
         this.totalMassRemovedFromHorde = totalMassRemovedFromHorde;
+        markDirty();
     }
 
     public void addTotalMassRemovedFromHorde(int value) {
         this.totalMassRemovedFromHorde += value;
+        markDirty();
     }
 
     public long getTotalMassFromFleshyCompost() {
@@ -162,10 +183,12 @@ public class StatisticsData {
 
     public void setTotalMassFromFleshyCompost(long totalMassFromFleshyCompost) {
         this.totalMassFromFleshyCompost = totalMassFromFleshyCompost;
+        markDirty();
     }
 
     public void addTotalMassFromFleshyCompost(int value) {
         this.totalMassFromFleshyCompost += value;
+        markDirty();
     }
 
     public long getTotalMassFromInfestedCursorItemEating()
@@ -175,6 +198,7 @@ public class StatisticsData {
     public void setTotalMassFromInfestedCursorItemEating(long value)
     {
         this.totalMassFromInfestedCursorItemEating = value;
+        markDirty();
     }
 
     public void addTotalMassFromInfestedCursorItemEating(long value)
@@ -190,6 +214,7 @@ public class StatisticsData {
     public void setTotalNodesDestroyed(int value)
     {
         this.totalNodesDestroyed = value;
+        markDirty();
     }
 
     public void incrementTotalNodesDestroyed()
@@ -197,6 +222,14 @@ public class StatisticsData {
         setTotalNodesDestroyed(getTotalNodesDestroyed() + 1);
     }
 
+    private static void markDirty()
+    {
+        if(SculkHorde.savedData != null)
+        {
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.STATISTICS);
+        }
+    }
+
     public static StatisticsData getStatsData()
     {
         return SculkHorde.statisticsData;
@@ -0,0 +1,112 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.util.BlockAlgorithms;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers, for the current tick, which blocks are exposed to air. <br>
+ * Cursors ask this for every block they look at, which takes up to 26 block reads. Cursors near each other
+ * look at the same blocks, and a cursor asks about a block again for every neighbor it is reached from,
+ * so the answers are shared between all cursors for the rest of the tick. <br>
+ * Answers around blocks converted by infestation are forgotten right away. Other block changes are only
+ * picked up on the next tick. Only use this on the server thread.
+ */
+public class AirExposureCache {
+
+    private static final byte NOT_EXPOSED = 1;
+    private static final byte EXPOSED = 2;
+
+    private static class LevelCache
+    {
+        private long gameTime = Long.MIN_VALUE;
+        // Missing means we do not know yet
+        private final Long2ByteOpenHashMap exposure = new Long2ByteOpenHashMap();
+    }
+
+    private final Map<ResourceKey<Level>, LevelCache> levels = new HashMap<>();
+    private long lookupsCount = 0;
+    private long hitsCount = 0;
+
+    public AirExposureCache()
+    {
+
+    }
+
+    public static AirExposureCache getAirExposureCache()
+    {
+        return SculkHorde.airExposureCache;
+    }
+
+    public long getLookupsCount()
+    {
+        return lookupsCount;
+    }
+
+    public long getHitsCount()
+    {
+        return hitsCount;
+    }
+
+    private LevelCache getLevelCache(ServerLevel level)
+    {
+        LevelCache cache = levels.computeIfAbsent(level.dimension(), key -> new LevelCache());
+        if(cache.gameTime != level.getGameTime())
+        {
+            cache.gameTime = level.getGameTime();
+            cache.exposure.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * Works like {@link BlockAlgorithms#isExposedToAir(net.minecraft.world.level.BlockGetter, BlockPos)}.
+     * @param level The level
+     * @param pos The position
+     * @return True if any block around the position is not solid
+     */
+    public boolean isExposedToAir(ServerLevel level, BlockPos pos)
+    {
+        lookupsCount++;
+        LevelCache cache = getLevelCache(level);
+        byte exposure = cache.exposure.get(pos.asLong());
+        if(exposure != 0)
+        {
+            hitsCount++;
+            return exposure == EXPOSED;
+        }
+
+        boolean isExposed = BlockAlgorithms.isExposedToAir(level, pos);
+        cache.exposure.put(pos.asLong(), isExposed ? EXPOSED : NOT_EXPOSED);
+        return isExposed;
+    }
+
+    /**
+     * Forgets the answers of every block next to a block that changed.
+     * @param level The level
+     * @param pos The block that changed
+     */
+    public void onBlockChanged(ServerLevel level, BlockPos pos)
+    {
+        LevelCache cache = levels.get(level.dimension());
+        if(cache == null || cache.gameTime != level.getGameTime() || cache.exposure.isEmpty())
+        {
+            return;
+        }
+
+        for(int x = -1; x <= 1; x++) {
+            for(int y = -1; y <= 1; y++) {
+                for(int z = -1; z <= 1; z++) {
+                    cache.exposure.remove(BlockPos.asLong(pos.getX() + x, pos.getY() + y, pos.getZ() + z));
+                }
+            }
+        }
+    }
+}
@@ -2,9 +2,18 @@ package com.github.sculkhorde.systems;
 
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
-
-import java.util.concurrent.TimeUnit;
-
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.Arrays;
+
+/**
+ * Scales how much the Sculk Horde is allowed to do based on how long the server takes per tick. <br>
+ * Every second we look at the recent server tick times (MSPT) and feed the 95th percentile into a
+ * PID controller. The controller nudges a performance scale between 0 (Potato) and 1 (High) towards
+ * whatever keeps the server under the target MSPT. Cursor, unit and node limits are interpolated from
+ * that scale, so they change gradually instead of jumping between presets.
+ */
 public class AutoPerformanceSystem {
 
     private static long lastTimeOfTPSCheck = System.currentTimeMillis();
@@ -12,10 +21,11 @@ public class AutoPerformanceSystem {
     private static int TPS = 0;
 
     /*
-    High performance is >= 15
-    Medium Performance >= 10
-    Low Performance >= 5
-    Potato Performance < 5
+    The performance mode is only a label for the current performance scale.
+    High performance is a scale >= 5/6
+    Medium Performance >= 1/2
+    Low Performance >= 1/6
+    Potato Performance < 1/6
      */
     public enum PerformanceMode
     {
@@ -24,13 +34,28 @@ public class AutoPerformanceSystem {
         Low,
         Potato
     }
-    protected final int HIGH_PERFORMANCE_TPS_MINIMUM = 15;
-    protected final int MEDIUM_PERFORMANCE_TPS_MINIMUM = 10;
-    protected final int LOW_PERFORMANCE_TPS_MINIMUM = 5;
-    protected long timeStampAboveTPSMaximum = 0;
-    protected long timeStampBelowTPSMinimum = 0;
-    protected long TIME_THRESHOLD_BELOW_MINIMUM_TPS = TimeUnit.SECONDS.toMillis(10);
-    protected long TIME_THRESHOLD_ABOVE_MAXIMUM_TPS = TimeUnit.MINUTES.toMillis(1);
+
+    // The scale each mode used to be a preset for. Limits are interpolated between these points.
+    protected static final double POTATO_SCALE = 0.0;
+    protected static final double LOW_SCALE = 1.0 / 3.0;
+    protected static final double MEDIUM_SCALE = 2.0 / 3.0;
+    protected static final double HIGH_SCALE = 1.0;
+
+    // PID controller, evaluated once per second. The error is relative to the target MSPT.
+    protected static final int TICKS_BETWEEN_CONTROLLER_UPDATES = 20;
+    protected static final double PROPORTIONAL_GAIN = 0.3;
+    protected static final double INTEGRAL_GAIN = 0.05;
+    protected static final double DERIVATIVE_GAIN = 0.05;
+    // How much the scale can change in a single update, so we do not overshoot and oscillate
+    protected static final double MAX_SCALE_CHANGE_PER_UPDATE = 0.1;
+
+    protected int ticksUntilControllerUpdate = TICKS_BETWEEN_CONTROLLER_UPDATES;
+    protected double previousError = 0;
+    protected double errorBeforePrevious = 0;
+    protected double performanceScale = MEDIUM_SCALE;
+    protected double msptMedian = 0;
+    protected double msptPercentile95 = 0;
+    private final long[] sortedTickTimes = new long[100];
 
     protected PerformanceMode performanceMode = PerformanceMode.Medium;
 
@@ -45,6 +70,10 @@ public class AutoPerformanceSystem {
     protected int delayBetweenCursorTicks = 0;
     protected boolean thanosSnapCursors = false;
 
+    public AutoPerformanceSystem()
+    {
+        setPerformanceScale(MEDIUM_SCALE);
+    }
 
 
     //#### Accessors ####
@@ -52,6 +81,18 @@ public class AutoPerformanceSystem {
     public static double getTPS() {
         return TPS;
     }
+
+    public double getPerformanceScale() {
+        return performanceScale;
+    }
+
+    public double getMSPTMedian() {
+        return msptMedian;
+    }
+
+    public double getMSPTPercentile95() {
+        return msptPercentile95;
+    }
     public PerformanceMode getPerformanceMode() {
         return performanceMode;
     }
@@ -126,100 +167,118 @@ public class AutoPerformanceSystem {
 
     protected void setInfectorCursorPopulationThreshold(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Cursor population threshold to activate cursor performance mode = " + value);
+        if(infectorCursorPopulationThreshold != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Cursor population threshold to activate cursor performance mode = " + value); }
         infectorCursorPopulationThreshold = value;
     }
 
     protected void setCursorsToTickPerTick(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Cursors to tick per tick when cursor performance mode is active = " + value);
+        if(cursorsToTickPerTick != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Cursors to tick per tick when cursor performance mode is active = " + value); }
         cursorsToTickPerTick = value;
     }
 
     protected void setDelayBetweenCursorTicks(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Delay between cursor ticks when cursor performance mode is active = " + value);
+        if(delayBetweenCursorTicks != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Delay between cursor ticks when cursor performance mode is active = " + value); }
         delayBetweenCursorTicks = value;
     }
 
     protected void setMaxSculkUnitPopulation(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Max Sculk Unit Population = " + value);
+        if(maxSculkUnitPopulation != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Max Sculk Unit Population = " + value); }
         maxSculkUnitPopulation = value;
     }
 
     protected void setMaxInfectorCursorPopulation(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Max Infector Cursor Population = " + value);
+        if(maxInfectorCursorPopulation != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Max Infector Cursor Population = " + value); }
         maxInfectorCursorPopulation = value;
     }
 
     protected void setMaxNodesActive(int value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Max Nodes Active = " + value);
+        if(maxNodesActive != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Max Nodes Active = " + value); }
         maxNodesActive = value;
     }
 
     protected void setThanosSnapCursors(boolean value)
     {
-        SculkHorde.LOGGER.info("AutoPerformanceSystem | Thanos Snap Cursors = " + value);
+        if(thanosSnapCursors != value) { SculkHorde.LOGGER.debug("AutoPerformanceSystem | Thanos Snap Cursors = " + value); }
         thanosSnapCursors = value;
     }
 
+    /**
+     * Jumps straight to the scale a performance mode stands for.
+     * @param mode The performance mode
+     */
     protected void setPerformanceMode(PerformanceMode mode)
     {
-        timeStampAboveTPSMaximum = 0;
-        timeStampBelowTPSMinimum = 0;
-
-        if(mode == PerformanceMode.High)
+        switch (mode)
         {
-            performanceMode = PerformanceMode.High;
-            SculkHorde.LOGGER.info("AutoPerformanceSystem | New Performance Mode = High");
-            setMaxSculkUnitPopulation(ModConfig.SERVER.max_unit_population.get());
-            setMaxNodesActive(ModConfig.SERVER.max_nodes_active.get());
-            setMaxInfectorCursorPopulation(200);
-            setInfectorCursorPopulationThreshold(175);
-            setCursorsToTickPerTick(50);
-            setDelayBetweenCursorTicks(1);
-            setThanosSnapCursors(false);
+            case High -> setPerformanceScale(HIGH_SCALE);
+            case Medium -> setPerformanceScale(MEDIUM_SCALE);
+            case Low -> setPerformanceScale(LOW_SCALE);
+            case Potato -> setPerformanceScale(POTATO_SCALE);
         }
-        if(mode == PerformanceMode.Medium)
-        {
-            performanceMode = PerformanceMode.Medium;
-            SculkHorde.LOGGER.info("AutoPerformanceSystem | New Performance Mode = Medium");
-            setMaxSculkUnitPopulation(Math.max(ModConfig.SERVER.max_unit_population.get() - 50, 25));
-            setMaxNodesActive(Math.max(ModConfig.SERVER.max_nodes_active.get() - 1, 1));
-            setMaxInfectorCursorPopulation(150);
-            setInfectorCursorPopulationThreshold(125);
-            setCursorsToTickPerTick(25);
-            setDelayBetweenCursorTicks(1);
-            setThanosSnapCursors(false);
-        }
-        if(mode == PerformanceMode.Low)
-        {
-            performanceMode = PerformanceMode.Low;
-            SculkHorde.LOGGER.info("AutoPerformanceSystem | New Performance Mode = Low");
-            setMaxSculkUnitPopulation(Math.max(ModConfig.SERVER.max_unit_population.get() - 100, 25));
-            setMaxNodesActive(Math.max(ModConfig.SERVER.max_nodes_active.get() - 2, 1));
-            setMaxInfectorCursorPopulation(100);
-            setInfectorCursorPopulationThreshold(75);
-            setCursorsToTickPerTick(10);
-            setDelayBetweenCursorTicks(2);
-            setThanosSnapCursors(true);
+    }
 
-        }
-        if(mode == PerformanceMode.Potato)
+    /**
+     * Sets the performance scale and updates every limit to match it.
+     * At the scale of each performance mode, the limits are the same as the old presets for that mode.
+     * @param scale A value between 0 (Potato) and 1 (High)
+     */
+    protected void setPerformanceScale(double scale)
+    {
+        performanceScale = Math.max(POTATO_SCALE, Math.min(HIGH_SCALE, scale));
+
+        PerformanceMode newMode;
+        if(performanceScale >= (MEDIUM_SCALE + HIGH_SCALE) / 2) { newMode = PerformanceMode.High; }
+        else if(performanceScale >= (LOW_SCALE + MEDIUM_SCALE) / 2) { newMode = PerformanceMode.Medium; }
+        else if(performanceScale >= (POTATO_SCALE + LOW_SCALE) / 2) { newMode = PerformanceMode.Low; }
+        else { newMode = PerformanceMode.Potato; }
+
+        if(newMode != performanceMode)
         {
-            performanceMode = PerformanceMode.Potato;
-            SculkHorde.LOGGER.info("AutoPerformanceSystem | New Performance Mode = Potato");
-            setMaxSculkUnitPopulation(Math.max(ModConfig.SERVER.max_unit_population.get() - 150, 25));
-            setMaxNodesActive(Math.max(ModConfig.SERVER.max_nodes_active.get() - 3, 1));
-            setMaxInfectorCursorPopulation(50);
-            setInfectorCursorPopulationThreshold(25);
-            setCursorsToTickPerTick(1);
-            setDelayBetweenCursorTicks(3);
-            setThanosSnapCursors(true);
+            SculkHorde.LOGGER.info("AutoPerformanceSystem | New Performance Mode = " + newMode);
+            performanceMode = newMode;
         }
+
+        int configuredMaxUnitPopulation = ModConfig.SERVER.max_unit_population.get();
+        int configuredMaxNodesActive = ModConfig.SERVER.max_nodes_active.get();
+
+        setMaxSculkUnitPopulation(interpolate(
+                Math.max(configuredMaxUnitPopulation - 150, 25),
+                Math.max(configuredMaxUnitPopulation - 100, 25),
+                Math.max(configuredMaxUnitPopulation - 50, 25),
+                configuredMaxUnitPopulation));
+        setMaxNodesActive(interpolate(
+                Math.max(configuredMaxNodesActive - 3, 1),
+                Math.max(configuredMaxNodesActive - 2, 1),
+                Math.max(configuredMaxNodesActive - 1, 1),
+                configuredMaxNodesActive));
+        setMaxInfectorCursorPopulation(interpolate(50, 100, 150, 200));
+        setInfectorCursorPopulationThreshold(interpolate(25, 75, 125, 175));
+        setCursorsToTickPerTick(interpolate(1, 10, 25, 50));
+        setDelayBetweenCursorTicks(interpolate(3, 2, 1, 1));
+        setThanosSnapCursors(performanceScale < (LOW_SCALE + MEDIUM_SCALE) / 2);
+    }
+
+    /**
+     * Linearly interpolates between the values each performance mode used to have, using the current scale.
+     */
+    protected int interpolate(int potatoValue, int lowValue, int mediumValue, int highValue)
+    {
+        double lowerScale;
+        double upperScale;
+        int lowerValue;
+        int upperValue;
+
+        if(performanceScale <= LOW_SCALE) { lowerScale = POTATO_SCALE; upperScale = LOW_SCALE; lowerValue = potatoValue; upperValue = lowValue; }
+        else if(performanceScale <= MEDIUM_SCALE) { lowerScale = LOW_SCALE; upperScale = MEDIUM_SCALE; lowerValue = lowValue; upperValue = mediumValue; }
+        else { lowerScale = MEDIUM_SCALE; upperScale = HIGH_SCALE; lowerValue = mediumValue; upperValue = highValue; }
+
+        double progress = (performanceScale - lowerScale) / (upperScale - lowerScale);
+        return (int) Math.round(lowerValue + (upperValue - lowerValue) * progress);
     }
 
     public void increasePerformanceMode()
@@ -254,40 +313,40 @@ public class AutoPerformanceSystem {
         }
     }
 
-    public boolean isTPSBelowMinimum()
+    /**
+     * Reads the last 100 server tick times and works out the median and the 95th percentile.
+     * @param server The server
+     */
+    protected void updateMSPT(MinecraftServer server)
     {
-        if(isHighPerformanceMode() && getTPS() < HIGH_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
-        else if(isMediumPerformanceMode() && getTPS() < MEDIUM_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
-        else if(isLowPerformanceMode() && getTPS() < LOW_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
+        long[] tickTimes = server.tickTimes;
+        int sampleCount = Math.min(tickTimes.length, sortedTickTimes.length);
+        System.arraycopy(tickTimes, 0, sortedTickTimes, 0, sampleCount);
+        Arrays.sort(sortedTickTimes, 0, sampleCount);
 
-        return false;
+        msptMedian = sortedTickTimes[sampleCount / 2] / 1_000_000.0;
+        msptPercentile95 = sortedTickTimes[Math.min(sampleCount - 1, (int) Math.ceil(sampleCount * 0.95) - 1)] / 1_000_000.0;
     }
 
-    public boolean isTPSAboveMaximum()
+    /**
+     * One step of the PID controller, in velocity form. Instead of computing the scale from scratch,
+     * we compute how much it should change. Clamping the scale then also stops the integral from winding up.
+     */
+    protected void updateController()
     {
-        if(isMediumPerformanceMode() && getTPS() >= HIGH_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
-        else if(isLowPerformanceMode() && getTPS() >= MEDIUM_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
-        else if(isPotatoPerformanceMode() && getTPS() >= LOW_PERFORMANCE_TPS_MINIMUM)
-        {
-            return true;
-        }
+        double targetMSPT = ModConfig.SERVER.auto_performance_target_mspt.get();
+        // Positive when we have room to spare, negative when the server is struggling
+        double error = (targetMSPT - msptPercentile95) / targetMSPT;
+
+        double change = PROPORTIONAL_GAIN * (error - previousError)
+                + INTEGRAL_GAIN * error
+                + DERIVATIVE_GAIN * (error - 2 * previousError + errorBeforePrevious);
+        change = Math.max(-MAX_SCALE_CHANGE_PER_UPDATE, Math.min(MAX_SCALE_CHANGE_PER_UPDATE, change));
 
-        return false;
+        errorBeforePrevious = previousError;
+        previousError = error;
+
+        setPerformanceScale(performanceScale + change);
     }
 
     public void onServerTick()
@@ -302,32 +361,26 @@ public class AutoPerformanceSystem {
             lastTimeOfTPSCheck = currentTime;
         }
 
-        if(isTPSBelowMinimum() && timeStampBelowTPSMinimum == 0)
-        {
-            timeStampBelowTPSMinimum = System.currentTimeMillis();
-        }
-        else if(!isTPSBelowMinimum() && timeStampBelowTPSMinimum != 0)
+        ticksUntilControllerUpdate--;
+        if(ticksUntilControllerUpdate > 0)
         {
-            timeStampBelowTPSMinimum = 0;
+            return;
         }
+        ticksUntilControllerUpdate = TICKS_BETWEEN_CONTROLLER_UPDATES;
 
-        if(isTPSAboveMaximum() && timeStampAboveTPSMaximum == 0)
+        if(ModConfig.SERVER.disable_auto_performance_system.get())
         {
-            timeStampAboveTPSMaximum = System.currentTimeMillis();
+            if(performanceScale != HIGH_SCALE) { setPerformanceScale(HIGH_SCALE); }
+            return;
         }
-        else if(!isTPSAboveMaximum() && timeStampAboveTPSMaximum != 0)
-        {
-            timeStampAboveTPSMaximum = 0;
-        }
-
 
-        if(System.currentTimeMillis() - timeStampBelowTPSMinimum >= TIME_THRESHOLD_BELOW_MINIMUM_TPS && timeStampBelowTPSMinimum != 0)
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if(server == null)
         {
-            decreasePerformanceMode();
-        }
-        else if((System.currentTimeMillis() - timeStampAboveTPSMaximum >= TIME_THRESHOLD_ABOVE_MAXIMUM_TPS  && timeStampAboveTPSMaximum != 0) || (ModConfig.SERVER.disable_auto_performance_system.get() && !isHighPerformanceMode()))
-        {
-            increasePerformanceMode();
+            return;
         }
+
+        updateMSPT(server);
+        updateController();
     }
 }
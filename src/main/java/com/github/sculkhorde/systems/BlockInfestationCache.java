@@ -0,0 +1,216 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.common.block.InfestationEntries.BlockInfestationTable;
+import com.github.sculkhorde.util.BlockAlgorithms;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Remembers, per block state, what the infestation tables have to say about it.
+ * Walking every table and every entry (tag checks, registry lookups, config lookups)
+ * is expensive, and cursors ask about the same few block states over and over again.
+ * <br>
+ * The answers only depend on the block state, the tables and the block tags, so the
+ * cache is indexed by the block state id and gets thrown away whenever any of those change:
+ * <ul>
+ *     <li>A table gets added or an entry is added to a table.</li>
+ *     <li>Tags are reloaded (/reload or joining a server).</li>
+ *     <li>The configured infestable blocks are reloaded.</li>
+ * </ul>
+ * Entries are computed the first time a block state is asked about, so we never pay for
+ * block states that do not exist in the world.
+ * <br>
+ * Cursor searches read the cache from other threads, so every slot is read and written on its own, and the array is
+ * only allocated once after every invalidation. Before searches start, {@link #prepareForParallelReads()} rebuilds
+ * the table indexes and allocates the array on the server thread. A search that misses computes the state itself.
+ */
+public class BlockInfestationCache {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte COMPUTED = 1;
+    // Can be infected by a table that also accepts non-solid blocks
+    private static final byte INFECTABLE = 1 << 1;
+    // Can only be infected by tables that deny non-solid blocks
+    private static final byte INFECTABLE_IF_SOLID = 1 << 2;
+    private static final byte CURABLE = 1 << 3;
+
+    // One slot per block state id. Only replaced as a whole by invalidate(), slots are filled in as block states are asked about.
+    private static volatile AtomicIntegerArray stateFlags = new AtomicIntegerArray(0);
+
+    /**
+     * Forget everything. Call this whenever the tables, tags or config change.
+     */
+    public static void invalidate()
+    {
+        stateFlags = new AtomicIntegerArray(0);
+    }
+
+    /**
+     * Rebuilds the indexes of every table that changed, and makes room for every block state in the cache.
+     * Call this on the server thread before reading the cache from other threads,
+     * so that nothing has to be rebuilt or allocated while they read.
+     */
+    public static void prepareForParallelReads()
+    {
+        for(BlockInfestationTable table : BlockInfestationSystem.INFESTATION_TABLES)
+        {
+            table.prepareIndex();
+        }
+        getStateFlags();
+    }
+
+    /**
+     * @return The flags of every block state, allocated once per invalidation
+     */
+    private static AtomicIntegerArray getStateFlags()
+    {
+        AtomicIntegerArray flags = stateFlags;
+        if(flags.length() == 0)
+        {
+            // The registry is frozen once the game has started, so its size does not change
+            flags = new AtomicIntegerArray(Block.BLOCK_STATE_REGISTRY.size());
+            stateFlags = flags;
+        }
+        return flags;
+    }
+
+    private static byte getFlags(BlockState blockState)
+    {
+        int id = Block.BLOCK_STATE_REGISTRY.getId(blockState);
+        AtomicIntegerArray flags = getStateFlags();
+
+        // Should never happen, but do not cache something we cannot index
+        if(id < 0 || id >= flags.length())
+        {
+            return computeFlags(blockState);
+        }
+
+        byte result = (byte) flags.get(id);
+        if(result == UNKNOWN)
+        {
+            // Two threads might compute the same state at the same time, but they get the same result
+            result = computeFlags(blockState);
+            flags.set(id, result);
+        }
+        return result;
+    }
+
+    private static byte computeFlags(BlockState blockState)
+    {
+        byte result = COMPUTED;
+
+        boolean isExplicitlyNotInfectable = BlockInfestationSystem.isExplicitlyNotInfectable(blockState);
+
+        for(BlockInfestationTable table : BlockInfestationSystem.INFESTATION_TABLES)
+        {
+            if(!isExplicitlyNotInfectable && table.canStateBeInfectedByThisTable(blockState))
+            {
+                result |= table.isDenyNonSolidBlocks() ? INFECTABLE_IF_SOLID : INFECTABLE;
+            }
+
+            if(table.canStateBeCuredByThisTable(blockState))
+            {
+                result |= CURABLE;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns true if any table could infect this block state, ignoring whether the block is solid.
+     * @param blockState The block state
+     * @return True if the state might be infectable
+     */
+    public static boolean isStateInfectable(BlockState blockState)
+    {
+        return (getFlags(blockState) & (INFECTABLE | INFECTABLE_IF_SOLID)) != 0;
+    }
+
+    /**
+     * Returns true if the block at this position can be infected by any table.
+     * @param level The level
+     * @param pos The position of the block
+     * @param blockState The block state at the position
+     * @return True if infectable
+     */
+    public static boolean isInfectable(BlockGetter level, BlockPos pos, BlockState blockState)
+    {
+        byte flags = getFlags(blockState);
+
+        if((flags & INFECTABLE) != 0)
+        {
+            return true;
+        }
+
+        // Solidity can depend on the position, so this part is not cached
+        return (flags & INFECTABLE_IF_SOLID) != 0 && !BlockAlgorithms.isNotSolid(level, pos);
+    }
+
+    public static boolean isStateCurable(BlockState blockState)
+    {
+        return (getFlags(blockState) & CURABLE) != 0;
+    }
+
+    /**
+     * Uses the palette of a chunk section to tell if it could contain any infectable blocks.
+     * If this returns false, the whole section can be skipped.
+     * @param section The chunk section
+     * @return False if there is definitely nothing to infect in this section
+     */
+    public static boolean canSectionContainInfectableBlocks(LevelChunkSection section)
+    {
+        if(section == null || section.hasOnlyAir())
+        {
+            return false;
+        }
+
+        return section.getStates().maybeHas(BlockInfestationCache::isStateInfectable);
+    }
+
+    /**
+     * Uses the palette of a chunk section to tell if it could contain any curable blocks.
+     * If this returns false, the whole section can be skipped.
+     * @param section The chunk section
+     * @return False if there is definitely nothing to cure in this section
+     */
+    public static boolean canSectionContainCurableBlocks(LevelChunkSection section)
+    {
+        if(section == null || section.hasOnlyAir())
+        {
+            return false;
+        }
+
+        return section.getStates().maybeHas(BlockInfestationCache::isStateCurable);
+    }
+
+    /**
+     * Looks up the chunk section containing the position, if it is loaded.
+     * @param level The level
+     * @param pos Any position inside the section
+     * @return The section, or null if the chunk is not loaded or the position is outside the build height.
+     */
+    public static LevelChunkSection getLoadedSection(ServerLevel level, BlockPos pos)
+    {
+        if(level.isOutsideBuildHeight(pos))
+        {
+            return null;
+        }
+
+        ChunkAccess chunk = level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+        if(chunk == null)
+        {
+            return null;
+        }
+
+        return chunk.getSection(chunk.getSectionIndex(pos.getY()));
+    }
+}
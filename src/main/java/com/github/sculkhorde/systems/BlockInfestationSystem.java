@@ -6,13 +6,12 @@ import com.github.sculkhorde.common.block.SculkNodeBlock;
 import com.github.sculkhorde.common.blockentity.SculkBeeNestBlockEntity;
 import com.github.sculkhorde.core.ModBlocks;
 import com.github.sculkhorde.core.ModConfig;
+import com.github.sculkhorde.core.SculkHorde;
 import com.github.sculkhorde.util.BlockAlgorithms;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.sounds.SoundEvents;
-import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.item.Tiers;
 import net.minecraft.world.level.block.Blocks;
@@ -224,35 +223,15 @@ public class BlockInfestationSystem {
                 blockState.hasBlockEntity();
     }
 
-    public static boolean isInfectable(ServerLevel level, BlockPos pos)
+    public static boolean isInfectable(BlockGetter level, BlockPos pos)
     {
-        BlockState blockState = level.getBlockState(pos);
-        if(isExplicitlyNotInfectable(blockState))
-        {
-            return false;
-        }
-
-        for(BlockInfestationTable table : INFESTATION_TABLES)
-        {
-            if(table.canBeInfectedByThisTable(level, pos))
-            {
-                return true;
-            }
-        }
-        return false;
+        // isExplicitlyNotInfectable() is part of the cached result
+        return BlockInfestationCache.isInfectable(level, pos, level.getBlockState(pos));
     }
 
     public static boolean isCurable(ServerLevel level, BlockPos pos)
     {
-        for(BlockInfestationTable table : INFESTATION_TABLES)
-        {
-            if(table.getNormalVariant(level, pos) != null)
-            {
-                return true;
-            }
-        }
-
-        return false;
+        return BlockInfestationCache.isStateCurable(level.getBlockState(pos));
     }
 
     public static void tryToInfestBlock(ServerLevel world, BlockPos targetPos)
@@ -265,7 +244,7 @@ public class BlockInfestationSystem {
         BlockState victimBlockState = world.getBlockState(targetPos);
         boolean wasAbleToInfestBlock = false;
 
-        if(isExplicitlyNotInfectable(victimBlockState))
+        if(!BlockInfestationCache.isInfectable(world, targetPos, victimBlockState))
         {
             return;
         }
@@ -286,8 +265,10 @@ public class BlockInfestationSystem {
             return;
         }
 
-        world.sendParticles(ParticleTypes.SCULK_CHARGE_POP, targetPos.getX() + 0.5D, targetPos.getY() + 1.15D, targetPos.getZ() + 0.5D, 2, 0.2D, 0.0D, 0.2D, 0.0D);
-        world.playSound(null, targetPos, SoundEvents.SCULK_BLOCK_SPREAD, SoundSource.BLOCKS, 2.0F, 0.6F + 1.0F);
+        SculkHorde.infectionFrontierTracker.onBlockInfested(world, targetPos);
+
+        SculkHorde.infestationWriteBuffer.onBlockInfested(world);
+        SculkHorde.infestationWriteBuffer.queueInfestationEffects(world, targetPos);
 
         BlockInfestationSystem.removeNearbyVein(world, targetPos);
 
@@ -327,18 +308,20 @@ public class BlockInfestationSystem {
         }
 
         // Convert Block
-        world.setBlockAndUpdate(targetPos, getNormalVariant);
+        SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos, getNormalVariant);
+        SculkHorde.infectionFrontierTracker.onBlockCured(world, targetPos);
+        SculkHorde.infestationWriteBuffer.onBlockCured(world);
 
         if(shouldBeRemovedFromAboveBlock.test(world.getBlockState(targetPos.above())))
         {
-            world.setBlockAndUpdate(targetPos.above(), Blocks.AIR.defaultBlockState());
+            SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos.above(), Blocks.AIR.defaultBlockState());
         }
 
         boolean canCuredBlockSustatinPlant = world.getBlockState(targetPos).canSustainPlant(world, targetPos, Direction.UP, (IPlantable) Blocks.POPPY);
         Random rand = new Random();
         if(rand.nextBoolean() && canCuredBlockSustatinPlant && world.getBlockState(targetPos.above()).isAir())
         {
-            world.setBlockAndUpdate(targetPos.above(), Blocks.GRASS.defaultBlockState());
+            SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos.above(), Blocks.GRASS.defaultBlockState());
         }
 
         return true;
@@ -419,7 +402,7 @@ public class BlockInfestationSystem {
             if(blockState.getBlock() == ModBlocks.TENDRILS.get())
             {
                 if(!blockState.getBlock().canSurvive(blockState, world, neighbors))
-                    world.destroyBlock(neighbors, false);
+                    SculkHorde.infestationWriteBuffer.convertBlock(world, neighbors, Blocks.AIR.defaultBlockState());
 
             }
         }
@@ -450,7 +433,7 @@ public class BlockInfestationSystem {
         //Given random chance and the target location can see the sky, create a sculk hive
         if(new Random().nextInt(4000) <= 1 && blockIsAirOrSnow(world.getBlockState(targetPos)) && blockIsAirOrSnow(world.getBlockState(targetPos.above())) && blockIsAirOrSnow(world.getBlockState(targetPos.above().above())))
         {
-            world.setBlockAndUpdate(targetPos, ModBlocks.SCULK_BEE_NEST_BLOCK.get().defaultBlockState());
+            SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos, ModBlocks.SCULK_BEE_NEST_BLOCK.get().defaultBlockState());
             SculkBeeNestBlockEntity nest = (SculkBeeNestBlockEntity) world.getBlockEntity(targetPos);
 
             //Add bees
@@ -480,7 +463,7 @@ public class BlockInfestationSystem {
             int height = world.random.nextInt(25);
             for(int i = 0; i < height && !world.getBlockState(targetPos.above(i + 1)).getFluidState().isEmpty(); i++)
             {
-                world.setBlockAndUpdate(targetPos.above(i), ModBlocks.DISEASED_KELP_BLOCK.get().defaultBlockState());
+                SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos.above(i), ModBlocks.DISEASED_KELP_BLOCK.get().defaultBlockState());
             }
         }
 
@@ -0,0 +1,123 @@
+package com.github.sculkhorde.systems;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the particles of cursors during a tick and sends them as one particle packet per chunk section. <br>
+ * Cursors are not sent to clients anymore, so clients can no longer spawn their particles themselves.
+ * Instead, the server spawns them around the cursors, merging all cursors of a section into one effect.
+ */
+public class CursorParticleBatcher {
+
+    private static final int PARTICLES_PER_CURSOR = 2;
+    private static final int MAX_PARTICLES_PER_SECTION = 12;
+    // How far from the cursors particles can appear, and how fast they move
+    private static final double PARTICLE_SPREAD = 1.0D;
+    private static final double PARTICLE_SPEED = 0.1D;
+
+    private static class ParticleBatch
+    {
+        private final ParticleOptions particle;
+        private int cursors = 0;
+        private double sumX = 0;
+        private double sumY = 0;
+        private double sumZ = 0;
+
+        private ParticleBatch(ParticleOptions particle)
+        {
+            this.particle = particle;
+        }
+    }
+
+    private final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<ArrayList<ParticleBatch>>> batches = new HashMap<>();
+
+    public CursorParticleBatcher()
+    {
+
+    }
+
+    /**
+     * Queues the particles of a cursor. They are sent when the tick ends.
+     * @param level The level
+     * @param pos The position of the cursor
+     * @param particle The particle to show
+     */
+    public void queueParticles(ServerLevel level, BlockPos pos, ParticleOptions particle)
+    {
+        ArrayList<ParticleBatch> sectionBatches = batches.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(SectionPos.asLong(pos), key -> new ArrayList<>());
+
+        // A section almost never has more than one kind of cursor in it, so a list is fine
+        ParticleBatch batch = null;
+        for(ParticleBatch sectionBatch : sectionBatches)
+        {
+            if(sectionBatch.particle == particle)
+            {
+                batch = sectionBatch;
+                break;
+            }
+        }
+
+        if(batch == null)
+        {
+            batch = new ParticleBatch(particle);
+            sectionBatches.add(batch);
+        }
+
+        batch.cursors++;
+        batch.sumX += pos.getX() + 0.5D;
+        batch.sumY += pos.getY() + 0.5D;
+        batch.sumZ += pos.getZ() + 0.5D;
+    }
+
+    /**
+     * Sends the particles collected this tick. Call this once every server tick, after all the levels ticked.
+     * @param server The server
+     */
+    public void flush(MinecraftServer server)
+    {
+        if(batches.isEmpty())
+        {
+            return;
+        }
+
+        for(Map.Entry<ResourceKey<Level>, Long2ObjectOpenHashMap<ArrayList<ParticleBatch>>> entry : batches.entrySet())
+        {
+            ServerLevel level = server.getLevel(entry.getKey());
+            if(level == null)
+            {
+                continue;
+            }
+
+            for(ArrayList<ParticleBatch> sectionBatches : entry.getValue().values())
+            {
+                for(ParticleBatch batch : sectionBatches)
+                {
+                    sendParticles(level, batch);
+                }
+            }
+        }
+        batches.clear();
+    }
+
+    private static void sendParticles(ServerLevel level, ParticleBatch batch)
+    {
+        // Spawn the particles around the middle of the cursors in the section
+        double x = batch.sumX / batch.cursors;
+        double y = batch.sumY / batch.cursors;
+        double z = batch.sumZ / batch.cursors;
+        int particleCount = Math.min(batch.cursors * PARTICLES_PER_CURSOR, MAX_PARTICLES_PER_SECTION);
+        level.sendParticles(batch.particle, x, y, z, particleCount, PARTICLE_SPREAD, PARTICLE_SPREAD, PARTICLE_SPREAD, PARTICLE_SPEED);
+    }
+}
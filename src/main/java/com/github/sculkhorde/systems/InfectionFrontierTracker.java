@@ -0,0 +1,657 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.core.ModSavedData;
+import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.util.BlockAlgorithms;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps track of where the edge of the infection is, one chunk section (16x16x16 blocks) at a time. <br>
+ * Cursors used to start every search at their node, and had to walk through all the sculk the horde
+ * already placed before finding something new to infect. With this, they can start right at the frontier instead.
+ * <ul>
+ *     <li>A section becomes part of the frontier when a block in it is infested.</li>
+ *     <li>A few thousand blocks of frontier sections are checked every tick, continuing where the last tick stopped.
+ *     If a section has no infectable block left that is exposed to air, it is marked as fully infested and leaves the frontier.</li>
+ *     <li>If a block in a fully infested section is cured, the section rejoins the frontier.</li>
+ *     <li>Sections in chunks that are not loaded wait until their chunk loads, instead of being checked every tick.</li>
+ * </ul>
+ * Sections are stored as bitsets. Each key is a column of 64 sections, and each bit is one section in that column.
+ */
+public class InfectionFrontierTracker {
+
+    // Half a section, so a section that has to be checked block by block takes two ticks
+    private static final int BLOCKS_VERIFIED_PER_TICK = 2048;
+    private static final int BLOCKS_PER_SECTION = 16 * 16 * 16;
+    private static final int SECTIONS_PER_COLUMN_BITS = 6;
+    private static final int SECTIONS_PER_COLUMN_MASK = (1 << SECTIONS_PER_COLUMN_BITS) - 1;
+    private static final long NO_SECTION = Long.MAX_VALUE;
+    private static final long NO_SEED = Long.MAX_VALUE;
+
+    // The 26 neighbors checked for air, faces first since those are the ones most likely to be open
+    private static final BlockPos[] NEIGHBOR_OFFSETS = createNeighborOffsets();
+
+    private static class DimensionFrontier
+    {
+        // Column key -> bitset of sections in that column
+        private final Long2LongOpenHashMap frontierSections = new Long2LongOpenHashMap();
+        private final Long2LongOpenHashMap fullyInfestedSections = new Long2LongOpenHashMap();
+        // Section key -> packed position where infection can continue. Not saved, found again by verifying the section.
+        // Only sections that are set in frontierSections count, so searches go through the bitsets first.
+        private final Long2LongOpenHashMap seedPositions = new Long2LongOpenHashMap();
+        // Frontier sections waiting to be verified, in round-robin order
+        private final LongArrayFIFOQueue sectionsToVerify = new LongArrayFIFOQueue();
+        // Chunk key -> frontier sections that could not be verified because the chunk was not loaded
+        private final Long2ObjectOpenHashMap<LongArrayList> sectionsWaitingForChunk = new Long2ObjectOpenHashMap<>();
+        // The section being verified right now, and the index of the next block in it to check
+        private long verifyingSection = NO_SECTION;
+        private int verifyingBlockIndex = 0;
+
+        private DimensionFrontier()
+        {
+            seedPositions.defaultReturnValue(NO_SEED);
+        }
+    }
+
+    private final Map<ResourceKey<Level>, DimensionFrontier> dimensions = new HashMap<>();
+
+    public InfectionFrontierTracker()
+    {
+
+    }
+
+    public static InfectionFrontierTracker getFrontierTracker()
+    {
+        return SculkHorde.infectionFrontierTracker;
+    }
+
+    // ###### Bitsets ######
+
+    private static long getColumnKey(long sectionKey)
+    {
+        return SectionPos.asLong(SectionPos.x(sectionKey), SectionPos.y(sectionKey) >> SECTIONS_PER_COLUMN_BITS, SectionPos.z(sectionKey));
+    }
+
+    private static long getBit(long sectionKey)
+    {
+        return 1L << (SectionPos.y(sectionKey) & SECTIONS_PER_COLUMN_MASK);
+    }
+
+    private static boolean isSet(Long2LongOpenHashMap bitsets, long sectionKey)
+    {
+        return (bitsets.get(getColumnKey(sectionKey)) & getBit(sectionKey)) != 0;
+    }
+
+    /**
+     * @return True if the bit was not set before
+     */
+    private static boolean set(Long2LongOpenHashMap bitsets, long sectionKey)
+    {
+        long columnKey = getColumnKey(sectionKey);
+        long bits = bitsets.get(columnKey);
+        long newBits = bits | getBit(sectionKey);
+        if(newBits == bits)
+        {
+            return false;
+        }
+        bitsets.put(columnKey, newBits);
+        return true;
+    }
+
+    /**
+     * @return True if the bit was set before
+     */
+    private static boolean clear(Long2LongOpenHashMap bitsets, long sectionKey)
+    {
+        long columnKey = getColumnKey(sectionKey);
+        long bits = bitsets.get(columnKey);
+        long newBits = bits & ~getBit(sectionKey);
+        if(newBits == bits)
+        {
+            return false;
+        }
+
+        if(newBits == 0)
+        {
+            bitsets.remove(columnKey);
+        }
+        else
+        {
+            bitsets.put(columnKey, newBits);
+        }
+        return true;
+    }
+
+    private static BlockPos[] createNeighborOffsets()
+    {
+        BlockPos[] offsets = new BlockPos[26];
+        int index = 0;
+        for(Direction direction : Direction.values())
+        {
+            offsets[index++] = BlockPos.ZERO.relative(direction);
+        }
+
+        for(int x = -1; x <= 1; x++) {
+            for(int y = -1; y <= 1; y++) {
+                for(int z = -1; z <= 1; z++) {
+                    // Skip the block itself and the faces we already added
+                    if(Math.abs(x) + Math.abs(y) + Math.abs(z) > 1)
+                    {
+                        offsets[index++] = new BlockPos(x, y, z);
+                    }
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private DimensionFrontier getOrCreate(ResourceKey<Level> dimension)
+    {
+        return dimensions.computeIfAbsent(dimension, key -> new DimensionFrontier());
+    }
+
+    private static void markDirty()
+    {
+        if(SculkHorde.savedData != null)
+        {
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.INFECTION_FRONTIER);
+        }
+    }
+
+    // ###### Updates ######
+
+    /**
+     * Gets called when a block was infested. Its section is now part of the frontier.
+     * @param level The level
+     * @param pos The infested block
+     */
+    public void onBlockInfested(ServerLevel level, BlockPos pos)
+    {
+        DimensionFrontier frontier = getOrCreate(level.dimension());
+        long sectionKey = SectionPos.asLong(pos);
+
+        frontier.seedPositions.put(sectionKey, pos.asLong());
+        clear(frontier.fullyInfestedSections, sectionKey);
+        if(set(frontier.frontierSections, sectionKey))
+        {
+            frontier.sectionsToVerify.enqueue(sectionKey);
+            markDirty();
+        }
+    }
+
+    /**
+     * Gets called when a block was cured. If its section was fully infested, it rejoins the frontier.
+     * @param level The level
+     * @param pos The cured block
+     */
+    public void onBlockCured(ServerLevel level, BlockPos pos)
+    {
+        DimensionFrontier frontier = dimensions.get(level.dimension());
+        long sectionKey = SectionPos.asLong(pos);
+        if(frontier == null)
+        {
+            return;
+        }
+
+        if(!clear(frontier.fullyInfestedSections, sectionKey))
+        {
+            restartVerifyIfCured(frontier, sectionKey);
+            return;
+        }
+
+        frontier.seedPositions.put(sectionKey, pos.asLong());
+        set(frontier.frontierSections, sectionKey);
+        frontier.sectionsToVerify.enqueue(sectionKey);
+        markDirty();
+    }
+
+    /**
+     * Gets called when a block was cured in a section that is still part of the frontier.
+     * If that section is being verified right now, the block might have been checked already, so start over.
+     */
+    private static void restartVerifyIfCured(DimensionFrontier frontier, long sectionKey)
+    {
+        if(frontier.verifyingSection == sectionKey)
+        {
+            frontier.verifyingBlockIndex = 0;
+        }
+    }
+
+    public void serverTick()
+    {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if(server == null)
+        {
+            return;
+        }
+
+        for(Map.Entry<ResourceKey<Level>, DimensionFrontier> entry : dimensions.entrySet())
+        {
+            ServerLevel level = server.getLevel(entry.getKey());
+            if(level == null)
+            {
+                continue;
+            }
+
+            DimensionFrontier frontier = entry.getValue();
+            int blockBudget = BLOCKS_VERIFIED_PER_TICK;
+            // Sections that are skipped cost no blocks, so also stop once every queued section had its turn
+            int sectionsLeft = frontier.sectionsToVerify.size();
+            while(blockBudget > 0 && (frontier.verifyingSection != NO_SECTION || sectionsLeft-- > 0))
+            {
+                if(frontier.verifyingSection == NO_SECTION)
+                {
+                    frontier.verifyingSection = frontier.sectionsToVerify.dequeueLong();
+                    frontier.verifyingBlockIndex = 0;
+                }
+                blockBudget -= verifySection(level, frontier, blockBudget);
+            }
+        }
+    }
+
+    /**
+     * Gets called when a chunk loads. Its frontier sections that were waiting for it get verified again.
+     * @param level The level
+     * @param chunkPos The chunk
+     */
+    public void onChunkLoad(ServerLevel level, ChunkPos chunkPos)
+    {
+        DimensionFrontier frontier = dimensions.get(level.dimension());
+        if(frontier == null || frontier.sectionsWaitingForChunk.isEmpty())
+        {
+            return;
+        }
+
+        LongArrayList waitingSections = frontier.sectionsWaitingForChunk.remove(chunkPos.toLong());
+        if(waitingSections == null)
+        {
+            return;
+        }
+
+        for(int i = 0; i < waitingSections.size(); i++)
+        {
+            frontier.sectionsToVerify.enqueue(waitingSections.getLong(i));
+        }
+    }
+
+    private static void finishVerifying(DimensionFrontier frontier, boolean isStillFrontier)
+    {
+        if(isStillFrontier)
+        {
+            frontier.sectionsToVerify.enqueue(frontier.verifyingSection);
+        }
+        frontier.verifyingSection = NO_SECTION;
+        frontier.verifyingBlockIndex = 0;
+    }
+
+    /**
+     * Checks if the section being verified still has something to infect. If it does, it goes to the back of the queue.
+     * Checks at most blockBudget blocks, and continues where it stopped the next time.
+     * @return How many blocks were checked
+     */
+    private int verifySection(ServerLevel level, DimensionFrontier frontier, int blockBudget)
+    {
+        long sectionKey = frontier.verifyingSection;
+
+        // Cured or infested again while waiting in the queue
+        if(!isSet(frontier.frontierSections, sectionKey))
+        {
+            finishVerifying(frontier, false);
+            return 0;
+        }
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(SectionPos.x(sectionKey), SectionPos.z(sectionKey));
+        if(chunk == null)
+        {
+            // Not loaded, wait for the chunk to load before checking again
+            long chunkKey = ChunkPos.asLong(SectionPos.x(sectionKey), SectionPos.z(sectionKey));
+            frontier.sectionsWaitingForChunk.computeIfAbsent(chunkKey, key -> new LongArrayList()).add(sectionKey);
+            finishVerifying(frontier, false);
+            return 0;
+        }
+
+        int sectionIndex = level.getSectionIndexFromSectionY(SectionPos.y(sectionKey));
+        if(sectionIndex < 0 || sectionIndex >= chunk.getSections().length)
+        {
+            // Outside the build height, there is nothing to verify
+            finishVerifying(frontier, false);
+            return 0;
+        }
+
+        LevelChunkSection section = chunk.getSection(sectionIndex);
+        // The palette tells us if there is anything infectable in the section at all
+        int blocksChecked = 0;
+        long seed = Long.MAX_VALUE;
+        if(BlockInfestationCache.canSectionContainInfectableBlocks(section))
+        {
+            int endIndex = Math.min(BLOCKS_PER_SECTION, frontier.verifyingBlockIndex + blockBudget);
+            seed = findInfectableSurfaceBlock(level, chunk, section, sectionKey, frontier.verifyingBlockIndex, endIndex);
+            blocksChecked = endIndex - frontier.verifyingBlockIndex;
+
+            // Ran out of budget, continue next tick
+            if(seed == Long.MAX_VALUE && endIndex < BLOCKS_PER_SECTION)
+            {
+                frontier.verifyingBlockIndex = endIndex;
+                return blocksChecked;
+            }
+        }
+
+        if(seed != Long.MAX_VALUE)
+        {
+            frontier.seedPositions.put(sectionKey, seed);
+            finishVerifying(frontier, true);
+            return blocksChecked;
+        }
+
+        clear(frontier.frontierSections, sectionKey);
+        set(frontier.fullyInfestedSections, sectionKey);
+        frontier.seedPositions.remove(sectionKey);
+        finishVerifying(frontier, false);
+        markDirty();
+        return blocksChecked;
+    }
+
+    /**
+     * Looks for a block a cursor could infect in part of a section.
+     * Blocks are numbered x first, then z, then y, so startIndex 0 and endIndex 4096 is the whole section.
+     * @return The packed position, or Long.MAX_VALUE if there is none
+     */
+    private static long findInfectableSurfaceBlock(ServerLevel level, LevelChunk chunk, LevelChunkSection section, long sectionKey, int startIndex, int endIndex)
+    {
+        int minX = SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey));
+        int minY = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+        int minZ = SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey));
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos neighborPos = new BlockPos.MutableBlockPos();
+
+        for(int index = startIndex; index < endIndex; index++)
+        {
+            int x = index & 15;
+            int z = (index >> 4) & 15;
+            int y = index >> 8;
+            BlockState state = section.getBlockState(x, y, z);
+            // Cheap check first, only look at the neighbors of blocks that could be infected
+            if(!BlockInfestationCache.isStateInfectable(state))
+            {
+                continue;
+            }
+
+            pos.set(minX + x, minY + y, minZ + z);
+            if(BlockInfestationCache.isInfectable(level, pos, state) && isExposedToLoadedAir(level, chunk, pos, neighborPos))
+            {
+                return pos.asLong();
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Works like {@link BlockAlgorithms#isExposedToAir(net.minecraft.world.level.BlockGetter, BlockPos)},
+     * but never loads a chunk. Neighbors in chunks that are not loaded are skipped.
+     * @param chunk The chunk the position is in
+     */
+    private static boolean isExposedToLoadedAir(ServerLevel level, LevelChunk chunk, BlockPos pos, BlockPos.MutableBlockPos neighborPos)
+    {
+        for(BlockPos offset : NEIGHBOR_OFFSETS)
+        {
+            neighborPos.setWithOffset(pos, offset);
+
+            LevelChunk neighborChunk = chunk;
+            int chunkX = SectionPos.blockToSectionCoord(neighborPos.getX());
+            int chunkZ = SectionPos.blockToSectionCoord(neighborPos.getZ());
+            if(chunkX != chunk.getPos().x || chunkZ != chunk.getPos().z)
+            {
+                neighborChunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if(neighborChunk == null)
+                {
+                    continue;
+                }
+            }
+
+            if(BlockAlgorithms.isNotSolid(level, neighborPos, neighborChunk.getBlockState(neighborPos)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ###### Queries ######
+
+    public boolean isFrontier(ServerLevel level, BlockPos pos)
+    {
+        DimensionFrontier frontier = dimensions.get(level.dimension());
+        return frontier != null && isSet(frontier.frontierSections, SectionPos.asLong(pos));
+    }
+
+    public boolean isFullyInfested(ServerLevel level, BlockPos pos)
+    {
+        DimensionFrontier frontier = dimensions.get(level.dimension());
+        return frontier != null && isSet(frontier.fullyInfestedSections, SectionPos.asLong(pos));
+    }
+
+    public int getFrontierSectionCount()
+    {
+        int count = 0;
+        for(DimensionFrontier frontier : dimensions.values())
+        {
+            for(long bits : frontier.frontierSections.values())
+            {
+                count += Long.bitCount(bits);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the closest frontier section in a direction, and returns a position in it where a cursor can start.
+     * Searches outward from the origin one ring of section columns at a time, and stops once no closer ring is left.
+     * @param level The level
+     * @param origin Where the search starts from, usually a node
+     * @param maxDistance How far away the section can be
+     * @param direction Only sections on this side of the origin are considered
+     * @return A loaded position to start a cursor at, if any
+     */
+    public Optional<BlockPos> findSeedPosition(ServerLevel level, BlockPos origin, int maxDistance, Direction direction)
+    {
+        DimensionFrontier frontier = dimensions.get(level.dimension());
+        if(frontier == null || frontier.frontierSections.isEmpty())
+        {
+            return Optional.empty();
+        }
+
+        int originSectionX = SectionPos.blockToSectionCoord(origin.getX());
+        int originSectionZ = SectionPos.blockToSectionCoord(origin.getZ());
+        int minSectionY = SectionPos.blockToSectionCoord(origin.getY() - maxDistance);
+        int maxSectionY = SectionPos.blockToSectionCoord(origin.getY() + maxDistance);
+        int maxRing = SectionPos.blockToSectionCoord(maxDistance) + 1;
+        long maxDistanceSquared = (long) maxDistance * maxDistance;
+
+        long closestSeed = NO_SEED;
+        // Search rings of columns around the origin, closest first
+        for(int ring = 0; ring <= maxRing; ring++)
+        {
+            // Every block in this ring is at least this far away, so once a seed is closer than that we are done
+            long ringDistance = Math.max(0, ring - 1) * 16L;
+            long closestDistance = closestSeed == NO_SEED ? maxDistanceSquared : getDistanceSquared(origin, closestSeed);
+            if(ringDistance * ringDistance >= closestDistance)
+            {
+                break;
+            }
+
+            for(int dz = -ring; dz <= ring; dz++)
+            {
+                // Only the edge of the ring, the inside was searched already
+                int dxStep = Math.abs(dz) == ring ? 1 : Math.max(1, ring * 2);
+                for(int dx = -ring; dx <= ring; dx += dxStep)
+                {
+                    closestSeed = findClosestSeedInColumn(level, frontier, originSectionX + dx, originSectionZ + dz, minSectionY, maxSectionY, origin, direction, closestSeed, maxDistanceSquared);
+                }
+            }
+        }
+
+        return closestSeed == NO_SEED ? Optional.empty() : Optional.of(BlockPos.of(closestSeed));
+    }
+
+    private static long getDistanceSquared(BlockPos origin, long packedPos)
+    {
+        long dx = BlockPos.getX(packedPos) - origin.getX();
+        long dy = BlockPos.getY(packedPos) - origin.getY();
+        long dz = BlockPos.getZ(packedPos) - origin.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Looks at the frontier sections of one column, between two section heights.
+     * @return The closest seed so far, either the one passed in or a closer one from this column
+     */
+    private static long findClosestSeedInColumn(ServerLevel level, DimensionFrontier frontier, int sectionX, int sectionZ, int minSectionY, int maxSectionY, BlockPos origin, Direction direction, long closestSeed, long maxDistanceSquared)
+    {
+        long closestDistance = closestSeed == NO_SEED ? maxDistanceSquared : getDistanceSquared(origin, closestSeed);
+
+        for(int columnY = minSectionY >> SECTIONS_PER_COLUMN_BITS; columnY <= maxSectionY >> SECTIONS_PER_COLUMN_BITS; columnY++)
+        {
+            long bits = frontier.frontierSections.get(SectionPos.asLong(sectionX, columnY, sectionZ));
+            while(bits != 0)
+            {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int sectionY = (columnY << SECTIONS_PER_COLUMN_BITS) | bit;
+                if(sectionY < minSectionY || sectionY > maxSectionY)
+                {
+                    continue;
+                }
+
+                long seed = frontier.seedPositions.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+                if(seed == NO_SEED)
+                {
+                    continue;
+                }
+
+                // Only look on our side of the origin
+                long dx = BlockPos.getX(seed) - origin.getX();
+                long dy = BlockPos.getY(seed) - origin.getY();
+                long dz = BlockPos.getZ(seed) - origin.getZ();
+                if(dx * direction.getStepX() + dy * direction.getStepY() + dz * direction.getStepZ() <= 0)
+                {
+                    continue;
+                }
+
+                long distance = dx * dx + dy * dy + dz * dz;
+                if(distance < closestDistance && level.isLoaded(BlockPos.of(seed)))
+                {
+                    closestSeed = seed;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return closestSeed;
+    }
+
+    // ###### Saving ######
+
+    private static void writeBitsets(CompoundTag tag, String name, Long2LongOpenHashMap bitsets)
+    {
+        long[] keys = new long[bitsets.size()];
+        long[] bits = new long[bitsets.size()];
+        int index = 0;
+        for(Long2LongMap.Entry entry : bitsets.long2LongEntrySet())
+        {
+            keys[index] = entry.getLongKey();
+            bits[index] = entry.getLongValue();
+            index++;
+        }
+        tag.put(name + "Keys", new LongArrayTag(keys));
+        tag.put(name + "Bits", new LongArrayTag(bits));
+    }
+
+    private static void readBitsets(CompoundTag tag, String name, Long2LongOpenHashMap bitsets)
+    {
+        long[] keys = tag.getLongArray(name + "Keys");
+        long[] bits = tag.getLongArray(name + "Bits");
+        for(int i = 0; i < Math.min(keys.length, bits.length); i++)
+        {
+            bitsets.put(keys[i], bits[i]);
+        }
+    }
+
+    public static void load(CompoundTag tag)
+    {
+        if(getFrontierTracker() == null)
+        {
+            SculkHorde.LOGGER.error("InfectionFrontierTracker is null. Cannot Load");
+            return;
+        }
+
+        getFrontierTracker().dimensions.clear();
+        ListTag dimensionsTag = tag.getList("infectionFrontier", 10);
+        for(int i = 0; i < dimensionsTag.size(); i++)
+        {
+            CompoundTag dimensionTag = dimensionsTag.getCompound(i);
+            ResourceKey<Level> dimension = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(dimensionTag.getString("dimension")));
+            DimensionFrontier frontier = getFrontierTracker().getOrCreate(dimension);
+            readBitsets(dimensionTag, "frontier", frontier.frontierSections);
+            readBitsets(dimensionTag, "fullyInfested", frontier.fullyInfestedSections);
+
+            // Seeds are not saved, verifying the sections finds them again
+            for(Long2LongMap.Entry entry : frontier.frontierSections.long2LongEntrySet())
+            {
+                long columnKey = entry.getLongKey();
+                long bits = entry.getLongValue();
+                while(bits != 0)
+                {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int sectionY = (SectionPos.y(columnKey) << SECTIONS_PER_COLUMN_BITS) | bit;
+                    frontier.sectionsToVerify.enqueue(SectionPos.asLong(SectionPos.x(columnKey), sectionY, SectionPos.z(columnKey)));
+                }
+            }
+        }
+    }
+
+    public static CompoundTag save(CompoundTag tag)
+    {
+        if(getFrontierTracker() == null)
+        {
+            SculkHorde.LOGGER.error("InfectionFrontierTracker is null. Cannot Save");
+            return tag;
+        }
+
+        ListTag dimensionsTag = new ListTag();
+        for(Map.Entry<ResourceKey<Level>, DimensionFrontier> entry : getFrontierTracker().dimensions.entrySet())
+        {
+            CompoundTag dimensionTag = new CompoundTag();
+            dimensionTag.putString("dimension", entry.getKey().location().toString());
+            writeBitsets(dimensionTag, "frontier", entry.getValue().frontierSections);
+            writeBitsets(dimensionTag, "fullyInfested", entry.getValue().fullyInfestedSections);
+            dimensionsTag.add(dimensionTag);
+        }
+        tag.put("infectionFrontier", dimensionsTag);
+        return tag;
+    }
+}
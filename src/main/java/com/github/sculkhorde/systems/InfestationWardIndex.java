@@ -0,0 +1,197 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.core.ModBlocks;
+import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.util.BlockAlgorithms;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of every infestation ward block in loaded chunks. <br>
+ * Cursors check for wards around every block they look at, which used to take 27 block reads.
+ * Here, every position within one block of a ward is counted, so the check is a single lookup. <br>
+ * Chunks are scanned for wards when they load and forgotten when they unload. Wards placed or broken
+ * in between update the index themselves. For chunks that were never scanned, we read the blocks like before.
+ */
+public class InfestationWardIndex {
+
+    private static class LevelIndex
+    {
+        // How many wards are within one block of a position, for every position near a ward
+        private final Long2IntOpenHashMap wardsNearby = new Long2IntOpenHashMap();
+        // The wards of every chunk that was scanned
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> wardsByChunk = new Long2ObjectOpenHashMap<>();
+    }
+
+    private final Map<ResourceKey<Level>, LevelIndex> levels = new HashMap<>();
+
+    public InfestationWardIndex()
+    {
+
+    }
+
+    public static InfestationWardIndex getInfestationWardIndex()
+    {
+        return SculkHorde.infestationWardIndex;
+    }
+
+    private LevelIndex getLevelIndex(ResourceKey<Level> dimension)
+    {
+        return levels.computeIfAbsent(dimension, key -> new LevelIndex());
+    }
+
+    private static void countWard(LevelIndex index, long wardPos, int amount)
+    {
+        int wardX = BlockPos.getX(wardPos);
+        int wardY = BlockPos.getY(wardPos);
+        int wardZ = BlockPos.getZ(wardPos);
+        for(int x = -1; x <= 1; x++) {
+            for(int y = -1; y <= 1; y++) {
+                for(int z = -1; z <= 1; z++) {
+                    long nearbyPos = BlockPos.asLong(wardX + x, wardY + y, wardZ + z);
+                    int count = index.wardsNearby.get(nearbyPos) + amount;
+                    if(count <= 0)
+                    {
+                        index.wardsNearby.remove(nearbyPos);
+                    }
+                    else
+                    {
+                        index.wardsNearby.put(nearbyPos, count);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a chunk that just loaded for wards.
+     * @param level The level
+     * @param chunk The chunk
+     */
+    public void onChunkLoad(ServerLevel level, LevelChunk chunk)
+    {
+        LevelIndex index = getLevelIndex(level.dimension());
+        long chunkKey = chunk.getPos().toLong();
+        if(index.wardsByChunk.containsKey(chunkKey))
+        {
+            return;
+        }
+
+        Block wardBlock = ModBlocks.INFESTATION_WARD_BLOCK.get();
+        LongOpenHashSet wards = new LongOpenHashSet();
+        LevelChunkSection[] sections = chunk.getSections();
+        for(int sectionIndex = 0; sectionIndex < sections.length; sectionIndex++)
+        {
+            LevelChunkSection section = sections[sectionIndex];
+            // The palette tells us if a ward could be in the section, without looking at every block
+            if(section == null || section.hasOnlyAir() || !section.getStates().maybeHas(state -> state.is(wardBlock)))
+            {
+                continue;
+            }
+
+            int minX = chunk.getPos().getMinBlockX();
+            int minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(sectionIndex));
+            int minZ = chunk.getPos().getMinBlockZ();
+            for(int y = 0; y < SectionPos.SECTION_SIZE; y++) {
+                for(int z = 0; z < SectionPos.SECTION_SIZE; z++) {
+                    for(int x = 0; x < SectionPos.SECTION_SIZE; x++) {
+                        if(section.getBlockState(x, y, z).is(wardBlock))
+                        {
+                            long wardPos = BlockPos.asLong(minX + x, minY + y, minZ + z);
+                            wards.add(wardPos);
+                            countWard(index, wardPos, 1);
+                        }
+                    }
+                }
+            }
+        }
+        index.wardsByChunk.put(chunkKey, wards);
+    }
+
+    /**
+     * Forgets the wards of a chunk that unloaded.
+     * @param level The level
+     * @param chunkPos The position of the chunk
+     */
+    public void onChunkUnload(ServerLevel level, ChunkPos chunkPos)
+    {
+        LevelIndex index = levels.get(level.dimension());
+        if(index == null)
+        {
+            return;
+        }
+
+        LongOpenHashSet wards = index.wardsByChunk.remove(chunkPos.toLong());
+        if(wards != null)
+        {
+            wards.forEach(wardPos -> countWard(index, wardPos, -1));
+        }
+    }
+
+    /**
+     * Gets called when a ward is placed.
+     * @param level The level
+     * @param pos The position of the ward
+     */
+    public void onWardPlaced(ServerLevel level, BlockPos pos)
+    {
+        LevelIndex index = getLevelIndex(level.dimension());
+        LongOpenHashSet wards = index.wardsByChunk.get(ChunkPos.asLong(pos));
+        // If the chunk was not scanned yet, the ward will be found when it is
+        if(wards != null && wards.add(pos.asLong()))
+        {
+            countWard(index, pos.asLong(), 1);
+        }
+    }
+
+    /**
+     * Gets called when a ward is broken or replaced.
+     * @param level The level
+     * @param pos The position of the ward
+     */
+    public void onWardRemoved(ServerLevel level, BlockPos pos)
+    {
+        LevelIndex index = getLevelIndex(level.dimension());
+        LongOpenHashSet wards = index.wardsByChunk.get(ChunkPos.asLong(pos));
+        if(wards != null && wards.remove(pos.asLong()))
+        {
+            countWard(index, pos.asLong(), -1);
+        }
+    }
+
+    /**
+     * Works like {@link BlockAlgorithms#isExposedToInfestationWardBlock(BlockGetter, BlockPos)}.
+     * @param dimension The dimension of the position
+     * @param blockGetter Where to read the blocks from, if the chunks around the position were not scanned
+     * @param pos The position
+     * @return True if the position is a ward, or is next to one
+     */
+    public boolean isExposedToInfestationWardBlock(ResourceKey<Level> dimension, BlockGetter blockGetter, BlockPos pos)
+    {
+        LevelIndex index = levels.get(dimension);
+        if(index == null
+                || !index.wardsByChunk.containsKey(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX() - 1), SectionPos.blockToSectionCoord(pos.getZ() - 1)))
+                || !index.wardsByChunk.containsKey(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX() - 1), SectionPos.blockToSectionCoord(pos.getZ() + 1)))
+                || !index.wardsByChunk.containsKey(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX() + 1), SectionPos.blockToSectionCoord(pos.getZ() - 1)))
+                || !index.wardsByChunk.containsKey(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX() + 1), SectionPos.blockToSectionCoord(pos.getZ() + 1))))
+        {
+            return BlockAlgorithms.isExposedToInfestationWardBlock(blockGetter, pos);
+        }
+
+        return index.wardsNearby.containsKey(pos.asLong());
+    }
+}
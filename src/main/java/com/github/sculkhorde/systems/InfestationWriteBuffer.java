@@ -0,0 +1,148 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.core.SculkHorde;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the block conversions done by infestation and purification during a tick. <br>
+ * When the horde spreads quickly, every converted block used to cause a full round of neighbor updates,
+ * two sounds and a particle packet. Here, the sounds and particles are merged into one effect per chunk section,
+ * sent when the tick ends. Neighbor updates still happen for every block, since other mods rely on them.
+ */
+public class InfestationWriteBuffer {
+
+    private static final int PARTICLES_PER_INFESTATION = 2;
+    private static final int MAX_PARTICLES_PER_SECTION = 8;
+
+    private static class SectionBatch
+    {
+        private int infestedBlocks = 0;
+        // Effects are played at the last block converted in the section
+        private long lastInfestedPos;
+    }
+
+    private final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<SectionBatch>> batches = new HashMap<>();
+    // Every block changed through this buffer, including follow-up writes like flora, veins and grass
+    private long changedBlocksCount = 0;
+    // Only the blocks that were actually infested or cured, per dimension
+    private final Object2LongOpenHashMap<ResourceKey<Level>> infestedBlocksCounts = new Object2LongOpenHashMap<>();
+    private final Object2LongOpenHashMap<ResourceKey<Level>> curedBlocksCounts = new Object2LongOpenHashMap<>();
+
+    public InfestationWriteBuffer()
+    {
+
+    }
+
+    public long getChangedBlocksCount()
+    {
+        return changedBlocksCount;
+    }
+
+    public long getInfestedBlocksCount(ResourceKey<Level> dimension)
+    {
+        return infestedBlocksCounts.getLong(dimension);
+    }
+
+    public long getCuredBlocksCount(ResourceKey<Level> dimension)
+    {
+        return curedBlocksCounts.getLong(dimension);
+    }
+
+    public void onBlockInfested(ServerLevel level)
+    {
+        infestedBlocksCounts.addTo(level.dimension(), 1);
+    }
+
+    public void onBlockCured(ServerLevel level)
+    {
+        curedBlocksCounts.addTo(level.dimension(), 1);
+    }
+
+    /**
+     * Replaces a block right away, with the usual neighbor updates.
+     * Other mods and our own structure watcher listen for those, so they are never skipped.
+     * @param level The level
+     * @param pos The position
+     * @param newState The new block
+     * @return True if the block was changed
+     */
+    public boolean convertBlock(ServerLevel level, BlockPos pos, BlockState newState)
+    {
+        boolean wasChanged = level.setBlock(pos, newState, Block.UPDATE_ALL);
+        if(wasChanged)
+        {
+            changedBlocksCount++;
+            SculkHorde.airExposureCache.onBlockChanged(level, pos);
+        }
+        return wasChanged;
+    }
+
+    /**
+     * Queues the sounds and particles of an infested block. They are played when the tick ends.
+     * @param level The level
+     * @param pos The infested block
+     */
+    public void queueInfestationEffects(ServerLevel level, BlockPos pos)
+    {
+        SectionBatch batch = batches.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(SectionPos.asLong(pos), key -> new SectionBatch());
+        batch.infestedBlocks++;
+        batch.lastInfestedPos = pos.asLong();
+    }
+
+    /**
+     * Plays the effects collected this tick. Call this once every server tick, after all the levels ticked.
+     * @param server The server
+     */
+    public void flush(MinecraftServer server)
+    {
+        if(batches.isEmpty())
+        {
+            return;
+        }
+
+        for(Map.Entry<ResourceKey<Level>, Long2ObjectOpenHashMap<SectionBatch>> entry : batches.entrySet())
+        {
+            ServerLevel level = server.getLevel(entry.getKey());
+            if(level == null)
+            {
+                continue;
+            }
+
+            for(SectionBatch batch : entry.getValue().values())
+            {
+                playInfestationEffects(level, batch);
+            }
+        }
+        batches.clear();
+    }
+
+    private static void playInfestationEffects(ServerLevel level, SectionBatch batch)
+    {
+        if(batch.infestedBlocks <= 0)
+        {
+            return;
+        }
+
+        BlockPos pos = BlockPos.of(batch.lastInfestedPos);
+        int particleCount = Math.min(batch.infestedBlocks * PARTICLES_PER_INFESTATION, MAX_PARTICLES_PER_SECTION);
+        level.sendParticles(ParticleTypes.SCULK_CHARGE_POP, pos.getX() + 0.5D, pos.getY() + 1.15D, pos.getZ() + 0.5D, particleCount, 0.2D, 0.0D, 0.2D, 0.0D);
+        level.playSound(null, pos, SoundEvents.SCULK_CATALYST_BLOOM, SoundSource.BLOCKS, 2.0F, 0.6F + level.getRandom().nextFloat() * 0.4F);
+        level.playSound(null, pos, SoundEvents.SCULK_BLOCK_SPREAD, SoundSource.BLOCKS, 2.0F, 0.6F + 1.0F);
+    }
+}
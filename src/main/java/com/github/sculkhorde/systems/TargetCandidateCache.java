@@ -0,0 +1,277 @@
+package com.github.sculkhorde.systems;
+
+import com.github.sculkhorde.util.TickUnits;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Shares the results of target searches between sculk mobs. <br>
+ * Sculk mobs usually stand in groups, and every one of them used to ask the level for all living entities
+ * in its follow range. Here, the world is split into regions of 32x32x32 blocks. The first mob that needs a region
+ * asks the level once, and every other mob reuses that list and only applies its own filter. <br>
+ * Mobs only search every few seconds, each on its own tick, so lists are kept for as long as that interval.
+ * A region is forgotten early when a living entity moves into or out of it, or joins or leaves the level,
+ * so the lists never miss anyone for long. <br>
+ * Searches over a very large area use a single query instead, since asking for every region would cost more.
+ */
+public class TargetCandidateCache {
+
+    // 2 chunk sections
+    private static final int REGION_SHIFT = 5;
+    // Same as the target search interval of NearestLivingEntityTargetGoal
+    private static final int REGION_LIFETIME_TICKS = TickUnits.convertSecondsToTicks(2);
+    // A follow range of 32 blocks covers up to 4x4x4 regions, anything bigger is searched with a single query
+    private static final int MAX_REGIONS_PER_SEARCH = 4 * 4 * 4;
+
+    private static class Region
+    {
+        private final List<LivingEntity> entities;
+        private final long gameTime;
+
+        private Region(List<LivingEntity> entities, long gameTime)
+        {
+            this.entities = entities;
+            this.gameTime = gameTime;
+        }
+    }
+
+    private static class LevelCache
+    {
+        private long lastCleanupGameTime = 0;
+        private final Long2ObjectOpenHashMap<Region> regions = new Long2ObjectOpenHashMap<>();
+    }
+
+    private final Map<ResourceKey<Level>, LevelCache> levels = new HashMap<>();
+    private long regionQueriesCount = 0;
+    private long regionHitsCount = 0;
+    private long areaQueriesCount = 0;
+
+    public TargetCandidateCache()
+    {
+
+    }
+
+    /**
+     * @return How many times a search asked for a region, shown in the benchmark results
+     */
+    public long getRegionQueriesCount()
+    {
+        return regionQueriesCount;
+    }
+
+    /**
+     * @return How many of those regions were already cached
+     */
+    public long getRegionHitsCount()
+    {
+        return regionHitsCount;
+    }
+
+    /**
+     * @return How many searches covered too many regions, and asked the level for their whole area instead
+     */
+    public long getAreaQueriesCount()
+    {
+        return areaQueriesCount;
+    }
+
+    private static boolean isExpired(Region region, long gameTime)
+    {
+        return gameTime < region.gameTime || gameTime - region.gameTime >= REGION_LIFETIME_TICKS;
+    }
+
+    /**
+     * Forget everything. Gets called when a world loads, so no lists from another world are reused.
+     */
+    public void clear()
+    {
+        levels.clear();
+    }
+
+    private LevelCache getLevelCache(Level level)
+    {
+        LevelCache cache = levels.computeIfAbsent(level.dimension(), key -> new LevelCache());
+        long gameTime = level.getGameTime();
+
+        // Drop expired regions every now and then, so regions nobody asks about again do not pile up
+        if(gameTime < cache.lastCleanupGameTime || gameTime - cache.lastCleanupGameTime >= REGION_LIFETIME_TICKS)
+        {
+            cache.lastCleanupGameTime = gameTime;
+            cache.regions.values().removeIf(region -> isExpired(region, gameTime));
+        }
+        return cache;
+    }
+
+    private static int toRegion(double blockCoordinate)
+    {
+        return Mth.floor(blockCoordinate) >> REGION_SHIFT;
+    }
+
+    private static long getRegionKey(Entity entity)
+    {
+        return SectionPos.asLong(toRegion(entity.getX()), toRegion(entity.getY()), toRegion(entity.getZ()));
+    }
+
+    /**
+     * @return Every living entity whose position is inside the region
+     */
+    private List<LivingEntity> getRegion(Level level, LevelCache cache, int regionX, int regionY, int regionZ)
+    {
+        regionQueriesCount++;
+        long regionKey = SectionPos.asLong(regionX, regionY, regionZ);
+        Region region = cache.regions.get(regionKey);
+        if(region != null && !isExpired(region, level.getGameTime()))
+        {
+            regionHitsCount++;
+            return region.entities;
+        }
+
+        int regionSize = 1 << REGION_SHIFT;
+        int minX = regionX << REGION_SHIFT;
+        int minY = regionY << REGION_SHIFT;
+        int minZ = regionZ << REGION_SHIFT;
+        AABB regionArea = new AABB(minX, minY, minZ, minX + regionSize, minY + regionSize, minZ + regionSize);
+
+        // The level returns entities whose box touches the region. Only keep those that are really in it,
+        // so an entity standing on the border between two regions is not returned twice.
+        List<LivingEntity> entities = level.getEntitiesOfClass(LivingEntity.class, regionArea, entity -> getRegionKey(entity) == regionKey);
+        cache.regions.put(regionKey, new Region(entities, level.getGameTime()));
+        return entities;
+    }
+
+    /**
+     * Checks an entity found by a search, and returns its distance to the searcher if it is a better target.
+     * @return The squared distance, or -1 if the entity should not be targeted
+     */
+    private static double getCandidateDistance(LivingEntity entity, Entity searcher, AABB searchArea, Predicate<LivingEntity> filter, double closestDistance)
+    {
+        // Lists are kept for a while, so entities in them might have been removed since
+        if(!entity.isAlive() || entity.isRemoved() || !searchArea.contains(entity.position()))
+        {
+            return -1;
+        }
+
+        // Check the distance first, it is a lot cheaper than most filters
+        double distance = entity.distanceToSqr(searcher);
+        if(distance < closestDistance && filter.test(entity))
+        {
+            return distance;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the closest living entity in an area that passes a filter.
+     * Entities are matched by their position, not their bounding box.
+     * @param level The level
+     * @param searcher The mob searching. Distance is measured from it.
+     * @param searchArea The area to look in
+     * @param filter The filter, usually from the TargetParameters of the mob
+     * @return The closest entity, or null if there is none
+     */
+    @Nullable
+    public LivingEntity findClosestTarget(Level level, Entity searcher, AABB searchArea, Predicate<LivingEntity> filter)
+    {
+        LivingEntity closestTarget = null;
+        double closestDistance = Double.MAX_VALUE;
+
+        long regionCount = (long) (toRegion(searchArea.maxX) - toRegion(searchArea.minX) + 1)
+                * (toRegion(searchArea.maxY) - toRegion(searchArea.minY) + 1)
+                * (toRegion(searchArea.maxZ) - toRegion(searchArea.minZ) + 1);
+        if(regionCount > MAX_REGIONS_PER_SEARCH)
+        {
+            areaQueriesCount++;
+            for(LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class, searchArea))
+            {
+                double distance = getCandidateDistance(entity, searcher, searchArea, filter, closestDistance);
+                if(distance >= 0)
+                {
+                    closestTarget = entity;
+                    closestDistance = distance;
+                }
+            }
+            return closestTarget;
+        }
+
+        LevelCache cache = getLevelCache(level);
+        for(int regionX = toRegion(searchArea.minX); regionX <= toRegion(searchArea.maxX); regionX++) {
+            for(int regionY = toRegion(searchArea.minY); regionY <= toRegion(searchArea.maxY); regionY++) {
+                for(int regionZ = toRegion(searchArea.minZ); regionZ <= toRegion(searchArea.maxZ); regionZ++) {
+                    for(LivingEntity entity : getRegion(level, cache, regionX, regionY, regionZ))
+                    {
+                        double distance = getCandidateDistance(entity, searcher, searchArea, filter, closestDistance);
+                        if(distance >= 0)
+                        {
+                            closestTarget = entity;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return closestTarget;
+    }
+
+    /**
+     * Gets called when an entity moves into another chunk section.
+     * If it also changed regions, both regions are forgotten, since their lists are now wrong.
+     * @param entity The entity
+     * @param oldSection The section it left
+     * @param newSection The section it entered
+     */
+    public void onEntityChangedSection(Entity entity, SectionPos oldSection, SectionPos newSection)
+    {
+        if(!(entity instanceof LivingEntity))
+        {
+            return;
+        }
+
+        LevelCache cache = levels.get(entity.level().dimension());
+        if(cache == null || cache.regions.isEmpty())
+        {
+            return;
+        }
+
+        int sectionToRegionShift = REGION_SHIFT - SectionPos.SECTION_BITS;
+        long oldRegionKey = SectionPos.asLong(oldSection.x() >> sectionToRegionShift, oldSection.y() >> sectionToRegionShift, oldSection.z() >> sectionToRegionShift);
+        long newRegionKey = SectionPos.asLong(newSection.x() >> sectionToRegionShift, newSection.y() >> sectionToRegionShift, newSection.z() >> sectionToRegionShift);
+        if(oldRegionKey != newRegionKey)
+        {
+            cache.regions.remove(oldRegionKey);
+            cache.regions.remove(newRegionKey);
+        }
+    }
+
+    /**
+     * Gets called when an entity joins or leaves a level.
+     * Its region is forgotten, so the entity shows up in searches, or stops being kept alive by a list.
+     * @param entity The entity
+     */
+    public void onEntityJoinedOrLeftLevel(Entity entity)
+    {
+        if(!(entity instanceof LivingEntity))
+        {
+            return;
+        }
+
+        LevelCache cache = levels.get(entity.level().dimension());
+        if(cache == null || cache.regions.isEmpty())
+        {
+            return;
+        }
+
+        cache.regions.remove(getRegionKey(entity));
+    }
+}
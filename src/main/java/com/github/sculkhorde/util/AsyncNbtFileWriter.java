@@ -0,0 +1,129 @@
+package com.github.sculkhorde.util;
+
+import com.github.sculkhorde.core.SculkHorde;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compresses and writes NBT files on a background thread. <br>
+ * The tag handed to this class must not be changed afterward, since the background thread reads it later. <br>
+ * Writes happen one at a time, in the order they were requested. If a newer write to the same file is
+ * already waiting, an older one is skipped, since it would be overwritten anyway. Each file is written
+ * to a temporary file first and then moved over the old one, so a crash in the middle of a write
+ * leaves the last complete save on disk. <br>
+ * Writes to different files never skip each other, so one writer can be shared between worlds.
+ */
+public class AsyncNbtFileWriter {
+
+    private final ExecutorService executor;
+    // The latest write requested for each file. Older writes to the same file are skipped.
+    private final Map<Path, Long> latestGenerations = new ConcurrentHashMap<>();
+    private long nextGeneration = 0;
+    private CompletableFuture<Void> pendingWrite = CompletableFuture.completedFuture(null);
+
+    public AsyncNbtFileWriter(String threadName)
+    {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a tag to be written to a file on the background thread.
+     * @param tag The tag. Must not be changed after calling this.
+     * @param file The file to write to
+     * @param onFailure Runs on the background thread if the write failed, so the data can be saved again later
+     */
+    public synchronized void writeAsync(CompoundTag tag, File file, Runnable onFailure)
+    {
+        Path path = getKey(file);
+        long generation = ++nextGeneration;
+        latestGenerations.put(path, generation);
+        pendingWrite = pendingWrite.thenRunAsync(() -> {
+            // A newer save of the same file is already waiting, no point in writing this one
+            if(latestGenerations.get(path) != generation)
+            {
+                return;
+            }
+
+            if(!write(tag, file))
+            {
+                onFailure.run();
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits for queued writes to finish, then writes the tag on the calling thread.
+     * Used when the server shuts down, where nothing may be left waiting.
+     * @param tag The tag
+     * @param file The file to write to
+     * @return True if the file was written
+     */
+    public synchronized boolean writeNow(CompoundTag tag, File file)
+    {
+        // Anything still waiting for this file is older than this tag
+        latestGenerations.put(getKey(file), ++nextGeneration);
+        waitForPendingWrites();
+        return write(tag, file);
+    }
+
+    private static Path getKey(File file)
+    {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Blocks until every queued write has finished.
+     */
+    public synchronized void waitForPendingWrites()
+    {
+        try
+        {
+            pendingWrite.join();
+        }
+        catch (Exception e)
+        {
+            SculkHorde.LOGGER.error("AsyncNbtFileWriter | A queued write failed", e);
+        }
+    }
+
+    private static boolean write(CompoundTag tag, File file)
+    {
+        Path path = file.toPath();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try
+        {
+            NbtIo.writeCompressed(tag, temporaryPath.toFile());
+            try
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }
+        // Catch everything, a failed write must not stop the writes queued after it
+        catch (IOException | RuntimeException e)
+        {
+            SculkHorde.LOGGER.error("AsyncNbtFileWriter | Could not save " + file, e);
+            return false;
+        }
+    }
+}
@@ -8,7 +8,9 @@ import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.FluidTags;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
@@ -233,89 +235,35 @@ public class BlockAlgorithms {
 
 
     /**
-     * Finds the location of the nearest block given a block state predicate.
+     * Finds every block in a cube that matches a block state predicate. See {@link SectionBlockScanner}.
      * @param level The world
      * @param origin The origin of the search location
      * @param predicate The predicate that determines if a block is the one were searching for
      * @param distance The search distance
-     * @return The position of the block
+     * @return The positions of the blocks, closest first
      */
     public static ArrayList<BlockPos> getBlocksInArea(ServerLevel level, BlockPos origin, Predicate<BlockState> predicate, int distance)
     {
-        ArrayList<BlockPos> list = new ArrayList<>();
-
-        BlockPos blockPos = origin;
-
-        // Define the bounds of the cube
-        int minX = blockPos.getX() - distance;
-        int minY = blockPos.getY() - distance;
-        int minZ = blockPos.getZ() - distance;
-        int maxX = blockPos.getX() + distance;
-        int maxY = blockPos.getY() + distance;
-        int maxZ = blockPos.getZ() + distance;
-
-        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    mutableBlockPos.set(x, y, z);
-                    if (level.getBlockState(mutableBlockPos).is(Blocks.AIR)) {
-                        continue;
-                    }
-                    if (predicate.test(level.getBlockState(mutableBlockPos))) {
-                        list.add(mutableBlockPos.immutable());
-                    }
-                }
-            }
-        }
-        return list;
+        return SectionBlockScanner.findAll(level, origin, distance, predicate, (pos, state) -> true);
     }
 
 
     /**
-     * Finds the location of the nearest block given a block state predicate.
+     * Finds every block in a cube that matches a BlockPos predicate. See {@link SectionBlockScanner}.
      * @param level The world
      * @param origin The origin of the search location
      * @param predicate The predicate that determines if a block is the one were searching for
      * @param distance The search distance
-     * @return The position of the block
+     * @return The positions of the blocks, closest first
      */
     public static ArrayList<BlockPos> getBlocksInAreaWithBlockPosPredicate(ServerLevel level, BlockPos origin, Predicate<BlockPos> predicate, int distance)
     {
-        ArrayList<BlockPos> list = new ArrayList<>();
-
-        BlockPos blockPos = origin;
-
-        // Define the bounds of the cube
-        int minX = blockPos.getX() - distance;
-        int minY = blockPos.getY() - distance;
-        int minZ = blockPos.getZ() - distance;
-        int maxX = blockPos.getX() + distance;
-        int maxY = blockPos.getY() + distance;
-        int maxZ = blockPos.getZ() + distance;
-
-        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    mutableBlockPos.set(x, y, z);
-                    if (level.getBlockState(mutableBlockPos).is(Blocks.AIR)) {
-                        continue;
-                    }
-                    if (predicate.test(mutableBlockPos)) {
-                        list.add(mutableBlockPos.immutable());
-                    }
-                }
-            }
-        }
-        return list;
+        return SectionBlockScanner.findAll(level, origin, distance, state -> true, (pos, state) -> predicate.test(pos));
     }
 
 
     /**
-     * Finds the location of the nearest block given a BlockPos predicate.
+     * Finds the location of the nearest block given a block state predicate. See {@link SectionBlockScanner}.
      * @param level The world
      * @param origin The origin of the search location
      * @param predicate The predicate that determines if a block is the one were searching for
@@ -323,37 +271,12 @@ public class BlockAlgorithms {
      * @return The position of the block
      */
     public static Optional<BlockPos> findBlockInCube(ServerLevel level, BlockPos origin, Predicate<BlockState> predicate, int distance) {
-        BlockPos blockPos = origin;
-
-        // Define the bounds of the cube
-        int minX = blockPos.getX() - distance;
-        int minY = blockPos.getY() - distance;
-        int minZ = blockPos.getZ() - distance;
-        int maxX = blockPos.getX() + distance;
-        int maxY = blockPos.getY() + distance;
-        int maxZ = blockPos.getZ() + distance;
-
-        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    mutableBlockPos.set(x, y, z);
-                    if (level.getBlockState(mutableBlockPos).is(Blocks.AIR)) {
-                        continue;
-                    }
-                    if (predicate.test(level.getBlockState(mutableBlockPos))) {
-                        return Optional.of(mutableBlockPos.immutable());
-                    }
-                }
-            }
-        }
-        return Optional.empty();
+        return SectionBlockScanner.findNearest(level, origin, distance, predicate, (pos, state) -> true);
     }
 
 
     /**
-     * Finds the location of the nearest block given a BlockPos predicate.
+     * Finds the location of the nearest block given a BlockPos predicate. See {@link SectionBlockScanner}.
      * @param level The world
      * @param origin The origin of the search location
      * @param predicate The predicate that determines if a block is the one were searching for
@@ -361,32 +284,7 @@ public class BlockAlgorithms {
      * @return The position of the block
      */
     public static Optional<BlockPos> findBlockInCubeBlockPosPredicate(ServerLevel level, BlockPos origin, Predicate<BlockPos> predicate, int distance) {
-        BlockPos blockPos = origin;
-
-        // Define the bounds of the cube
-        int minX = blockPos.getX() - distance;
-        int minY = blockPos.getY() - distance;
-        int minZ = blockPos.getZ() - distance;
-        int maxX = blockPos.getX() + distance;
-        int maxY = blockPos.getY() + distance;
-        int maxZ = blockPos.getZ() + distance;
-
-        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    mutableBlockPos.set(x, y, z);
-                    if (level.getBlockState(mutableBlockPos).is(Blocks.AIR)) {
-                        continue;
-                    }
-                    if (predicate.test(mutableBlockPos)) {
-                        return Optional.of(mutableBlockPos.immutable());
-                    }
-                }
-            }
-        }
-        return Optional.empty();
+        return SectionBlockScanner.findNearest(level, origin, distance, state -> true, (pos, state) -> predicate.test(pos));
     }
 
     /**
@@ -395,15 +293,23 @@ public class BlockAlgorithms {
      * @param targetPos The position to check
      * @return true if any air found, false otherwise
      */
-    public static boolean isExposedToAir(ServerLevel serverWorld, BlockPos targetPos)
+    public static boolean isExposedToAir(BlockGetter serverWorld, BlockPos targetPos)
     {
-        ArrayList<BlockPos> list = getAdjacentNeighbors(targetPos);
+        // Same positions as getAdjacentNeighbors(), without building a list for every check
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for(int x = -1; x <= 1; x++) {
+            for(int y = -1; y <= 1; y++) {
+                for(int z = -1; z <= 1; z++) {
+                    if(x == 0 && y == 0 && z == 0)
+                    {
+                        continue;
+                    }
 
-        for(BlockPos position : list)
-        {
-            if(BlockAlgorithms.isNotSolid(serverWorld, position))
-            {
-                return true;
+                    if(BlockAlgorithms.isNotSolid(serverWorld, position.setWithOffset(targetPos, x, y, z)))
+                    {
+                        return true;
+                    }
+                }
             }
         }
 
@@ -416,19 +322,19 @@ public class BlockAlgorithms {
      * @param targetPos The position to check
      * @return true if any air found, false otherwise
      */
-    public static boolean isExposedToInfestationWardBlock(ServerLevel serverWorld, BlockPos targetPos)
+    public static boolean isExposedToInfestationWardBlock(BlockGetter serverWorld, BlockPos targetPos)
     {
-        if(serverWorld.getBlockState(targetPos).is(ModBlocks.INFESTATION_WARD_BLOCK.get())) {
-            return true;
-        }
-
-        ArrayList<BlockPos> list = getAdjacentNeighbors(targetPos);
-
-        for(BlockPos position : list)
-        {
-            if(serverWorld.getBlockState(position).is(ModBlocks.INFESTATION_WARD_BLOCK.get()))
-            {
-                return true;
+        // The position itself and getAdjacentNeighbors(), without building a list for every check
+        Block wardBlock = ModBlocks.INFESTATION_WARD_BLOCK.get();
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for(int x = -1; x <= 1; x++) {
+            for(int y = -1; y <= 1; y++) {
+                for(int z = -1; z <= 1; z++) {
+                    if(serverWorld.getBlockState(position.setWithOffset(targetPos, x, y, z)).is(wardBlock))
+                    {
+                        return true;
+                    }
+                }
             }
         }
 
@@ -456,15 +362,14 @@ public class BlockAlgorithms {
         // If block is water loggable and in water and can survive, then place
         if(canBlockBeWaterLogged && fluidStateAtTargetPos.getType() == Fluids.WATER && blockState.canSurvive(world, targetPos))
         {
-            blockState.setValue(BlockStateProperties.WATERLOGGED, true); // This line doesnt work to set water logged
-            world.setBlockAndUpdate(targetPos, blockState);
-            world.setBlockAndUpdate(targetPos, world.getBlockState(targetPos).setValue(BlockStateProperties.WATERLOGGED, true)); // This one does though
+            // setValue returns a new state, it does not change the one we have
+            SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos, blockState.setValue(BlockStateProperties.WATERLOGGED, true));
         }
 
         //If block below target is valid and the target can be replaced by water and target is not waterloggable
         else if(blockState.canSurvive(world, targetPos) && (world.getBlockState(targetPos).isAir() || world.getBlockState(targetPos).is(Blocks.SNOW)))
         {
-            world.setBlockAndUpdate(targetPos, blockState);
+            SculkHorde.infestationWriteBuffer.convertBlock(world, targetPos, blockState);
         }
 
     }
@@ -562,8 +467,14 @@ public class BlockAlgorithms {
         return !isNotSolid(level, pos);
     }
 
-    public static boolean isNotSolid(ServerLevel level, BlockPos pos) {
-        BlockState state = level.getBlockState(pos);
+    public static boolean isNotSolid(BlockGetter level, BlockPos pos) {
+        return isNotSolid(level, pos, level.getBlockState(pos));
+    }
+
+    /**
+     * Same as {@link #isNotSolid(BlockGetter, BlockPos)}, for when the block state was already looked up.
+     */
+    public static boolean isNotSolid(BlockGetter level, BlockPos pos, BlockState state) {
         boolean canNotOcclude = !state.canOcclude();
         boolean isNotSolid = !state.isSolid();
         boolean isAir = state.isAir();
@@ -1,5 +1,7 @@
 package com.github.sculkhorde.util;
 
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.effect.MobEffectInstance;
@@ -31,11 +33,15 @@ public class BlockSearcher
     protected Predicate<BlockPos> isObstructed;
     protected Predicate<BlockPos> isValidTargetBlock;
 
-    ArrayList<BlockPos> queue = new ArrayList<BlockPos>();
+    // Plain Breadth-First Search frontier
+    protected LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+    // Frontier used when we have a position to move away from. Furthest positions come out first.
+    protected PackedBlockPosMaxHeap queueSortedByDistance = new PackedBlockPosMaxHeap();
     public boolean isSuccessful = false;
     public boolean isFinished = false;
 
-    protected HashMap<Long, Boolean> visitedPositons = new HashMap<>();
+    protected LongOpenHashSet visitedPositons = new LongOpenHashSet();
+    protected final BlockPos.MutableBlockPos neighborPosition = new BlockPos.MutableBlockPos();
 
     public BlockPos currentPosition;
     protected BlockPos positionToMoveAwayFrom;
@@ -87,7 +93,58 @@ public class BlockSearcher
 
     public void setPositionToMoveAwayFrom(BlockPos positionToMoveAwayFrom)
     {
+        boolean wasMovingAway = isMovingAwayFromPosition();
         this.positionToMoveAwayFrom = positionToMoveAwayFrom;
+
+        if(wasMovingAway == isMovingAwayFromPosition())
+        {
+            return;
+        }
+
+        // Move anything already queued into the frontier we are now using
+        if(isMovingAwayFromPosition())
+        {
+            while(!queue.isEmpty())
+            {
+                addToQueue(queue.dequeueLong());
+            }
+        }
+        else
+        {
+            while(!queueSortedByDistance.isEmpty())
+            {
+                addToQueue(queueSortedByDistance.poll());
+            }
+        }
+    }
+
+    protected boolean isMovingAwayFromPosition()
+    {
+        return positionToMoveAwayFrom != null && !positionToMoveAwayFrom.equals(BlockPos.ZERO);
+    }
+
+    protected boolean isQueueEmpty()
+    {
+        return isMovingAwayFromPosition() ? queueSortedByDistance.isEmpty() : queue.isEmpty();
+    }
+
+    protected void addToQueue(long packedPos)
+    {
+        if(isMovingAwayFromPosition())
+        {
+            // Same key the old sort used, so ties still come out in the order they were added
+            neighborPosition.set(packedPos);
+            queueSortedByDistance.add(packedPos, (int) BlockAlgorithms.getBlockDistance(neighborPosition, positionToMoveAwayFrom));
+        }
+        else
+        {
+            queue.enqueue(packedPos);
+        }
+    }
+
+    protected long pollQueue()
+    {
+        return isMovingAwayFromPosition() ? queueSortedByDistance.poll() : queue.dequeueLong();
     }
 
     public void setDebugMode(boolean debugMode)
@@ -125,7 +182,7 @@ public class BlockSearcher
             }
 
             // If the stack is empty, we are finished
-            if (queue.isEmpty())
+            if (isQueueEmpty())
             {
                 state = State.FINISHED;
                 return;
@@ -137,19 +194,10 @@ public class BlockSearcher
                 return;
             }
 
-            // If we have a position to move away from, sort the stack by distance to that position
-            if(positionToMoveAwayFrom != null && !positionToMoveAwayFrom.equals(BlockPos.ZERO))
-            {
-                // Sort stack by distance to origin
-                queue.sort(Comparator.comparingInt((BlockPos pos) ->
-                {
-                    return (int) BlockAlgorithms.getBlockDistance(pos, positionToMoveAwayFrom);
-                }).reversed());
-            }
-
-            // Pop the next block off the stack
-            BlockPos currentBlock = queue.get(0);
-            queue.remove(0);
+            // Pop the next block off the stack. If we have a position to move away from,
+            // this is the block furthest away from it.
+            long currentPackedPos = pollQueue();
+            BlockPos currentBlock = BlockPos.of(currentPackedPos);
             if(debugObstruction) { level.setBlockAndUpdate(currentBlock, Blocks.GREEN_STAINED_GLASS.defaultBlockState()); }
 
             if(debugMode)
@@ -165,35 +213,36 @@ public class BlockSearcher
 
             }
 
-            // Get all possible directions
-            ArrayList<BlockPos> possiblePaths = BlockAlgorithms.getNeighborsCube(currentBlock, false);
-
             // Add all neighbors to the queue
-            for (BlockPos neighbor : possiblePaths)
+            for (int neighborIndex = 0; neighborIndex < CursorSearchEngine.NEIGHBOR_COUNT; neighborIndex++)
             {
+                long neighbor = CursorSearchEngine.getNeighbor(currentPackedPos, neighborIndex);
+
                 // If not visited and is a solid block, add to queue
-                if (visitedPositons.getOrDefault(neighbor.asLong(), false))
+                if (visitedPositons.contains(neighbor))
                 {
                     continue;
                 }
-                else if(isObstructed.test(neighbor))
+
+                neighborPosition.set(neighbor);
+                if(BlockAlgorithms.getBlockDistance(origin, neighborPosition) > MAX_DISTANCE)
                 {
                     continue;
                 }
-                else if(BlockAlgorithms.getBlockDistance(origin, neighbor) > MAX_DISTANCE)
+                else if(isObstructed.test(neighborPosition))
                 {
                     continue;
                 }
 
-                queue.add(neighbor);
-                visitedPositons.put(neighbor.asLong(), true);
+                addToQueue(neighbor);
+                visitedPositons.add(neighbor);
             }
         }
     }
 
     public void idleTick()
     {
-        queue.add(currentPosition);
+        addToQueue(currentPosition.asLong());
         //queue.addAll(BlockAlgorithms.getAdjacentNeighbors(this.blockPosition()));
         state = State.SEARCHING;
     }
@@ -2,22 +2,17 @@ package com.github.sculkhorde.util.ChunkLoading;
 
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
-import com.github.sculkhorde.util.TickUnits;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
 import net.minecraft.world.level.ChunkPos;
 
-import java.util.ArrayList;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Collection;
 
-public class BlockEntityChunkLoaderHelper
+public class BlockEntityChunkLoaderHelper extends ChunkLoaderHelper<BlockEntityChunkLoadRequest>
 {
-    private ArrayList<BlockEntityChunkLoadRequest> blockChunkLoadRequests = new ArrayList<>();
-    private int tickCooldownRemaining = 0;
-    private final int TICKS_BETWEEN_PROCESSING = TickUnits.convertSecondsToTicks(10);
-
     public BlockEntityChunkLoaderHelper()
     {
 
@@ -28,168 +23,31 @@ public class BlockEntityChunkLoaderHelper
         return SculkHorde.blockEntityChunkLoaderHelper;
     }
 
-    public ArrayList<BlockEntityChunkLoadRequest> getBlockChunkLoadRequests()
+    public Collection<BlockEntityChunkLoadRequest> getBlockChunkLoadRequests()
     {
-        return blockChunkLoadRequests;
+        return getRequests();
     }
 
-    private boolean isTickCooldownFinished()
+    @Override
+    protected TicketType<ChunkPos> getTicketType()
     {
-        return tickCooldownRemaining <= 0;
+        return ChunkTicketManager.BLOCK_ENTITY_TICKET;
     }
 
-    private void resetTickCooldown()
+    @Override
+    protected String getName()
     {
-        tickCooldownRemaining = TICKS_BETWEEN_PROCESSING;
+        return "BlockEntityChunkLoader";
     }
 
     public void processBlockChunkLoadRequests()
     {
-        if(!isTickCooldownFinished())
-        {
-            tickCooldownRemaining--;
-            return;
-        }
-
-        resetTickCooldown();
-
-        safelyCleanExpiredChunks();
-        loadChunksThatNeedToBeLoaded();
-    }
-
-    public void safelyRemoveChunksAtIndexes(ArrayList<Integer> indexesToRemove)
-    {
-        // New List to reassign to entityChunkLoadRequests
-        ArrayList<BlockEntityChunkLoadRequest> newList = new ArrayList<>();
-
-        for(int i = 0; i < blockChunkLoadRequests.size(); i++)
-        {
-            // Skip the index to remove
-            if(indexesToRemove.contains(i))
-            {
-                unloadChunksWithOwner(blockChunkLoadRequests.get(i).getOwner(), blockChunkLoadRequests.get(i).getDimension());
-                continue;
-            }
-
-            newList.add(blockChunkLoadRequests.get(i));
-        }
-
-        // Reassign the list
-        blockChunkLoadRequests = newList;
-    }
-
-    public void safelyCleanExpiredChunks()
-    {
-        ArrayList<Integer> indexesToRemove = new ArrayList<>();
-
-        for(int i = 0; i < blockChunkLoadRequests.size(); i++)
-        {
-            BlockEntityChunkLoadRequest request = blockChunkLoadRequests.get(i);
-            request.decrementTicksUntilExpiration(TICKS_BETWEEN_PROCESSING);
-
-            if(request.getDimension() == null)
-            {
-                if(SculkHorde.isDebugMode()) {SculkHorde.LOGGER.error("EntityChunkLoader | Dimension is null, Removing");}
-                indexesToRemove.add(i);
-                continue;
-            }
-
-            if(request.isExpired())
-            {
-                if(SculkHorde.isDebugMode()) {SculkHorde.LOGGER.info("EntityChunkLoader | Chunk EXPIRED, Unloading and Removing");}
-                indexesToRemove.add(i);
-                return;
-            }
-        }
-
-        safelyRemoveChunksAtIndexes(indexesToRemove);
-    }
-
-    public void loadChunksThatNeedToBeLoaded()
-    {
-        for(int i = 0; i < blockChunkLoadRequests.size(); i++)
-        {
-            BlockEntityChunkLoadRequest request = blockChunkLoadRequests.get(i);
-            loadChunksWithOwner(request.getOwner(), request.getDimension());
-        }
-    }
-
-    public static void forceLoadChunk(ServerLevel world, int chunkX, int chunkZ) {
-
-        if(world == null)
-        {
-            SculkHorde.LOGGER.error("World is null. Cannot Force Load Chunk");
-            return;
-        }
-
-        // Old shit method that causes runaway chunks
-        //ForgeChunkManager.forceChunk(world, SculkHorde.MOD_ID, owner, chunkX, chunkZ, true, true);
-        //SculkHorde.LOGGER.debug("Successfully Loaded Chunk");
-        world.setChunkForced(chunkX, chunkZ, true);
-    }
-
-    public static void unloadChunk(ServerLevel world, BlockPos owner, int chunkX, int chunkZ) {
-
-        if(world == null)
-        {
-            SculkHorde.LOGGER.error("World is null. Cannot Force Unload Chunk");
-            return;
-        }
-
-        // Old shit method that causes runaway chunks
-        //ForgeChunkManager.forceChunk(world, SculkHorde.MOD_ID, owner, chunkX, chunkZ, false, false);
-        SculkHorde.LOGGER.debug("Successfully Unloaded Chunk");
-        world.setChunkForced(chunkX, chunkZ, false);
-    }
-    public void unloadChunksWithOwner(BlockPos owner, ServerLevel level)
-    {
-        for (BlockEntityChunkLoadRequest request : blockChunkLoadRequests) {
-            if (request.isOwner(owner)) {
-                for (ChunkPos chunkPos : request.getChunkPositionsToLoad()) {
-                    unloadChunk(level, owner, chunkPos.x, chunkPos.z);
-                }
-            }
-        }
-    }
-
-    public void loadChunksWithOwner(BlockPos owner, ServerLevel level)
-    {
-        for(int i = 0; i < blockChunkLoadRequests.size(); i++)
-        {
-            BlockEntityChunkLoadRequest request = blockChunkLoadRequests.get(i);
-            if(request.isOwner(owner))
-            {
-                for(ChunkPos chunkPos : request.getChunkPositionsToLoad())
-                {
-                    forceLoadChunk(level, chunkPos.x, chunkPos.z);
-                }
-            }
-        }
+        processRequests();
     }
 
     public void removeRequestsWithOwner(BlockPos owner, ServerLevel level)
     {
-        ArrayList<BlockEntityChunkLoadRequest> requestsToRemove = new ArrayList<>();
-        for(BlockEntityChunkLoadRequest request : blockChunkLoadRequests)
-        {
-            if(request.isOwner(owner))
-            {
-                requestsToRemove.add(request);
-            }
-        }
-        blockChunkLoadRequests.removeAll(requestsToRemove);
-    }
-
-    public boolean doesChunkLoadRequestAlreadyExist(String requestID)
-    {
-        for(BlockEntityChunkLoadRequest request : blockChunkLoadRequests)
-        {
-            if(request.isRequestID(requestID))
-            {
-                return true;
-            }
-        }
-        return false;
+        removeRequestsWithOwner(owner);
     }
 
     private String generateRequestIDFromBlockPos(BlockPos owner)
@@ -229,8 +87,7 @@ public class BlockEntityChunkLoaderHelper
         if(!doesChunkLoadRequestAlreadyExist(requestID) && ModConfig.SERVER.chunk_loading_enabled.get())
         {
             BlockEntityChunkLoadRequest request = new BlockEntityChunkLoadRequest(level.dimension(), owner, chunkPositionsToLoad, priority, requestID, ticksUntilExpiration);
-            blockChunkLoadRequests.add(request);
-            loadChunksWithOwner(request.getOwner(), request.getDimension());
+            addRequest(request, true);
         }
     }
 
@@ -242,13 +99,13 @@ public class BlockEntityChunkLoaderHelper
             return;
         }
 
-        getChunkLoaderHelper().blockChunkLoadRequests.clear();
+        getChunkLoaderHelper().clearRequests();
         ListTag blockChunkLoadRequestsTag = tag.getList("blockChunkLoadRequests", 10);
         for(int i = 0; i < blockChunkLoadRequestsTag.size(); i++)
         {
             CompoundTag requestTag = blockChunkLoadRequestsTag.getCompound(i);
             BlockEntityChunkLoadRequest request = BlockEntityChunkLoadRequest.serialize(requestTag);
-            getChunkLoaderHelper().blockChunkLoadRequests.add(request);
+            getChunkLoaderHelper().addRequest(request, false);
         }
     }
 
@@ -261,7 +118,7 @@ public class BlockEntityChunkLoaderHelper
         }
 
         ListTag blockChunkLoadRequestsTag = new ListTag();
-        for(BlockEntityChunkLoadRequest request : getChunkLoaderHelper().blockChunkLoadRequests)
+        for(BlockEntityChunkLoadRequest request : getChunkLoaderHelper().getBlockChunkLoadRequests())
         {
             blockChunkLoadRequestsTag.add(request.deserialize());
         }
@@ -1,10 +1,13 @@
 package com.github.sculkhorde.util.ChunkLoading;
 
 import com.github.sculkhorde.core.SculkHorde;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
 import java.util.Objects;
 
@@ -17,6 +20,14 @@ public abstract class ChunkLoadRequest {
     ResourceKey<Level> dimension;
 
     long ticksUntilExpiration = 0;
+    // The overworld game time at which this request expires. Only valid while the request is in a helper.
+    long expirationTick = 0;
+    // True while the chunks of this request have a ticket in the ChunkTicketManager
+    boolean holdingTickets = false;
+    // The chunk forced through the ChunkTicketManager while holding tickets, so the level keeps ticking without players
+    ChunkPos forcedChunkPos = null;
+    // Requests saved before we used chunk tickets forced their chunks, and forced chunks are saved with the world.
+    boolean hasLegacyForcedChunks = false;
 
     public ChunkLoadRequest(ResourceKey<Level> dimension, ChunkPos[] chunkPositionsToLoad, int priority, String requestID, long ticksUntilExpiration) {
         this.chunkPositionsToLoad = chunkPositionsToLoad;
@@ -25,6 +36,29 @@ public abstract class ChunkLoadRequest {
         this.ticksUntilExpiration = ticksUntilExpiration;
     }
 
+    /**
+     * @return The game time of the overworld, which the helpers use to tell when requests expire
+     */
+    public static long getCurrentGameTime()
+    {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        return server == null ? 0 : server.overworld().getGameTime();
+    }
+
+    /**
+     * Reads how long a saved request has left. Older saves stored the ticks left instead of the game time it expires at.
+     * @param compound The saved request
+     * @return The ticks until the request expires
+     */
+    protected static long readTicksUntilExpiration(CompoundTag compound)
+    {
+        if(compound.contains("expirationGameTime"))
+        {
+            return Math.max(0, compound.getLong("expirationGameTime") - getCurrentGameTime());
+        }
+        return compound.getLong("ticksUntilExpiration");
+    }
+
     public ChunkPos[] getChunkPositionsToLoad() {
         return chunkPositionsToLoad;
     }
@@ -50,19 +84,54 @@ public abstract class ChunkLoadRequest {
 
     public abstract boolean isOwner(Object owner);
 
-    public boolean isExpired()
+    public long getTicksUntilExpiration()
     {
-        return ticksUntilExpiration <= 0;
+        return ticksUntilExpiration;
     }
 
-    public void decrementTicksUntilExpiration(int amountToDecrement)
+    public void setTicksUntilExpiration(long ticksUntilExpiration)
     {
-        ticksUntilExpiration -= amountToDecrement;
+        this.ticksUntilExpiration = ticksUntilExpiration;
     }
 
-    public long getTicksUntilExpiration()
+    public long getExpirationTick()
     {
-        return ticksUntilExpiration;
+        return expirationTick;
+    }
+
+    public void setExpirationTick(long expirationTick)
+    {
+        this.expirationTick = expirationTick;
+    }
+
+    public boolean isHoldingTickets()
+    {
+        return holdingTickets;
+    }
+
+    public void setHoldingTickets(boolean holdingTickets)
+    {
+        this.holdingTickets = holdingTickets;
+    }
+
+    public ChunkPos getForcedChunkPos()
+    {
+        return forcedChunkPos;
+    }
+
+    public void setForcedChunkPos(ChunkPos forcedChunkPos)
+    {
+        this.forcedChunkPos = forcedChunkPos;
+    }
+
+    public boolean hasLegacyForcedChunks()
+    {
+        return hasLegacyForcedChunks;
+    }
+
+    public void setHasLegacyForcedChunks(boolean hasLegacyForcedChunks)
+    {
+        this.hasLegacyForcedChunks = hasLegacyForcedChunks;
     }
 
     public boolean isHigherPriorityThan(ChunkLoadRequest other)
@@ -0,0 +1,219 @@
+package com.github.sculkhorde.util.ChunkLoading;
+
+import com.github.sculkhorde.core.ModSavedData;
+import com.github.sculkhorde.core.SculkHorde;
+import com.github.sculkhorde.util.TickUnits;
+import com.github.sculkhorde.util.TimingWheel;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+
+/**
+ * Everything the block entity and entity chunk loader helpers have in common. <br>
+ * Requests are stored by their ID. Their chunks are loaded through the {@link ChunkTicketManager},
+ * so overlapping requests do not unload each other's chunks. Each request also forces its first chunk, so the level
+ * keeps ticking entities without players in it. Instead of counting down every request,
+ * each request is put into a {@link TimingWheel} at the overworld game time it expires. <br>
+ * Requests are saved with that game time, so they only have to be saved again when a request is added or removed.
+ * @param <R> The type of request
+ */
+public abstract class ChunkLoaderHelper<R extends ChunkLoadRequest>
+{
+    // One slot per second. 4096 slots is a bit over an hour before a request has to wait for the wheel to come around again.
+    private static final int EXPIRATION_WHEEL_SLOTS = 4096;
+    private static final int TICKS_PER_EXPIRATION_SLOT = TickUnits.convertSecondsToTicks(1);
+
+    private final LinkedHashMap<String, R> requests = new LinkedHashMap<>();
+    private final TimingWheel<R> expirationWheel = new TimingWheel<>(EXPIRATION_WHEEL_SLOTS, TICKS_PER_EXPIRATION_SLOT);
+    // Requests loaded from disk get their tickets on the first tick, once the levels exist
+    private final ArrayList<R> requestsWaitingForTickets = new ArrayList<>();
+    private long currentTick = ChunkLoadRequest.getCurrentGameTime();
+
+    protected abstract TicketType<ChunkPos> getTicketType();
+
+    protected int getTicketDistance()
+    {
+        return ChunkTicketManager.ENTITY_TICKING_DISTANCE;
+    }
+
+    protected abstract String getName();
+
+    protected Collection<R> getRequests()
+    {
+        return Collections.unmodifiableCollection(requests.values());
+    }
+
+    public boolean doesChunkLoadRequestAlreadyExist(String requestID)
+    {
+        return requests.containsKey(requestID);
+    }
+
+    protected void processRequests()
+    {
+        currentTick = Math.max(currentTick, ChunkLoadRequest.getCurrentGameTime());
+
+        if(!requestsWaitingForTickets.isEmpty())
+        {
+            // Lower number means higher priority
+            requestsWaitingForTickets.sort(Comparator.comparingInt(ChunkLoadRequest::getPriority));
+            for(R request : requestsWaitingForTickets)
+            {
+                if(isRegistered(request))
+                {
+                    acquireTickets(request);
+                }
+            }
+            requestsWaitingForTickets.clear();
+        }
+
+        expirationWheel.advance(currentTick, this::onRequestExpired);
+    }
+
+    private boolean isRegistered(R request)
+    {
+        return requests.get(request.getRequestID()) == request;
+    }
+
+    private void onRequestExpired(R request)
+    {
+        // Removed or replaced before it expired
+        if(!isRegistered(request))
+        {
+            return;
+        }
+
+        if(SculkHorde.isDebugMode()) { SculkHorde.LOGGER.info(getName() + " | Chunk EXPIRED, Unloading and Removing"); }
+        removeRequest(request);
+    }
+
+    /**
+     * Adds a request and schedules it to expire.
+     * @param request The request
+     * @param loadChunksNow True to load the chunks right away, false to wait for the next tick.
+     */
+    protected void addRequest(R request, boolean loadChunksNow)
+    {
+        R replacedRequest = requests.put(request.getRequestID(), request);
+        markDirty();
+        currentTick = Math.max(currentTick, ChunkLoadRequest.getCurrentGameTime());
+
+        request.setExpirationTick(currentTick + request.getTicksUntilExpiration());
+        expirationWheel.schedule(request, request.getExpirationTick());
+
+        if(loadChunksNow)
+        {
+            acquireTickets(request);
+        }
+        else
+        {
+            requestsWaitingForTickets.add(request);
+        }
+
+        // Release after acquiring, so chunks both requests want never drop to zero references and unload
+        if(replacedRequest != null && replacedRequest != request)
+        {
+            releaseTickets(replacedRequest);
+        }
+    }
+
+    protected void removeRequest(R request)
+    {
+        requests.remove(request.getRequestID());
+        releaseTickets(request);
+        markDirty();
+    }
+
+    private static void markDirty()
+    {
+        if(SculkHorde.savedData != null)
+        {
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.CHUNK_LOADERS);
+        }
+    }
+
+    protected void removeRequestsWithOwner(Object owner)
+    {
+        ArrayList<R> requestsToRemove = new ArrayList<>();
+        for(R request : requests.values())
+        {
+            if(request.isOwner(owner))
+            {
+                requestsToRemove.add(request);
+            }
+        }
+        requestsToRemove.forEach(this::removeRequest);
+    }
+
+    protected void clearRequests()
+    {
+        new ArrayList<>(requests.values()).forEach(this::removeRequest);
+        requestsWaitingForTickets.clear();
+        expirationWheel.clear();
+    }
+
+    private void acquireTickets(R request)
+    {
+        if(request.isHoldingTickets())
+        {
+            return;
+        }
+
+        ServerLevel level = request.getDimension();
+        if(level == null)
+        {
+            if(SculkHorde.isDebugMode()) { SculkHorde.LOGGER.error(getName() + " | Dimension is null, Removing"); }
+            requests.remove(request.getRequestID());
+            markDirty();
+            return;
+        }
+
+        // Older versions forced these chunks, which is saved with the world. Undo that once.
+        if(request.hasLegacyForcedChunks())
+        {
+            for(ChunkPos chunkPos : request.getChunkPositionsToLoad())
+            {
+                level.setChunkForced(chunkPos.x, chunkPos.z, false);
+            }
+            request.setHasLegacyForcedChunks(false);
+        }
+
+        for(ChunkPos chunkPos : request.getChunkPositionsToLoad())
+        {
+            ChunkTicketManager.getChunkTicketManager().acquire(level, getTicketType(), getTicketDistance(), chunkPos);
+        }
+
+        if(request.getChunkPositionsToLoad().length > 0)
+        {
+            request.setForcedChunkPos(request.getChunkPositionsToLoad()[0]);
+            ChunkTicketManager.getChunkTicketManager().acquireForced(level, request.getForcedChunkPos());
+        }
+        request.setHoldingTickets(true);
+    }
+
+    private void releaseTickets(R request)
+    {
+        if(!request.isHoldingTickets())
+        {
+            return;
+        }
+
+        ServerLevel level = request.getDimension();
+        for(ChunkPos chunkPos : request.getChunkPositionsToLoad())
+        {
+            ChunkTicketManager.getChunkTicketManager().release(level, getTicketType(), getTicketDistance(), chunkPos);
+        }
+
+        if(request.getForcedChunkPos() != null)
+        {
+            ChunkTicketManager.getChunkTicketManager().releaseForced(level, request.getForcedChunkPos());
+            request.setForcedChunkPos(null);
+        }
+        request.setHoldingTickets(false);
+    }
+}
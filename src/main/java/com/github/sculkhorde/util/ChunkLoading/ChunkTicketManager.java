@@ -0,0 +1,164 @@
+package com.github.sculkhorde.util.ChunkLoading;
+
+import com.github.sculkhorde.core.SculkHorde;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.common.world.ForgeChunkManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps chunks loaded for the chunk loader helpers. <br>
+ * Several requests can want the same chunk, like two nodes close to each other or a phantom flying over a node.
+ * So instead of forcing and unforcing chunks directly, every chunk has a reference count. The ticket is only added
+ * when the first request wants the chunk, and only removed when the last request lets go of it. <br>
+ * We use our own ticket types instead of forced chunks. Tickets are not saved with the world, so a chunk can never
+ * stay loaded forever because we forgot to unforce it. The helpers add the tickets again after a restart. <br>
+ * Tickets alone do not keep entities ticking in a level without players. Forge stops ticking entities in such a level
+ * after 15 seconds, unless it has forced chunks. So every request also forces one of its chunks through the
+ * ForgeChunkManager, reference counted the same way. Those are saved with the world, so they are all removed again
+ * when the world loads, see {@link #onValidateForcedChunks(ServerLevel, ForgeChunkManager.TicketHelper)}.
+ */
+public class ChunkTicketManager
+{
+    // The ticket level is 33 minus the distance. 31 is the lowest level where entities still tick, as long as the level does.
+    // Both helpers need this, since nodes rely on cursors and raids rely on sculk units.
+    public static final int ENTITY_TICKING_DISTANCE = 2;
+    // Every forced chunk of ours has this owner, so they can all be found and removed when the world loads
+    private static final UUID FORCED_CHUNK_OWNER = UUID.nameUUIDFromBytes((SculkHorde.MOD_ID + ":chunk_ticket_manager").getBytes(StandardCharsets.UTF_8));
+
+    public static final TicketType<ChunkPos> BLOCK_ENTITY_TICKET = TicketType.create("sculkhorde_block_entity", Comparator.comparingLong(ChunkPos::toLong));
+    public static final TicketType<ChunkPos> ENTITY_TICKET = TicketType.create("sculkhorde_entity", Comparator.comparingLong(ChunkPos::toLong));
+
+    private record TicketKey(ResourceKey<Level> dimension, TicketType<ChunkPos> type, int distance) {}
+
+    private final Map<TicketKey, Long2IntOpenHashMap> referenceCounts = new HashMap<>();
+    private final Map<ResourceKey<Level>, Long2IntOpenHashMap> forcedChunkReferenceCounts = new HashMap<>();
+    private int chunksWithTickets = 0;
+
+    public ChunkTicketManager()
+    {
+
+    }
+
+    public static ChunkTicketManager getChunkTicketManager()
+    {
+        return SculkHorde.chunkTicketManager;
+    }
+
+    /**
+     * @return How many chunks we currently hold a ticket for
+     */
+    public int getChunksWithTicketsCount()
+    {
+        return chunksWithTickets;
+    }
+
+    /**
+     * Adds a reference to a chunk. Loads it if this is the first reference.
+     * @param level The level
+     * @param type The ticket type
+     * @param distance The ticket distance. See {@link #ENTITY_TICKING_DISTANCE}
+     * @param chunkPos The chunk
+     */
+    public void acquire(ServerLevel level, TicketType<ChunkPos> type, int distance, ChunkPos chunkPos)
+    {
+        if(level == null)
+        {
+            SculkHorde.LOGGER.error("ChunkTicketManager | World is null. Cannot Load Chunk");
+            return;
+        }
+
+        Long2IntOpenHashMap counts = referenceCounts.computeIfAbsent(new TicketKey(level.dimension(), type, distance), key -> new Long2IntOpenHashMap());
+        if(counts.addTo(chunkPos.toLong(), 1) == 0)
+        {
+            level.getChunkSource().addRegionTicket(type, chunkPos, distance, chunkPos);
+            chunksWithTickets++;
+        }
+    }
+
+    /**
+     * Removes a reference to a chunk. Lets it unload if this was the last reference.
+     * @param level The level
+     * @param type The ticket type
+     * @param distance The ticket distance. Must be the same as when the chunk was acquired.
+     * @param chunkPos The chunk
+     */
+    public void release(ServerLevel level, TicketType<ChunkPos> type, int distance, ChunkPos chunkPos)
+    {
+        if(level == null)
+        {
+            SculkHorde.LOGGER.error("ChunkTicketManager | World is null. Cannot Unload Chunk");
+            return;
+        }
+
+        Long2IntOpenHashMap counts = referenceCounts.get(new TicketKey(level.dimension(), type, distance));
+        if(counts == null || !counts.containsKey(chunkPos.toLong()))
+        {
+            SculkHorde.LOGGER.warn("ChunkTicketManager | Attempted to release chunk " + chunkPos + " that was never acquired");
+            return;
+        }
+
+        if(counts.addTo(chunkPos.toLong(), -1) <= 1)
+        {
+            counts.remove(chunkPos.toLong());
+            level.getChunkSource().removeRegionTicket(type, chunkPos, distance, chunkPos);
+            chunksWithTickets--;
+        }
+    }
+
+    /**
+     * Adds a reference to a forced chunk, which keeps the level ticking entities even if no player is in it.
+     * Forces the chunk if this is the first reference.
+     * @param level The level
+     * @param chunkPos The chunk
+     */
+    public void acquireForced(ServerLevel level, ChunkPos chunkPos)
+    {
+        Long2IntOpenHashMap counts = forcedChunkReferenceCounts.computeIfAbsent(level.dimension(), key -> new Long2IntOpenHashMap());
+        if(counts.addTo(chunkPos.toLong(), 1) == 0)
+        {
+            ForgeChunkManager.forceChunk(level, SculkHorde.MOD_ID, FORCED_CHUNK_OWNER, chunkPos.x, chunkPos.z, true, true);
+        }
+    }
+
+    /**
+     * Removes a reference to a forced chunk. Unforces it if this was the last reference.
+     * @param level The level
+     * @param chunkPos The chunk. Must be the same as when the chunk was acquired.
+     */
+    public void releaseForced(ServerLevel level, ChunkPos chunkPos)
+    {
+        Long2IntOpenHashMap counts = forcedChunkReferenceCounts.get(level.dimension());
+        if(counts == null || !counts.containsKey(chunkPos.toLong()))
+        {
+            SculkHorde.LOGGER.warn("ChunkTicketManager | Attempted to release forced chunk " + chunkPos + " that was never acquired");
+            return;
+        }
+
+        if(counts.addTo(chunkPos.toLong(), -1) <= 1)
+        {
+            counts.remove(chunkPos.toLong());
+            ForgeChunkManager.forceChunk(level, SculkHorde.MOD_ID, FORCED_CHUNK_OWNER, chunkPos.x, chunkPos.z, false, true);
+        }
+    }
+
+    /**
+     * Gets called by Forge for every level when the world loads.
+     * Removes the chunks we forced last time, the helpers force them again for the requests that are still saved.
+     * @param level The level
+     * @param ticketHelper The forced chunks of this mod in the level
+     */
+    public static void onValidateForcedChunks(ServerLevel level, ForgeChunkManager.TicketHelper ticketHelper)
+    {
+        ticketHelper.removeAllTickets(FORCED_CHUNK_OWNER);
+    }
+}
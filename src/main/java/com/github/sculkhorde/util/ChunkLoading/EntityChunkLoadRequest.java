@@ -40,8 +40,10 @@ public class EntityChunkLoadRequest extends ChunkLoadRequest {
         compound.putUUID("owner", owner);
         compound.putInt("chunkPositionsToLoadLength", chunkPositionsToLoad.length);
         compound.putString("requestID", requestID);
-        compound.putLong("ticksUntilExpiration", ticksUntilExpiration);
+        // The game time does not move while nothing changes, so this can be saved again without being rewritten
+        compound.putLong("expirationGameTime", expirationTick);
         compound.putString("dimension", dimension.location().toString());
+        compound.putBoolean("usesChunkTickets", true);
         for(int i = 0; i < chunkPositionsToLoad.length; i++)
         {
             compound.putLong("chunkPositionsToLoad" + i, chunkPositionsToLoad[i].toLong());
@@ -56,14 +58,16 @@ public class EntityChunkLoadRequest extends ChunkLoadRequest {
         UUID owner = compound.getUUID("owner");
         int chunkPositionsToLoadLength = compound.getInt("chunkPositionsToLoadLength");
         String requestID = compound.getString("requestID");
-        long ticksUntilExpiration = compound.getLong("ticksUntilExpiration");
+        long ticksUntilExpiration = readTicksUntilExpiration(compound);
         ChunkPos[] chunkPositionsToLoad = new ChunkPos[chunkPositionsToLoadLength];
         ResourceKey<Level> dimensionResourceKey = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(compound.getString("dimension")));
         for(int i = 0; i < chunkPositionsToLoadLength; i++)
         {
             chunkPositionsToLoad[i] = new ChunkPos(compound.getLong("chunkPositionsToLoad" + i));
         }
-        return new EntityChunkLoadRequest(dimensionResourceKey, owner, chunkPositionsToLoad, priority, requestID, ticksUntilExpiration);
+        EntityChunkLoadRequest request = new EntityChunkLoadRequest(dimensionResourceKey, owner, chunkPositionsToLoad, priority, requestID, ticksUntilExpiration);
+        request.setHasLegacyForcedChunks(!compound.getBoolean("usesChunkTickets"));
+        return request;
     }
 
     public void setOwner(UUID owner) {
@@ -1,27 +1,17 @@
 package com.github.sculkhorde.util.ChunkLoading;
 
-import com.github.sculkhorde.common.entity.infection.CursorSurfaceInfectorEntity;
 import com.github.sculkhorde.core.ModConfig;
 import com.github.sculkhorde.core.SculkHorde;
-import com.github.sculkhorde.util.TickUnits;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
-import net.minecraft.server.TickTask;
-import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.ChunkPos;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.UUID;
+import java.util.Collection;
 
-public class EntityChunkLoaderHelper
+public class EntityChunkLoaderHelper extends ChunkLoaderHelper<EntityChunkLoadRequest>
 {
-    private ArrayList<EntityChunkLoadRequest> entityChunkLoadRequests = new ArrayList<>();
-
-    private int tickCooldownRemaining = 0;
-    private final int TICKS_BETWEEN_PROCESSING = TickUnits.convertSecondsToTicks(10);
-
     public EntityChunkLoaderHelper()
     {
 
@@ -31,146 +21,27 @@ public class EntityChunkLoaderHelper
     {
         return SculkHorde.entityChunkLoaderHelper;
     }
-    public ArrayList<EntityChunkLoadRequest> getEntityChunkLoadRequests()
-    {
-        return entityChunkLoadRequests;
-    }
-
-    private boolean isTickCooldownFinished()
-    {
-        return tickCooldownRemaining <= 0;
-    }
-
-    private void resetTickCooldown()
-    {
-        tickCooldownRemaining = TICKS_BETWEEN_PROCESSING;
-    }
 
-    public void processEntityChunkLoadRequests()
+    public Collection<EntityChunkLoadRequest> getEntityChunkLoadRequests()
     {
-        if(!isTickCooldownFinished())
-        {
-            tickCooldownRemaining--;
-            return;
-        }
-
-        resetTickCooldown();
-
-        safelyCleanExpiredChunks();
-        loadChunksThatNeedToBeLoaded();
-    }
-
-    public void safelyRemoveChunksAtIndexes(ArrayList<Integer> indexesToRemove)
-    {
-        // New List to reassign to entityChunkLoadRequests
-        ArrayList<EntityChunkLoadRequest> newList = new ArrayList<>();
-
-        for(int i = 0; i < entityChunkLoadRequests.size(); i++)
-        {
-            // Skip the index to remove
-            if(indexesToRemove.contains(i))
-            {
-                unloadChunksWithOwner(entityChunkLoadRequests.get(i).getOwner(), entityChunkLoadRequests.get(i).getDimension());
-                continue;
-            }
-
-            newList.add(entityChunkLoadRequests.get(i));
-        }
-
-        // Reassign the list
-        entityChunkLoadRequests = newList;
-    }
-
-    public void safelyCleanExpiredChunks()
-    {
-        ArrayList<Integer> indexesToRemove = new ArrayList<>();
-
-        for(int i = 0; i < entityChunkLoadRequests.size(); i++)
-        {
-            EntityChunkLoadRequest request = entityChunkLoadRequests.get(i);
-            request.decrementTicksUntilExpiration(TICKS_BETWEEN_PROCESSING);
-
-            if(request.getDimension() == null)
-            {
-                if(SculkHorde.isDebugMode()) {SculkHorde.LOGGER.error("EntityChunkLoader | Dimension is null, Removing");}
-                indexesToRemove.add(i);
-                continue;
-            }
-
-            if(request.isExpired())
-            {
-                if(SculkHorde.isDebugMode()) {SculkHorde.LOGGER.info("EntityChunkLoader | Chunk EXPIRED, Unloading and Removing");}
-                indexesToRemove.add(i);
-                return;
-            }
-        }
-
-        safelyRemoveChunksAtIndexes(indexesToRemove);
+        return getRequests();
     }
 
-    public void loadChunksThatNeedToBeLoaded()
+    @Override
+    protected TicketType<ChunkPos> getTicketType()
     {
-        for(int i = 0; i < entityChunkLoadRequests.size(); i++)
-        {
-            EntityChunkLoadRequest request = entityChunkLoadRequests.get(i);
-            loadChunksWithOwner(request.getOwner(), request.getDimension());
-        }
-    }
-
-    private static void forceLoadChunk(ServerLevel world, int chunkX, int chunkZ) {
-
-        if(world == null)
-        {
-            SculkHorde.LOGGER.error("World is null. Cannot Force Load Chunk");
-            return;
-        }
-        world.setChunkForced(chunkX, chunkZ, true);
+        return ChunkTicketManager.ENTITY_TICKET;
     }
-    public static void unloadChunk(ServerLevel world, int chunkX, int chunkZ) {
 
-        if(world == null)
-        {
-            SculkHorde.LOGGER.error("World is null. Cannot Force Unload Chunk");
-            return;
-        }
-        world.setChunkForced(chunkX, chunkZ, false);
-    }
-    public void unloadChunksWithOwner(UUID owner, ServerLevel level)
-    {
-        for (EntityChunkLoadRequest request : entityChunkLoadRequests) {
-            if (request.isOwner(owner)) {
-                for (ChunkPos chunkPos : request.getChunkPositionsToLoad()) {
-                    unloadChunk(level, chunkPos.x, chunkPos.z);
-                }
-            }
-        }
-    }
-    public void loadChunksWithOwner(UUID owner, ServerLevel level)
+    @Override
+    protected String getName()
     {
-        Iterator<EntityChunkLoadRequest> iterator = entityChunkLoadRequests.iterator();
-        while(iterator.hasNext())
-        {
-            EntityChunkLoadRequest request = iterator.next();
-            if(request.isOwner(owner))
-            {
-                for(ChunkPos chunkPos : request.getChunkPositionsToLoad())
-                {
-                    forceLoadChunk(level, chunkPos.x, chunkPos.z);
-                }
-            }
-        }
+        return "EntityChunkLoader";
     }
 
-    public boolean doesChunkLoadRequestAlreadyExist(String requestID)
+    public void processEntityChunkLoadRequests()
     {
-        for(EntityChunkLoadRequest request : entityChunkLoadRequests)
-        {
-            if(request.isRequestID(requestID))
-            {
-                return true;
-            }
-        }
-        return false;
+        processRequests();
     }
 
     private String generateRequestIDFromEntity(Entity owner)
@@ -202,13 +73,6 @@ public class EntityChunkLoaderHelper
             }
         }
         createChunkLoadRequest(owner, chunkPositionsToLoad, priority, requestID, ticksUnitExpiration);
-
-        ServerLevel serverLevel = ((ServerLevel) owner.level());
-
-        serverLevel.getServer().tell(new TickTask(serverLevel.getServer().getTickCount() + 1, () -> {
-            loadChunksWithOwner(owner.getUUID(), serverLevel);
-        }));
-
     }
 
     private void createChunkLoadRequest(Entity owner, ChunkPos[] chunkPositionsToLoad, int priority, String requestID, long ticksUntilExpiration)
@@ -218,8 +82,7 @@ public class EntityChunkLoaderHelper
             return;
         }
         EntityChunkLoadRequest request = new EntityChunkLoadRequest(owner.level().dimension(), owner.getUUID(), chunkPositionsToLoad, priority, requestID, ticksUntilExpiration);
-        entityChunkLoadRequests.add(request);
-        loadChunksWithOwner(request.getOwner(), request.getDimension());
+        addRequest(request, true);
     }
 
     public static void load(CompoundTag tag)
@@ -230,13 +93,13 @@ public class EntityChunkLoaderHelper
             return;
         }
 
-        getEntityChunkLoaderHelper().entityChunkLoadRequests.clear();
+        getEntityChunkLoaderHelper().clearRequests();
         ListTag entityChunkLoadRequestsTag = tag.getList("entityChunkLoadRequests", 10);
         for(int i = 0; i < entityChunkLoadRequestsTag.size(); i++)
         {
             CompoundTag requestTag = entityChunkLoadRequestsTag.getCompound(i);
             EntityChunkLoadRequest request = EntityChunkLoadRequest.serialize(requestTag);
-            getEntityChunkLoaderHelper().entityChunkLoadRequests.add(request);
+            getEntityChunkLoaderHelper().addRequest(request, false);
         }
     }
 
@@ -249,7 +112,7 @@ public class EntityChunkLoaderHelper
         }
 
         ListTag entityChunkLoadRequestsTag = new ListTag();
-        for(EntityChunkLoadRequest request : getEntityChunkLoaderHelper().entityChunkLoadRequests)
+        for(EntityChunkLoadRequest request : getEntityChunkLoaderHelper().getEntityChunkLoadRequests())
         {
             entityChunkLoadRequestsTag.add(request.deserialize());
         }
@@ -0,0 +1,198 @@
+package com.github.sculkhorde.util;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+
+import java.util.Random;
+
+/**
+ * Reusable search state shared by all cursors.
+ * Positions are stored as packed longs (see {@link BlockPos#asLong()}) so that
+ * expanding a node does not allocate anything:
+ * <ul>
+ *     <li>The frontier is a ring buffer of longs that can be used as a queue (BFS) or a stack (DFS).</li>
+ *     <li>Visited positions are stored in an open addressing long hash set.</li>
+ *     <li>Neighbors come from a precomputed offset table. Instead of shuffling a fresh list for every node,
+ *     we pick one of a fixed set of pre-shuffled orderings using a cheap xorshift generator.</li>
+ * </ul>
+ */
+public class CursorSearchEngine
+{
+    public static final int NEIGHBOR_COUNT = 26;
+
+    private static final int[] NEIGHBOR_OFFSET_X = new int[NEIGHBOR_COUNT];
+    private static final int[] NEIGHBOR_OFFSET_Y = new int[NEIGHBOR_COUNT];
+    private static final int[] NEIGHBOR_OFFSET_Z = new int[NEIGHBOR_COUNT];
+
+    // Must be a power of two so we can pick one with a bit shift.
+    private static final int PERMUTATION_COUNT_BITS = 6;
+    private static final int PERMUTATION_COUNT = 1 << PERMUTATION_COUNT_BITS;
+    private static final int[][] NEIGHBOR_PERMUTATIONS = new int[PERMUTATION_COUNT][NEIGHBOR_COUNT];
+
+    static
+    {
+        // Same 3x3x3 cube as BlockAlgorithms.getNeighborsCube(), minus the origin
+        int index = 0;
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                for (int k = -1; k <= 1; k++) {
+                    if (i == 0 && j == 0 && k == 0) {
+                        continue;
+                    }
+                    NEIGHBOR_OFFSET_X[index] = i;
+                    NEIGHBOR_OFFSET_Y[index] = j;
+                    NEIGHBOR_OFFSET_Z[index] = k;
+                    index++;
+                }
+            }
+        }
+
+        // Fixed seed so the table is identical every run
+        Random random = new Random(0x5C01C);
+        for (int[] permutation : NEIGHBOR_PERMUTATIONS)
+        {
+            for (int i = 0; i < NEIGHBOR_COUNT; i++) {
+                permutation[i] = i;
+            }
+            // Fisher-Yates
+            for (int i = NEIGHBOR_COUNT - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int temp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = temp;
+            }
+        }
+    }
+
+    private final LongArrayFIFOQueue frontier = new LongArrayFIFOQueue();
+    private final LongOpenHashSet visited = new LongOpenHashSet();
+    private long seed;
+
+    // The horizontal area covered by every position added since the last reset
+    private int minX = Integer.MAX_VALUE;
+    private int minZ = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxZ = Integer.MIN_VALUE;
+
+    public CursorSearchEngine(long seed)
+    {
+        // xorshift gets stuck on zero
+        this.seed = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    /**
+     * Clears the frontier and the visited set. Backing arrays are kept so that
+     * the next search does not have to grow them again.
+     */
+    public void reset()
+    {
+        frontier.clear();
+        visited.clear();
+        minX = Integer.MAX_VALUE;
+        minZ = Integer.MAX_VALUE;
+        maxX = Integer.MIN_VALUE;
+        maxZ = Integer.MIN_VALUE;
+    }
+
+    public boolean isEmpty()
+    {
+        return frontier.isEmpty();
+    }
+
+    public int size()
+    {
+        return frontier.size();
+    }
+
+    public void add(long packedPos)
+    {
+        frontier.enqueue(packedPos);
+
+        int x = BlockPos.getX(packedPos);
+        int z = BlockPos.getZ(packedPos);
+        minX = Math.min(minX, x);
+        minZ = Math.min(minZ, z);
+        maxX = Math.max(maxX, x);
+        maxZ = Math.max(maxZ, z);
+    }
+
+    public void add(BlockPos pos)
+    {
+        add(pos.asLong());
+    }
+
+    /**
+     * Looks at the oldest position without removing it.
+     * @return The packed position
+     */
+    public long peekFirst()
+    {
+        return frontier.firstLong();
+    }
+
+    public int getMinX() { return minX; }
+
+    public int getMinZ() { return minZ; }
+
+    public int getMaxX() { return maxX; }
+
+    public int getMaxZ() { return maxZ; }
+
+    /**
+     * Removes the oldest position. Use this for Breadth-First Search.
+     * @return The packed position
+     */
+    public long pollFirst()
+    {
+        return frontier.dequeueLong();
+    }
+
+    /**
+     * Removes the newest position. Use this for Depth-First Search.
+     * @return The packed position
+     */
+    public long pollLast()
+    {
+        return frontier.dequeueLastLong();
+    }
+
+    public boolean hasVisited(long packedPos)
+    {
+        return visited.contains(packedPos);
+    }
+
+    /**
+     * Marks a position as visited.
+     * @param packedPos The packed position
+     * @return true if the position was not visited before
+     */
+    public boolean markVisited(long packedPos)
+    {
+        return visited.add(packedPos);
+    }
+
+    /**
+     * Returns the order in which neighbors should be visited for the next expansion.
+     * The returned array is shared and must not be modified.
+     * @return An array of neighbor indexes to pass into {@link #getNeighbor(long, int)}
+     */
+    public int[] nextNeighborOrder()
+    {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return NEIGHBOR_PERMUTATIONS[(int) (seed >>> (64 - PERMUTATION_COUNT_BITS))];
+    }
+
+    /**
+     * @param packedPos The packed origin position
+     * @param neighborIndex A value between 0 and {@link #NEIGHBOR_COUNT} - 1
+     * @return The packed position of the neighbor
+     */
+    public static long getNeighbor(long packedPos, int neighborIndex)
+    {
+        return BlockPos.offset(packedPos, NEIGHBOR_OFFSET_X[neighborIndex], NEIGHBOR_OFFSET_Y[neighborIndex], NEIGHBOR_OFFSET_Z[neighborIndex]);
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.sculkhorde.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.material.Fluids;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read-only view of a set of loaded chunks, that cursors can search in from other threads. <br>
+ * The level itself cannot be read from other threads: asking it for a block in a chunk that is not loaded
+ * waits for the server thread to load it. Instead, the chunks are collected on the server thread first,
+ * and the search only reads from them. <br>
+ * The chunks are not copied. This is only safe while the server thread waits for the search to finish,
+ * since that is the only thread that changes blocks in loaded chunks.
+ */
+public class CursorSearchSnapshot implements BlockGetter {
+
+    private final ServerLevel level;
+    // Chunks that were not loaded are stored as null, so we do not ask the level for them twice
+    private final Long2ObjectOpenHashMap<LevelChunk> chunks = new Long2ObjectOpenHashMap<>();
+
+    public CursorSearchSnapshot(ServerLevel level)
+    {
+        this.level = level;
+    }
+
+    public ServerLevel getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * Adds every loaded chunk touching an area. Only call this on the server thread.
+     * @param minX The lowest x block coordinate
+     * @param minZ The lowest z block coordinate
+     * @param maxX The highest x block coordinate
+     * @param maxZ The highest z block coordinate
+     */
+    public void captureArea(int minX, int minZ, int maxX, int maxZ)
+    {
+        for(int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++)
+        {
+            for(int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++)
+            {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                if(!chunks.containsKey(chunkKey))
+                {
+                    chunks.put(chunkKey, level.getChunkSource().getChunkNow(chunkX, chunkZ));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param packedPos The packed position
+     * @param radius How far around the position we want to read. Must be less than 16.
+     * @return True if every block within the radius of the position can be read
+     */
+    public boolean canRead(long packedPos, int radius)
+    {
+        int x = BlockPos.getX(packedPos);
+        int z = BlockPos.getZ(packedPos);
+        return getChunk(x - radius, z - radius) != null
+                && getChunk(x - radius, z + radius) != null
+                && getChunk(x + radius, z - radius) != null
+                && getChunk(x + radius, z + radius) != null;
+    }
+
+    @Nullable
+    private LevelChunk getChunk(int blockX, int blockZ)
+    {
+        return chunks.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(blockX), SectionPos.blockToSectionCoord(blockZ)));
+    }
+
+    /**
+     * Block entities are not needed by cursor searches, and are not safe to read from other threads.
+     */
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos)
+    {
+        return null;
+    }
+
+    /**
+     * Works like {@link ServerLevel#getBlockState(BlockPos)}, except chunks that were not captured read as void air.
+     */
+    @Override
+    public BlockState getBlockState(BlockPos pos)
+    {
+        if(isOutsideBuildHeight(pos))
+        {
+            return Blocks.VOID_AIR.defaultBlockState();
+        }
+
+        LevelChunk chunk = getChunk(pos.getX(), pos.getZ());
+        if(chunk == null)
+        {
+            return Blocks.VOID_AIR.defaultBlockState();
+        }
+        return chunk.getBlockState(pos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos)
+    {
+        if(isOutsideBuildHeight(pos))
+        {
+            return Fluids.EMPTY.defaultFluidState();
+        }
+
+        LevelChunk chunk = getChunk(pos.getX(), pos.getZ());
+        if(chunk == null)
+        {
+            return Fluids.EMPTY.defaultFluidState();
+        }
+        return chunk.getFluidState(pos);
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return level.getHeight();
+    }
+
+    @Override
+    public int getMinBuildHeight()
+    {
+        return level.getMinBuildHeight();
+    }
+}
@@ -216,7 +216,7 @@ public class EntityAlgorithms {
      */
     public static boolean isLivingEntityHostile(LivingEntity entity)
     {
-        return SculkHorde.savedData.getHostileEntries().get(entity.getType().toString()) != null;
+        return SculkHorde.savedData.getHostileEntries().containsKey(entity.getType());
     }
 
     public static boolean isLivingEntitySwimmer(LivingEntity entity)
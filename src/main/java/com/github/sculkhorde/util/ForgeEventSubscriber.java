@@ -3,6 +3,8 @@ package com.github.sculkhorde.util;
 import com.github.sculkhorde.common.advancement.ContributeTrigger;
 import com.github.sculkhorde.common.block.FleshyCompostBlock;
 import com.github.sculkhorde.common.effect.SculkBurrowedEffect;
+import com.github.sculkhorde.common.entity.ISculkSmartEntity;
+import com.github.sculkhorde.common.structures.procedural.PlannedBlockChangeWatcher;
 import com.github.sculkhorde.core.*;
 import com.github.sculkhorde.core.gravemind.Gravemind;
 import com.github.sculkhorde.core.gravemind.RaidHandler;
@@ -10,8 +12,13 @@ import com.github.sculkhorde.core.gravemind.SculkNodesHandler;
 import com.github.sculkhorde.core.gravemind.events.EventHandler;
 import com.github.sculkhorde.misc.StatisticsData;
 import com.github.sculkhorde.systems.BeeNestActivitySystem;
+import com.github.sculkhorde.systems.BlockInfestationCache;
+import com.github.sculkhorde.systems.AirExposureCache;
 import com.github.sculkhorde.systems.AutoPerformanceSystem;
+import com.github.sculkhorde.systems.InfectionFrontierTracker;
+import com.github.sculkhorde.systems.InfestationWardIndex;
 import com.github.sculkhorde.util.ChunkLoading.BlockEntityChunkLoaderHelper;
+import com.github.sculkhorde.util.ChunkLoading.ChunkTicketManager;
 import com.github.sculkhorde.util.ChunkLoading.EntityChunkLoaderHelper;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
@@ -20,12 +27,21 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.living.LivingChangeTargetEvent;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.living.MobEffectEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.server.ServerLifecycleHooks;
@@ -51,16 +67,24 @@ public class ForgeEventSubscriber {
         if(!event.getLevel().isClientSide() && event.getLevel().equals(ServerLifecycleHooks.getCurrentServer().overworld()))
         {
             SculkHorde.statisticsData = new StatisticsData(); // Keep this above "SculkHorde.savedData". Otherwise, stats won't be loaded correctly.
+            SculkHorde.chunkTicketManager = new ChunkTicketManager(); //Initialize Chunk Ticket Manager
+            SculkHorde.entityChunkLoaderHelper = new EntityChunkLoaderHelper(); // Keep these above "SculkHorde.savedData". Otherwise, chunk load requests won't be loaded.
+            SculkHorde.blockEntityChunkLoaderHelper = new BlockEntityChunkLoaderHelper();
+            SculkHorde.infectionFrontierTracker = new InfectionFrontierTracker(); // Keep this above "SculkHorde.savedData" too.
+            SculkHorde.squadRegistry = new SquadRegistry();
+            SculkHorde.infestationWardIndex = new InfestationWardIndex(); // Keep this above any chunk loading
+            SculkHorde.airExposureCache = new AirExposureCache();
+            PlannedBlockChangeWatcher.clear();
+            SculkHorde.targetCandidateCache.clear();
             SculkHorde.savedData = ServerLifecycleHooks.getCurrentServer().overworld().getDataStorage().computeIfAbsent(ModSavedData::load, ModSavedData::new, SculkHorde.SAVE_DATA_ID); //Initialize Saved Data
             SculkHorde.gravemind = new Gravemind(); //Initialize Gravemind
             SculkHorde.deathAreaInvestigator = new DeathAreaInvestigator(); //Initialize Death Area Investigator
             SculkHorde.raidHandler = new RaidHandler((ServerLevel) event.getLevel()); //Initialize Raid Handler
             SculkHorde.sculkNodesHandler = new SculkNodesHandler(); //Initialize Sculk Nodes Handler
-            SculkHorde.entityChunkLoaderHelper = new EntityChunkLoaderHelper(); //Initialize Entity Chunk Loader Helper
-            SculkHorde.blockEntityChunkLoaderHelper = new BlockEntityChunkLoaderHelper(); //Initialize Block Entity Chunk Loader Helper
             SculkHorde.eventHandler = new EventHandler(); //Initialize Event Handler
             SculkHorde.beeNestActivitySystem = new BeeNestActivitySystem();
             SculkHorde.autoPerformanceSystem = new AutoPerformanceSystem();
+            SculkHorde.populationHandler.clear();
             ModConfig.SERVER.loadItemsInfectionCursorsCanEat();
             ModConfig.SERVER.loadConfiguredInfestableBlocks();
 
@@ -77,6 +101,157 @@ public class ForgeEventSubscriber {
         }
     }
 
+    /**
+     * Stops watching structures in a level that is unloading, so they are not kept around.
+     * @param event The unload event
+     */
+    @SubscribeEvent
+    public static void onWorldUnload(LevelEvent.Unload event)
+    {
+        if(event.getLevel() instanceof ServerLevel level)
+        {
+            PlannedBlockChangeWatcher.onLevelUnload(level);
+        }
+    }
+
+    /**
+     * Registers Sculk units with the population handler, and makes new entities show up in shared target searches.
+     * Runs last so that we do not count entities another mod cancels.
+     * @param event The join event
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event)
+    {
+        SculkHorde.populationHandler.onEntityJoinLevel(event.getEntity());
+        if(!event.getLevel().isClientSide())
+        {
+            SculkHorde.targetCandidateCache.onEntityJoinedOrLeftLevel(event.getEntity());
+        }
+    }
+
+    /**
+     * Removes Sculk units from the population handler when they die, despawn, unload or change dimension.
+     * Also stops shared target searches from holding on to the entity.
+     * @param event The leave event
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event)
+    {
+        SculkHorde.populationHandler.onEntityLeaveLevel(event.getEntity());
+        SculkHorde.squadRegistry.onEntityLeaveLevel(event.getEntity());
+        if(!event.getLevel().isClientSide())
+        {
+            SculkHorde.targetCandidateCache.onEntityJoinedOrLeftLevel(event.getEntity());
+        }
+    }
+
+    /**
+     * Keeps the shared target search results correct when entities move between areas.
+     * @param event The entering section event
+     */
+    @SubscribeEvent
+    public static void onEntityEnteringSection(EntityEvent.EnteringSection event)
+    {
+        if(event.getEntity().level().isClientSide())
+        {
+            return;
+        }
+        SculkHorde.targetCandidateCache.onEntityChangedSection(event.getEntity(), event.getOldPos(), event.getNewPos());
+        SculkHorde.squadRegistry.onEntityChangedSection(event.getEntity());
+    }
+
+    /**
+     * Finds the infestation wards in chunks as they load.
+     * @param event The chunk load event
+     */
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event)
+    {
+        // This can be fired from worker threads. Chunks we skip here are checked the slow way instead.
+        if(event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk && level.getServer().isSameThread())
+        {
+            SculkHorde.infestationWardIndex.onChunkLoad(level, chunk);
+        }
+
+        // Frontier sections waiting for this chunk are never checked again otherwise, so move this to the server thread
+        if(event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk)
+        {
+            if(level.getServer().isSameThread())
+            {
+                SculkHorde.infectionFrontierTracker.onChunkLoad(level, chunk.getPos());
+            }
+            else
+            {
+                level.getServer().execute(() -> SculkHorde.infectionFrontierTracker.onChunkLoad(level, chunk.getPos()));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event)
+    {
+        if(event.getLevel() instanceof ServerLevel level)
+        {
+            SculkHorde.infestationWardIndex.onChunkUnload(level, event.getChunk().getPos());
+            PlannedBlockChangeWatcher.onChunkUnload(level, event.getChunk().getPos());
+        }
+    }
+
+    /**
+     * Tells structures that are being built when a block near them changes, so they can keep count of their progress.
+     * The block changed even if another mod cancels the neighbor updates, so we still want to hear about it.
+     * @param event The neighbor notify event
+     */
+    @SubscribeEvent(receiveCanceled = true)
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event)
+    {
+        if(event.getLevel() instanceof ServerLevel level)
+        {
+            PlannedBlockChangeWatcher.onBlockChanged(level, event.getPos());
+        }
+    }
+
+    /**
+     * When a squad leader picks a new target, the members get it too.
+     * Also tells the population handler that the unit is not idle.
+     * Runs last so that we only push targets other mods did not change or cancel.
+     * @param event The change target event
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onLivingChangeTarget(LivingChangeTargetEvent event)
+    {
+        if(event.isCanceled() || !(event.getEntity() instanceof ISculkSmartEntity smartEntity))
+        {
+            return;
+        }
+
+        if(!event.getEntity().level().isClientSide())
+        {
+            SculkHorde.populationHandler.onUnitChangedTarget(smartEntity, event.getNewTarget());
+        }
+
+        if(smartEntity.getSquad() == null)
+        {
+            return;
+        }
+
+        if(smartEntity.getSquad().isSquadLeader())
+        {
+            smartEntity.getSquad().pushTargetToMembers(event.getNewTarget());
+        }
+    }
+
+    /**
+     * Tags decide which blocks can be infested, so anything we cached
+     * about block states is stale once they are reloaded.
+     * @param event The tags updated event
+     */
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event)
+    {
+        BlockInfestationCache.invalidate();
+    }
+
     /**
      * Gets Called Every tick when a world is running.
      * @param event The event with all the details
@@ -102,6 +277,7 @@ public class ForgeEventSubscriber {
         SculkHorde.populationHandler.serverTick();
         SculkHorde.blockEntityChunkLoaderHelper.processBlockChunkLoadRequests();
         SculkHorde.entityChunkLoaderHelper.processEntityChunkLoadRequests();
+        SculkHorde.infectionFrontierTracker.serverTick();
         SculkHorde.beeNestActivitySystem.serverTick();
 
         // Only run stuff below every 5 minutes
@@ -257,5 +433,10 @@ public class ForgeEventSubscriber {
         if (event.phase == TickEvent.Phase.START) {
             SculkHorde.autoPerformanceSystem.onServerTick();
         }
+        else if (event.phase == TickEvent.Phase.END) {
+            PlannedBlockChangeWatcher.serverTick();
+            SculkHorde.infestationWriteBuffer.flush(ServerLifecycleHooks.getCurrentServer());
+            SculkHorde.cursorParticleBatcher.flush(ServerLifecycleHooks.getCurrentServer());
+        }
     }
 }
@@ -0,0 +1,169 @@
+package com.github.sculkhorde.util;
+
+import com.github.sculkhorde.core.SculkHorde;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers to save a list of entries as columns instead of one tag per entry. <br>
+ * Every field gets one array tag, and the value of entry i is at index i of every array.
+ * This avoids writing the key names and the dimension string again for every entry. <br>
+ * Dimensions are stored once in a dictionary, and the entries only store their index in it.
+ */
+public class NbtColumns {
+
+    public static final String FORMAT_VERSION_KEY = "formatVersion";
+    public static final String SIZE_KEY = "size";
+    private static final String DIMENSIONS_KEY = "dimensions";
+
+    /**
+     * Creates the tag that holds the columns.
+     * @param formatVersion The version of the format, so it can be changed later
+     * @param size How many entries there are
+     * @return The tag
+     */
+    public static CompoundTag createColumnsTag(int formatVersion, int size)
+    {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt(FORMAT_VERSION_KEY, formatVersion);
+        tag.putInt(SIZE_KEY, size);
+        return tag;
+    }
+
+    public static int getSize(CompoundTag tag)
+    {
+        return tag.getInt(SIZE_KEY);
+    }
+
+    public static int getFormatVersion(CompoundTag tag)
+    {
+        return tag.getInt(FORMAT_VERSION_KEY);
+    }
+
+    /**
+     * Checks that the columns were saved in a format we know how to read.
+     * Columns from an unknown version, like one saved by a newer version of the mod, are logged and should be skipped.
+     * @param tag The columns tag
+     * @param latestFormatVersion The newest version we can read
+     * @param name What the columns hold, for the log
+     * @return True if the columns can be read
+     */
+    public static boolean canReadFormatVersion(CompoundTag tag, int latestFormatVersion, String name)
+    {
+        int formatVersion = getFormatVersion(tag);
+        if(formatVersion >= 1 && formatVersion <= latestFormatVersion)
+        {
+            return true;
+        }
+
+        SculkHorde.LOGGER.error("NbtColumns | Cannot read " + name + " saved in format version " + formatVersion + ", the newest known version is " + latestFormatVersion + ". They will not be loaded.");
+        return false;
+    }
+
+    /**
+     * Reads a column of longs. Missing values are 0, so a column added in a later version can still be read.
+     * @param tag The columns tag
+     * @param name The name of the column
+     * @return An array with exactly one value per entry
+     */
+    public static long[] getLongColumn(CompoundTag tag, String name)
+    {
+        long[] column = tag.getLongArray(name);
+        int size = getSize(tag);
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    /**
+     * Reads a column of ints. Missing values are 0, so a column added in a later version can still be read.
+     * @param tag The columns tag
+     * @param name The name of the column
+     * @return An array with exactly one value per entry
+     */
+    public static int[] getIntColumn(CompoundTag tag, String name)
+    {
+        int[] column = tag.getIntArray(name);
+        int size = getSize(tag);
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    /**
+     * Reads a column of booleans, stored as bytes. Missing values are false.
+     * @param tag The columns tag
+     * @param name The name of the column
+     * @return An array with exactly one value per entry
+     */
+    public static byte[] getByteColumn(CompoundTag tag, String name)
+    {
+        byte[] column = tag.getByteArray(name);
+        int size = getSize(tag);
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    /**
+     * Gives every dimension a small number, so entries do not have to store the dimension name.
+     * Entries without a dimension get -1.
+     */
+    public static class DimensionDictionary
+    {
+        private final List<ResourceKey<Level>> dimensions = new ArrayList<>();
+        private final Map<ResourceKey<Level>, Integer> indices = new HashMap<>();
+
+        public int encode(ResourceKey<Level> dimension)
+        {
+            if(dimension == null)
+            {
+                return -1;
+            }
+
+            return indices.computeIfAbsent(dimension, key -> {
+                dimensions.add(key);
+                return dimensions.size() - 1;
+            });
+        }
+
+        public ResourceKey<Level> decode(int index)
+        {
+            if(index < 0 || index >= dimensions.size())
+            {
+                return null;
+            }
+            return dimensions.get(index);
+        }
+
+        public void save(CompoundTag tag)
+        {
+            ListTag dimensionsTag = new ListTag();
+            for(ResourceKey<Level> dimension : dimensions)
+            {
+                dimensionsTag.add(StringTag.valueOf(dimension.location().toString()));
+            }
+            tag.put(DIMENSIONS_KEY, dimensionsTag);
+        }
+
+        public static DimensionDictionary load(CompoundTag tag)
+        {
+            DimensionDictionary dictionary = new DimensionDictionary();
+            ListTag dimensionsTag = tag.getList(DIMENSIONS_KEY, Tag.TAG_STRING);
+            for(int i = 0; i < dimensionsTag.size(); i++)
+            {
+                // Add even if it is already in there, so the indices still match
+                ResourceKey<Level> dimension = ResourceKey.create(Registries.DIMENSION, new ResourceLocation(dimensionsTag.getString(i)));
+                dictionary.dimensions.add(dimension);
+                dictionary.indices.putIfAbsent(dimension, i);
+            }
+            return dictionary;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.sculkhorde.util;
+
+import java.util.Arrays;
+
+/**
+ * A binary max heap of packed block positions (see {@link net.minecraft.core.BlockPos#asLong()}).
+ * Positions with the highest priority are polled first. Positions with equal priority are polled
+ * in the order they were added, which matches what a stable sort of a list would give us.
+ * Everything is stored in parallel primitive arrays so adding and polling does not allocate.
+ */
+public class PackedBlockPosMaxHeap
+{
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] positions = new long[DEFAULT_CAPACITY];
+    private int[] priorities = new int[DEFAULT_CAPACITY];
+    private long[] insertionOrder = new long[DEFAULT_CAPACITY];
+    private int size = 0;
+    private long nextInsertionOrder = 0;
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public void clear()
+    {
+        size = 0;
+        nextInsertionOrder = 0;
+    }
+
+    public void add(long packedPos, int priority)
+    {
+        if(size == positions.length)
+        {
+            int newCapacity = positions.length * 2;
+            positions = Arrays.copyOf(positions, newCapacity);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+            insertionOrder = Arrays.copyOf(insertionOrder, newCapacity);
+        }
+
+        positions[size] = packedPos;
+        priorities[size] = priority;
+        insertionOrder[size] = nextInsertionOrder++;
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Removes and returns the position with the highest priority.
+     * @return The packed position
+     */
+    public long poll()
+    {
+        if(size == 0)
+        {
+            throw new IllegalStateException("Cannot poll an empty heap.");
+        }
+
+        long result = positions[0];
+        size--;
+        if(size > 0)
+        {
+            move(size, 0);
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private boolean isBefore(int a, int b)
+    {
+        if(priorities[a] != priorities[b])
+        {
+            return priorities[a] > priorities[b];
+        }
+        return insertionOrder[a] < insertionOrder[b];
+    }
+
+    private void siftUp(int index)
+    {
+        while(index > 0)
+        {
+            int parent = (index - 1) >>> 1;
+            if(!isBefore(index, parent))
+            {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index)
+    {
+        while(true)
+        {
+            int left = (index << 1) + 1;
+            if(left >= size)
+            {
+                return;
+            }
+
+            int right = left + 1;
+            int best = (right < size && isBefore(right, left)) ? right : left;
+            if(!isBefore(best, index))
+            {
+                return;
+            }
+            swap(index, best);
+            index = best;
+        }
+    }
+
+    private void move(int from, int to)
+    {
+        positions[to] = positions[from];
+        priorities[to] = priorities[from];
+        insertionOrder[to] = insertionOrder[from];
+    }
+
+    private void swap(int a, int b)
+    {
+        long tempPosition = positions[a];
+        int tempPriority = priorities[a];
+        long tempInsertionOrder = insertionOrder[a];
+        move(b, a);
+        positions[b] = tempPosition;
+        priorities[b] = tempPriority;
+        insertionOrder[b] = tempInsertionOrder;
+    }
+}
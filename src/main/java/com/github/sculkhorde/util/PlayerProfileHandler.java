@@ -34,6 +34,7 @@ public class PlayerProfileHandler {
         {
             ModSavedData.PlayerProfileEntry newEntry = new ModSavedData.PlayerProfileEntry(player);
             SculkHorde.savedData.getPlayerProfileEntries().add(newEntry);
+            SculkHorde.savedData.markSectionDirty(ModSavedData.SaveSection.PLAYER_PROFILES);
             return newEntry;
 
         }
@@ -0,0 +1,263 @@
+package com.github.sculkhorde.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Scans a cube of blocks by walking the chunk sections it covers, instead of asking the level for every position.
+ * <ul>
+ *     <li>Block states are read straight from the section, so we skip the chunk lookup for every block.</li>
+ *     <li>Before a section is scanned, its palette is asked if it could contain a matching state at all.
+ *     Sections that cannot (like sections of only air) are skipped without looking at a single block.</li>
+ *     <li>Sections are visited closest first, so a search for the nearest match stops as soon as no
+ *     remaining section could contain anything closer.</li>
+ *     <li>Chunks that are not loaded are skipped instead of being loaded.</li>
+ * </ul>
+ * Air ({@link Blocks#AIR}) is never handed to a predicate, the same as the old scanning methods in {@link BlockAlgorithms}.
+ */
+public class SectionBlockScanner
+{
+    private static final int SECTION_SIZE = 16;
+
+    private final ServerLevel level;
+    private final BlockPos origin;
+    private final Predicate<BlockState> stateFilter;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    /**
+     * @param level The level
+     * @param origin The center of the cube
+     * @param distance How far the cube reaches from the origin on each axis
+     * @param stateFilter Only blocks with a state passing this filter are looked at. Also used on the section palettes.
+     */
+    private SectionBlockScanner(ServerLevel level, BlockPos origin, int distance, Predicate<BlockState> stateFilter)
+    {
+        this.level = level;
+        this.origin = origin;
+        this.stateFilter = state -> !state.is(Blocks.AIR) && stateFilter.test(state);
+
+        minX = origin.getX() - distance;
+        minY = Math.max(origin.getY() - distance, level.getMinBuildHeight());
+        minZ = origin.getZ() - distance;
+        maxX = origin.getX() + distance;
+        maxY = Math.min(origin.getY() + distance, level.getMaxBuildHeight() - 1);
+        maxZ = origin.getZ() + distance;
+    }
+
+    /**
+     * Finds the matching block closest to the origin.
+     * @param level The level
+     * @param origin The center of the cube
+     * @param distance How far the cube reaches from the origin on each axis
+     * @param stateFilter A cheap test that only looks at the block state. Used to skip whole sections.
+     * @param predicate The final test. The position is mutable and must be copied to be kept.
+     * @return The position of the closest match, if any
+     */
+    public static Optional<BlockPos> findNearest(ServerLevel level, BlockPos origin, int distance, Predicate<BlockState> stateFilter, BiPredicate<BlockPos, BlockState> predicate)
+    {
+        return new SectionBlockScanner(level, origin, distance, stateFilter).findNearest(predicate);
+    }
+
+    /**
+     * Finds every matching block.
+     * @param level The level
+     * @param origin The center of the cube
+     * @param distance How far the cube reaches from the origin on each axis
+     * @param stateFilter A cheap test that only looks at the block state. Used to skip whole sections.
+     * @param predicate The final test. The position is mutable and must be copied to be kept.
+     * @return The positions of every match, closest first
+     */
+    public static ArrayList<BlockPos> findAll(ServerLevel level, BlockPos origin, int distance, Predicate<BlockState> stateFilter, BiPredicate<BlockPos, BlockState> predicate)
+    {
+        return new SectionBlockScanner(level, origin, distance, stateFilter).findAll(predicate);
+    }
+
+    private Optional<BlockPos> findNearest(BiPredicate<BlockPos, BlockState> predicate)
+    {
+        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
+        BlockPos closest = null;
+        long closestDistance = Long.MAX_VALUE;
+
+        for(long[] section : getSectionsClosestFirst())
+        {
+            // Every section after this one is at least as far away
+            if(section[3] > closestDistance)
+            {
+                break;
+            }
+
+            LevelChunkSection chunkSection = getSectionIfWorthScanning(section);
+            if(chunkSection == null)
+            {
+                continue;
+            }
+
+            int startX = Math.max(minX, (int) section[0] * SECTION_SIZE);
+            int startY = Math.max(minY, (int) section[1] * SECTION_SIZE);
+            int startZ = Math.max(minZ, (int) section[2] * SECTION_SIZE);
+            int endX = Math.min(maxX, (int) section[0] * SECTION_SIZE + SECTION_SIZE - 1);
+            int endY = Math.min(maxY, (int) section[1] * SECTION_SIZE + SECTION_SIZE - 1);
+            int endZ = Math.min(maxZ, (int) section[2] * SECTION_SIZE + SECTION_SIZE - 1);
+
+            for(int x = startX; x <= endX; x++) {
+                for(int y = startY; y <= endY; y++) {
+                    for(int z = startZ; z <= endZ; z++) {
+                        long distance = distanceSquared(x, y, z);
+                        if(distance >= closestDistance)
+                        {
+                            continue;
+                        }
+
+                        BlockState state = chunkSection.getBlockState(x & 15, y & 15, z & 15);
+                        if(!stateFilter.test(state))
+                        {
+                            continue;
+                        }
+
+                        mutableBlockPos.set(x, y, z);
+                        if(predicate.test(mutableBlockPos, state))
+                        {
+                            closest = mutableBlockPos.immutable();
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+
+        return Optional.ofNullable(closest);
+    }
+
+    private ArrayList<BlockPos> findAll(BiPredicate<BlockPos, BlockState> predicate)
+    {
+        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
+        ArrayList<BlockPos> matches = new ArrayList<>();
+
+        for(long[] section : getSectionsClosestFirst())
+        {
+            LevelChunkSection chunkSection = getSectionIfWorthScanning(section);
+            if(chunkSection == null)
+            {
+                continue;
+            }
+
+            int startX = Math.max(minX, (int) section[0] * SECTION_SIZE);
+            int startY = Math.max(minY, (int) section[1] * SECTION_SIZE);
+            int startZ = Math.max(minZ, (int) section[2] * SECTION_SIZE);
+            int endX = Math.min(maxX, (int) section[0] * SECTION_SIZE + SECTION_SIZE - 1);
+            int endY = Math.min(maxY, (int) section[1] * SECTION_SIZE + SECTION_SIZE - 1);
+            int endZ = Math.min(maxZ, (int) section[2] * SECTION_SIZE + SECTION_SIZE - 1);
+
+            for(int x = startX; x <= endX; x++) {
+                for(int y = startY; y <= endY; y++) {
+                    for(int z = startZ; z <= endZ; z++) {
+                        BlockState state = chunkSection.getBlockState(x & 15, y & 15, z & 15);
+                        if(!stateFilter.test(state))
+                        {
+                            continue;
+                        }
+
+                        mutableBlockPos.set(x, y, z);
+                        if(predicate.test(mutableBlockPos, state))
+                        {
+                            matches.add(mutableBlockPos.immutable());
+                        }
+                    }
+                }
+            }
+        }
+
+        // Only the matches get sorted, sections were already visited closest first
+        matches.sort(Comparator.comparingLong(pos -> distanceSquared(pos.getX(), pos.getY(), pos.getZ())));
+        return matches;
+    }
+
+    private long distanceSquared(int x, int y, int z)
+    {
+        long dx = x - origin.getX();
+        long dy = y - origin.getY();
+        long dz = z - origin.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Lists every section the cube touches as {sectionX, sectionY, sectionZ, closest distance squared to the origin}.
+     */
+    private long[][] getSectionsClosestFirst()
+    {
+        if(minY > maxY)
+        {
+            return new long[0][];
+        }
+
+        int minSectionX = SectionPos.blockToSectionCoord(minX);
+        int minSectionY = SectionPos.blockToSectionCoord(minY);
+        int minSectionZ = SectionPos.blockToSectionCoord(minZ);
+        int maxSectionX = SectionPos.blockToSectionCoord(maxX);
+        int maxSectionY = SectionPos.blockToSectionCoord(maxY);
+        int maxSectionZ = SectionPos.blockToSectionCoord(maxZ);
+
+        long[][] sections = new long[(maxSectionX - minSectionX + 1) * (maxSectionY - minSectionY + 1) * (maxSectionZ - minSectionZ + 1)][];
+        int index = 0;
+        for(int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for(int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                for(int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                    long dx = distanceToRange(origin.getX(), Math.max(minX, sectionX * SECTION_SIZE), Math.min(maxX, sectionX * SECTION_SIZE + SECTION_SIZE - 1));
+                    long dy = distanceToRange(origin.getY(), Math.max(minY, sectionY * SECTION_SIZE), Math.min(maxY, sectionY * SECTION_SIZE + SECTION_SIZE - 1));
+                    long dz = distanceToRange(origin.getZ(), Math.max(minZ, sectionZ * SECTION_SIZE), Math.min(maxZ, sectionZ * SECTION_SIZE + SECTION_SIZE - 1));
+                    sections[index++] = new long[] {sectionX, sectionY, sectionZ, dx * dx + dy * dy + dz * dz};
+                }
+            }
+        }
+
+        Arrays.sort(sections, Comparator.comparingLong(section -> section[3]));
+        return sections;
+    }
+
+    private static long distanceToRange(int value, int min, int max)
+    {
+        if(value < min) { return min - value; }
+        if(value > max) { return value - max; }
+        return 0;
+    }
+
+    /**
+     * @return The section, or null if it is not loaded or its palette says there is nothing in it for us.
+     */
+    private LevelChunkSection getSectionIfWorthScanning(long[] section)
+    {
+        LevelChunk chunk = level.getChunkSource().getChunkNow((int) section[0], (int) section[2]);
+        if(chunk == null)
+        {
+            return null;
+        }
+
+        int sectionIndex = level.getSectionIndexFromSectionY((int) section[1]);
+        if(sectionIndex < 0 || sectionIndex >= chunk.getSections().length)
+        {
+            return null;
+        }
+
+        // A section of only air has a single entry palette, so this is cheap for the most common case
+        LevelChunkSection chunkSection = chunk.getSection(sectionIndex);
+        return chunkSection.getStates().maybeHas(stateFilter) ? chunkSection : null;
+    }
+}
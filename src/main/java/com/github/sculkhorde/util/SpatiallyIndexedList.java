@@ -0,0 +1,526 @@
+package com.github.sculkhorde.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An ArrayList that also keeps its entries in a per-dimension grid, so that
+ * "what is at this position", "what is closest to this position" and "what is within
+ * this range" do not have to look at every entry. <br>
+ * The grid is a hash map of square cells on the XZ plane, keyed like a {@link ChunkPos}.
+ * Y is ignored for bucketing, but all distance checks are still done in 3D. <br>
+ * The list itself behaves exactly like an ArrayList, so existing code that reads or modifies
+ * it keeps working. The common modifications (add, remove, set, clear) update the grid as they go.
+ * Anything else that changes the list (removeIf, sorting, sub lists...) is detected through the
+ * modification count and causes the grid to be rebuilt the next time it is queried.
+ * <br>
+ * Entries must not change position or dimension while they are in the list.
+ * @param <E> The type of entry
+ */
+public class SpatiallyIndexedList<E> extends ArrayList<E>
+{
+    private final Function<E, ResourceKey<Level>> dimensionGetter;
+    private final Function<E, BlockPos> positionGetter;
+    // How far an entry reaches outside its own position. Used for entries that cover an area, like a no raid zone.
+    private final ToIntFunction<E> reachGetter;
+    private final int cellSizeBits;
+
+    private final Map<ResourceKey<Level>, DimensionGrid<E>> grids = new HashMap<>();
+    private int indexedModCount = 0;
+    private int largestReach = 0;
+
+    /**
+     * @param dimensionGetter Gets the dimension of an entry
+     * @param positionGetter Gets the position of an entry
+     * @param cellSizeBits The size of a grid cell as a power of two. 4 means 16 blocks (a chunk), 6 means 64 blocks.
+     */
+    public SpatiallyIndexedList(Function<E, ResourceKey<Level>> dimensionGetter, Function<E, BlockPos> positionGetter, int cellSizeBits)
+    {
+        this(dimensionGetter, positionGetter, entry -> 0, cellSizeBits);
+    }
+
+    /**
+     * @param dimensionGetter Gets the dimension of an entry
+     * @param positionGetter Gets the position of an entry
+     * @param reachGetter Gets how far an entry reaches from its position
+     * @param cellSizeBits The size of a grid cell as a power of two. 4 means 16 blocks (a chunk), 6 means 64 blocks.
+     */
+    public SpatiallyIndexedList(Function<E, ResourceKey<Level>> dimensionGetter, Function<E, BlockPos> positionGetter, ToIntFunction<E> reachGetter, int cellSizeBits)
+    {
+        super();
+        this.dimensionGetter = dimensionGetter;
+        this.positionGetter = positionGetter;
+        this.reachGetter = reachGetter;
+        this.cellSizeBits = cellSizeBits;
+    }
+
+    /**
+     * A grid of cells for a single dimension.
+     */
+    private static class DimensionGrid<E>
+    {
+        private final Long2ObjectOpenHashMap<ArrayList<E>> cells = new Long2ObjectOpenHashMap<>();
+        private int entryCount = 0;
+        // Bounds of every cell that was ever used. Only grows until the next rebuild, which is fine for a search limit.
+        private int minCellX = Integer.MAX_VALUE;
+        private int maxCellX = Integer.MIN_VALUE;
+        private int minCellZ = Integer.MAX_VALUE;
+        private int maxCellZ = Integer.MIN_VALUE;
+    }
+
+    // ###### Keeping the grid in sync ######
+
+    private boolean isIndexUpToDate()
+    {
+        return indexedModCount == modCount;
+    }
+
+    private void rebuildIndexIfNeeded()
+    {
+        if(isIndexUpToDate())
+        {
+            return;
+        }
+
+        grids.clear();
+        largestReach = 0;
+        for(int i = 0; i < size(); i++)
+        {
+            insertIntoIndex(get(i));
+        }
+        indexedModCount = modCount;
+    }
+
+    private int toCellCoord(int blockCoord)
+    {
+        return blockCoord >> cellSizeBits;
+    }
+
+    private void insertIntoIndex(E entry)
+    {
+        ResourceKey<Level> dimension = entry == null ? null : dimensionGetter.apply(entry);
+        BlockPos position = entry == null ? null : positionGetter.apply(entry);
+        if(dimension == null || position == null)
+        {
+            return;
+        }
+
+        DimensionGrid<E> grid = grids.computeIfAbsent(dimension, key -> new DimensionGrid<>());
+        int cellX = toCellCoord(position.getX());
+        int cellZ = toCellCoord(position.getZ());
+        grid.cells.computeIfAbsent(ChunkPos.asLong(cellX, cellZ), key -> new ArrayList<>(2)).add(entry);
+        grid.entryCount++;
+        grid.minCellX = Math.min(grid.minCellX, cellX);
+        grid.maxCellX = Math.max(grid.maxCellX, cellX);
+        grid.minCellZ = Math.min(grid.minCellZ, cellZ);
+        grid.maxCellZ = Math.max(grid.maxCellZ, cellZ);
+        largestReach = Math.max(largestReach, reachGetter.applyAsInt(entry));
+    }
+
+    private void removeFromIndex(E entry)
+    {
+        ResourceKey<Level> dimension = entry == null ? null : dimensionGetter.apply(entry);
+        BlockPos position = entry == null ? null : positionGetter.apply(entry);
+        if(dimension == null || position == null)
+        {
+            return;
+        }
+
+        DimensionGrid<E> grid = grids.get(dimension);
+        if(grid == null)
+        {
+            return;
+        }
+
+        long cellKey = ChunkPos.asLong(toCellCoord(position.getX()), toCellCoord(position.getZ()));
+        ArrayList<E> cell = grid.cells.get(cellKey);
+        if(cell == null)
+        {
+            return;
+        }
+
+        // Remove by identity, two entries can be equal without being the same entry
+        for(int i = 0; i < cell.size(); i++)
+        {
+            if(cell.get(i) == entry)
+            {
+                cell.remove(i);
+                grid.entryCount--;
+                break;
+            }
+        }
+
+        if(cell.isEmpty())
+        {
+            grid.cells.remove(cellKey);
+        }
+    }
+
+    @Override
+    public boolean add(E entry)
+    {
+        boolean wasIndexUpToDate = isIndexUpToDate();
+        super.add(entry);
+        if(wasIndexUpToDate)
+        {
+            insertIntoIndex(entry);
+            indexedModCount = modCount;
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int index, E entry)
+    {
+        boolean wasIndexUpToDate = isIndexUpToDate();
+        super.add(index, entry);
+        if(wasIndexUpToDate)
+        {
+            insertIntoIndex(entry);
+            indexedModCount = modCount;
+        }
+    }
+
+    @Override
+    public E remove(int index)
+    {
+        boolean wasIndexUpToDate = isIndexUpToDate();
+        E removed = super.remove(index);
+        if(wasIndexUpToDate)
+        {
+            removeFromIndex(removed);
+            indexedModCount = modCount;
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object entry)
+    {
+        int index = indexOf(entry);
+        if(index < 0)
+        {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public E set(int index, E entry)
+    {
+        E replaced = super.set(index, entry);
+        if(isIndexUpToDate())
+        {
+            removeFromIndex(replaced);
+            insertIntoIndex(entry);
+        }
+        return replaced;
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        grids.clear();
+        largestReach = 0;
+        indexedModCount = modCount;
+    }
+
+    // ###### Queries ######
+
+    /**
+     * Finds an entry at exactly this position, in any dimension.
+     * @param position The position
+     * @return The entry, if any
+     */
+    public Optional<E> getAtPosition(BlockPos position)
+    {
+        rebuildIndexIfNeeded();
+        for(ResourceKey<Level> dimension : grids.keySet())
+        {
+            Optional<E> result = getAtPosition(dimension, position);
+            if(result.isPresent())
+            {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds an entry at exactly this position.
+     * @param dimension The dimension
+     * @param position The position
+     * @return The entry, if any
+     */
+    public Optional<E> getAtPosition(ResourceKey<Level> dimension, BlockPos position)
+    {
+        rebuildIndexIfNeeded();
+        DimensionGrid<E> grid = grids.get(dimension);
+        if(grid == null || position == null)
+        {
+            return Optional.empty();
+        }
+
+        ArrayList<E> cell = grid.cells.get(ChunkPos.asLong(toCellCoord(position.getX()), toCellCoord(position.getZ())));
+        if(cell == null)
+        {
+            return Optional.empty();
+        }
+
+        for(E entry : cell)
+        {
+            if(position.equals(positionGetter.apply(entry)))
+            {
+                return Optional.of(entry);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the first entry within range of a position that passes the predicate, in any dimension.
+     * The reach of entries is added to the range, so entries that cover an area are found as well.
+     * @param position The position
+     * @param range How far away from the position to look
+     * @param predicate The final test. This is where the exact distance check should be done.
+     * @return The entry, if any
+     */
+    public Optional<E> findFirstWithinRange(BlockPos position, int range, Predicate<E> predicate)
+    {
+        rebuildIndexIfNeeded();
+        for(ResourceKey<Level> dimension : grids.keySet())
+        {
+            Optional<E> result = findFirstWithinRange(dimension, position, range, predicate);
+            if(result.isPresent())
+            {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the first entry within range of a position that passes the predicate.
+     * The reach of entries is added to the range, so entries that cover an area are found as well.
+     * @param dimension The dimension
+     * @param position The position
+     * @param range How far away from the position to look
+     * @param predicate The final test. This is where the exact distance check should be done.
+     * @return The entry, if any
+     */
+    public Optional<E> findFirstWithinRange(ResourceKey<Level> dimension, BlockPos position, int range, Predicate<E> predicate)
+    {
+        return Optional.ofNullable(visitWithinRange(dimension, position, range, predicate));
+    }
+
+    /**
+     * Finds every entry within range of a position that passes the predicate.
+     * The reach of entries is added to the range, so entries that cover an area are found as well.
+     * @param dimension The dimension
+     * @param position The position
+     * @param range How far away from the position to look
+     * @param predicate The final test. This is where the exact distance check should be done.
+     * @return The entries, in no particular order
+     */
+    public List<E> getAllWithinRange(ResourceKey<Level> dimension, BlockPos position, int range, Predicate<E> predicate)
+    {
+        List<E> result = new ArrayList<>();
+        visitWithinRange(dimension, position, range, entry -> {
+            if(predicate.test(entry))
+            {
+                result.add(entry);
+            }
+            return false;
+        });
+        return result;
+    }
+
+    /**
+     * Hands every entry in the cells around a position to the visitor, until the visitor returns true.
+     * @return The entry the visitor stopped at, or null
+     */
+    private E visitWithinRange(ResourceKey<Level> dimension, BlockPos position, int range, Predicate<E> visitor)
+    {
+        rebuildIndexIfNeeded();
+        DimensionGrid<E> grid = grids.get(dimension);
+        if(grid == null || position == null)
+        {
+            return null;
+        }
+
+        int searchRange = range + largestReach;
+        int minCellX = Math.max(toCellCoord(position.getX() - searchRange), grid.minCellX);
+        int maxCellX = Math.min(toCellCoord(position.getX() + searchRange), grid.maxCellX);
+        int minCellZ = Math.max(toCellCoord(position.getZ() - searchRange), grid.minCellZ);
+        int maxCellZ = Math.min(toCellCoord(position.getZ() + searchRange), grid.maxCellZ);
+
+        // If the area covers more cells than there are entries, looking at every entry is cheaper
+        long cellsToVisit = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+        if(cellsToVisit > grid.entryCount)
+        {
+            for(ArrayList<E> cell : grid.cells.values())
+            {
+                for(E entry : cell)
+                {
+                    if(visitor.test(entry))
+                    {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+
+        for(int cellX = minCellX; cellX <= maxCellX; cellX++)
+        {
+            for(int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+            {
+                ArrayList<E> cell = grid.cells.get(ChunkPos.asLong(cellX, cellZ));
+                if(cell == null)
+                {
+                    continue;
+                }
+
+                for(E entry : cell)
+                {
+                    if(visitor.test(entry))
+                    {
+                        return entry;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the closest entry to a position, in any dimension.
+     * @param position The position
+     * @return The closest entry, if any
+     */
+    public Optional<E> getClosest(BlockPos position)
+    {
+        rebuildIndexIfNeeded();
+        E closestEntry = null;
+        double closestDistance = Double.MAX_VALUE;
+        for(ResourceKey<Level> dimension : grids.keySet())
+        {
+            Optional<E> closestInDimension = getClosest(dimension, position);
+            if(closestInDimension.isEmpty())
+            {
+                continue;
+            }
+
+            double distance = position.distSqr(positionGetter.apply(closestInDimension.get()));
+            if(distance < closestDistance)
+            {
+                closestEntry = closestInDimension.get();
+                closestDistance = distance;
+            }
+        }
+        return Optional.ofNullable(closestEntry);
+    }
+
+    /**
+     * Finds the closest entry to a position.
+     * Looks at cells in growing rings around the position and stops as soon as
+     * no cell further out could contain anything closer.
+     * @param dimension The dimension
+     * @param position The position
+     * @return The closest entry, if any
+     */
+    public Optional<E> getClosest(ResourceKey<Level> dimension, BlockPos position)
+    {
+        rebuildIndexIfNeeded();
+        DimensionGrid<E> grid = grids.get(dimension);
+        if(grid == null || grid.entryCount <= 0 || position == null)
+        {
+            return Optional.empty();
+        }
+
+        int centerCellX = toCellCoord(position.getX());
+        int centerCellZ = toCellCoord(position.getZ());
+        int maxRing = Math.max(
+                Math.max(Math.abs(centerCellX - grid.minCellX), Math.abs(grid.maxCellX - centerCellX)),
+                Math.max(Math.abs(centerCellZ - grid.minCellZ), Math.abs(grid.maxCellZ - centerCellZ)));
+        int cellSize = 1 << cellSizeBits;
+
+        E closestEntry = null;
+        double closestDistance = Double.MAX_VALUE;
+        long cellsVisited = 0;
+
+        for(int ring = 0; ring <= maxRing; ring++)
+        {
+            // Anything in this ring or further is at least this far away on the XZ plane
+            double ringDistance = (double) Math.max(0, ring - 1) * cellSize;
+            if(closestEntry != null && ringDistance * ringDistance > closestDistance)
+            {
+                break;
+            }
+
+            // Entries are far apart compared to the cell size. Looking at every entry is cheaper.
+            cellsVisited += ring == 0 ? 1 : 8L * ring;
+            if(cellsVisited > grid.entryCount * 2L)
+            {
+                for(ArrayList<E> cell : grid.cells.values())
+                {
+                    for(E entry : cell)
+                    {
+                        double distance = position.distSqr(positionGetter.apply(entry));
+                        if(distance < closestDistance)
+                        {
+                            closestEntry = entry;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+                break;
+            }
+
+            // Only the border of the ring, the inside was already checked
+            int sideLength = ring == 0 ? 1 : 2 * ring;
+            for(int step = 0; step < sideLength; step++)
+            {
+                closestEntry = getClosestInCell(grid, centerCellX - ring + step, centerCellZ - ring, position, closestEntry);
+                if(ring == 0) { break; }
+                closestEntry = getClosestInCell(grid, centerCellX + ring, centerCellZ - ring + step, position, closestEntry);
+                closestEntry = getClosestInCell(grid, centerCellX + ring - step, centerCellZ + ring, position, closestEntry);
+                closestEntry = getClosestInCell(grid, centerCellX - ring, centerCellZ + ring - step, position, closestEntry);
+            }
+            closestDistance = closestEntry == null ? Double.MAX_VALUE : position.distSqr(positionGetter.apply(closestEntry));
+        }
+
+        return Optional.ofNullable(closestEntry);
+    }
+
+    private E getClosestInCell(DimensionGrid<E> grid, int cellX, int cellZ, BlockPos position, E closestEntry)
+    {
+        ArrayList<E> cell = grid.cells.get(ChunkPos.asLong(cellX, cellZ));
+        if(cell == null)
+        {
+            return closestEntry;
+        }
+
+        double closestDistance = closestEntry == null ? Double.MAX_VALUE : position.distSqr(positionGetter.apply(closestEntry));
+        for(E entry : cell)
+        {
+            double distance = position.distSqr(positionGetter.apply(entry));
+            if(distance < closestDistance)
+            {
+                closestEntry = entry;
+                closestDistance = distance;
+            }
+        }
+        return closestEntry;
+    }
+}
@@ -1,10 +1,12 @@
 package com.github.sculkhorde.util;
 
 import com.github.sculkhorde.common.entity.ISculkSmartEntity;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
 
 import java.util.ArrayList;
 import java.util.Optional;
@@ -18,6 +20,11 @@ public class SquadHandler {
 
     private final int squadSize = 10;
 
+    // Where this squad is in the SquadRegistry. Only used while we are the leader.
+    boolean isRegistered = false;
+    ResourceKey<Level> registeredDimension;
+    long registeredSectionKey;
+
     public SquadHandler(ISculkSmartEntity entity) {
         this.sculkSmartEntity = entity;
     }
@@ -89,6 +96,11 @@ public class SquadHandler {
         if (isSquadJoinable()) {
             squadMembers.add(joiningMob);
             joiningMob.getSquad().squadLeader = Optional.ofNullable(sculkSmartEntity);
+
+            // Targets are only sent when the leader changes target, so catch the new member up
+            if (((Mob) joiningMob).getTarget() == null && getMob().getTarget() != null) {
+                ((Mob) joiningMob).setTarget(getMob().getTarget());
+            }
             return true;
         }
         return false;
@@ -102,6 +114,7 @@ public class SquadHandler {
 
     public void createSquad() {
         squadLeader = Optional.ofNullable(sculkSmartEntity);
+        SquadRegistry.getSquadRegistry().register(this);
     }
 
     public void disbandSquad() {
@@ -110,6 +123,26 @@ public class SquadHandler {
         }
         squadMembers.clear();
         squadLeader = Optional.empty();
+        SquadRegistry.getSquadRegistry().unregister(this);
+    }
+
+    /**
+     * Gets called when the leader of this squad changes target. Members attack whatever the leader attacks,
+     * so we hand them the new target right away instead of having each of them check the leader every tick.
+     * @param target The new target of the leader
+     */
+    public void pushTargetToMembers(LivingEntity target)
+    {
+        if (target == null) {
+            return;
+        }
+
+        for (ISculkSmartEntity member : squadMembers) {
+            Mob memberMob = (Mob) member;
+            if (memberMob.isAlive() && memberMob.getTarget() != target) {
+                memberMob.setTarget(target);
+            }
+        }
     }
 
     public ISculkSmartEntity getMobMemberWithMostMaxHealth()
@@ -137,6 +170,7 @@ public class SquadHandler {
 
     public static void promoteToLeaderOfSquad(ISculkSmartEntity entity, SquadHandler oldSquad)
     {
+        SquadRegistry.getSquadRegistry().unregister(oldSquad);
         entity.getSquad().createSquad();
         if(oldSquad.squadLeader.isPresent())
         {
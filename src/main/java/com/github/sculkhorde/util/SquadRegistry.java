@@ -0,0 +1,179 @@
+package com.github.sculkhorde.util;
+
+import com.github.sculkhorde.common.entity.ISculkSmartEntity;
+import com.github.sculkhorde.core.SculkHorde;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of every squad, by the chunk section its leader is in. <br>
+ * Mobs without a squad used to ask the level for every mob around them, and then look for a leader among them.
+ * Now they only look at the squads in the few sections around them. <br>
+ * The index is kept up to date when leaders move between sections. Squads whose leader died or stepped down
+ * are removed when we come across them.
+ */
+public class SquadRegistry {
+
+    private final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<ArrayList<SquadHandler>>> squadsBySection = new HashMap<>();
+    private int registeredSquadsCount = 0;
+
+    public SquadRegistry()
+    {
+
+    }
+
+    public static SquadRegistry getSquadRegistry()
+    {
+        return SculkHorde.squadRegistry;
+    }
+
+    public int getRegisteredSquadsCount()
+    {
+        return registeredSquadsCount;
+    }
+
+    /**
+     * Adds a squad at the position of its leader. Does nothing if it is already registered.
+     * @param squad The squad handler of the leader
+     */
+    public void register(SquadHandler squad)
+    {
+        if(squad.isRegistered)
+        {
+            return;
+        }
+
+        Mob leader = squad.getMob();
+        squad.registeredDimension = leader.level().dimension();
+        squad.registeredSectionKey = SectionPos.asLong(leader.blockPosition());
+        squad.isRegistered = true;
+        squadsBySection.computeIfAbsent(squad.registeredDimension, key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(squad.registeredSectionKey, key -> new ArrayList<>())
+                .add(squad);
+        registeredSquadsCount++;
+    }
+
+    /**
+     * Removes a squad. Does nothing if it is not registered.
+     * @param squad The squad handler of the leader
+     */
+    public void unregister(SquadHandler squad)
+    {
+        if(!squad.isRegistered)
+        {
+            return;
+        }
+
+        Long2ObjectOpenHashMap<ArrayList<SquadHandler>> sections = squadsBySection.get(squad.registeredDimension);
+        if(sections != null)
+        {
+            ArrayList<SquadHandler> squads = sections.get(squad.registeredSectionKey);
+            if(squads != null)
+            {
+                squads.remove(squad);
+                if(squads.isEmpty())
+                {
+                    sections.remove(squad.registeredSectionKey);
+                }
+            }
+        }
+
+        squad.isRegistered = false;
+        registeredSquadsCount--;
+    }
+
+    /**
+     * Gets called when an entity moves into another chunk section. Moves its squad along if it is a leader.
+     * @param entity The entity
+     */
+    public void onEntityChangedSection(Entity entity)
+    {
+        if(!(entity instanceof ISculkSmartEntity smartEntity) || smartEntity.getSquad() == null || !smartEntity.getSquad().isRegistered)
+        {
+            return;
+        }
+
+        SquadHandler squad = smartEntity.getSquad();
+        unregister(squad);
+        register(squad);
+    }
+
+    /**
+     * Gets called when an entity is removed from a level, like when it dies or its chunk unloads.
+     * @param entity The entity
+     */
+    public void onEntityLeaveLevel(Entity entity)
+    {
+        if(entity instanceof ISculkSmartEntity smartEntity && smartEntity.getSquad() != null)
+        {
+            unregister(smartEntity.getSquad());
+        }
+    }
+
+    /**
+     * Finds the closest squad with space left whose leader is inside an area.
+     * @param joiningMob The mob looking for a squad
+     * @param searchArea The area the leader has to be in
+     * @return The squad handler of the leader, or null if there is none
+     */
+    @Nullable
+    public SquadHandler findClosestJoinableSquad(Mob joiningMob, AABB searchArea)
+    {
+        Long2ObjectOpenHashMap<ArrayList<SquadHandler>> sections = squadsBySection.get(joiningMob.level().dimension());
+        if(sections == null)
+        {
+            return null;
+        }
+
+        SquadHandler closestSquad = null;
+        double closestDistance = Double.MAX_VALUE;
+        ArrayList<SquadHandler> squadsToRemove = new ArrayList<>();
+
+        for(int sectionX = SectionPos.posToSectionCoord(searchArea.minX); sectionX <= SectionPos.posToSectionCoord(searchArea.maxX); sectionX++) {
+            for(int sectionY = SectionPos.posToSectionCoord(searchArea.minY); sectionY <= SectionPos.posToSectionCoord(searchArea.maxY); sectionY++) {
+                for(int sectionZ = SectionPos.posToSectionCoord(searchArea.minZ); sectionZ <= SectionPos.posToSectionCoord(searchArea.maxZ); sectionZ++) {
+                    ArrayList<SquadHandler> squads = sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+                    if(squads == null)
+                    {
+                        continue;
+                    }
+
+                    for(SquadHandler squad : squads)
+                    {
+                        Mob leader = squad.getMob();
+                        if(!squad.isSquadLeader() || squad.isSquadLeaderDead())
+                        {
+                            squadsToRemove.add(squad);
+                            continue;
+                        }
+
+                        if(leader == joiningMob || !squad.isSquadJoinable() || !searchArea.contains(leader.position()))
+                        {
+                            continue;
+                        }
+
+                        double distance = joiningMob.distanceToSqr(leader);
+                        if(distance < closestDistance)
+                        {
+                            closestSquad = squad;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+
+        squadsToRemove.forEach(this::unregister);
+        return closestSquad;
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.sculkhorde.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Schedules values to expire at a given tick, without having to look at every value on every tick. <br>
+ * Time is split into slots of a fixed number of ticks, and the slots are arranged in a ring.
+ * A value is put into the slot its expiration tick falls into. When time moves forward, only the slots
+ * that were passed are looked at. Values that are more than one full turn of the ring away stay in their
+ * slot until the ring comes around again. <br>
+ * Values expire with the precision of one slot. Removing a value early is not supported, the consumer
+ * should check if the value is still relevant when it expires.
+ * @param <T> The type of value
+ */
+public class TimingWheel<T>
+{
+    private final ArrayList<Entry<T>>[] slots;
+    private final int slotMask;
+    private final int ticksPerSlot;
+    private long lastProcessedSlot = -1;
+    private int size = 0;
+
+    private record Entry<T>(T value, long expirationSlot) {}
+
+    /**
+     * @param slotCount How many slots the ring has. Rounded up to a power of two.
+     * @param ticksPerSlot How many ticks each slot covers
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount, int ticksPerSlot)
+    {
+        int roundedSlotCount = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.slots = new ArrayList[roundedSlotCount];
+        for(int i = 0; i < roundedSlotCount; i++)
+        {
+            slots[i] = new ArrayList<>();
+        }
+        this.slotMask = roundedSlotCount - 1;
+        this.ticksPerSlot = Math.max(1, ticksPerSlot);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Schedules a value to expire.
+     * @param value The value
+     * @param expirationTick The tick at which it should expire. Ticks in the past expire on the next advance.
+     */
+    public void schedule(T value, long expirationTick)
+    {
+        long expirationSlot = Math.max(Math.floorDiv(expirationTick, ticksPerSlot), lastProcessedSlot + 1);
+        slots[(int) (expirationSlot & slotMask)].add(new Entry<>(value, expirationSlot));
+        size++;
+    }
+
+    /**
+     * Moves time forward and hands every value that expired on the way to the consumer.
+     * @param currentTick The current tick. Should never go backwards.
+     * @param onExpired Gets every expired value
+     */
+    public void advance(long currentTick, Consumer<T> onExpired)
+    {
+        long currentSlot = Math.floorDiv(currentTick, ticksPerSlot);
+        if(currentSlot <= lastProcessedSlot)
+        {
+            return;
+        }
+
+        // If we skipped more than a full turn, every slot only has to be looked at once
+        long firstSlot = Math.max(lastProcessedSlot + 1, currentSlot - slotMask);
+        lastProcessedSlot = currentSlot;
+
+        ArrayList<T> expired = new ArrayList<>();
+        for(long slot = firstSlot; slot <= currentSlot; slot++)
+        {
+            Iterator<Entry<T>> iterator = slots[(int) (slot & slotMask)].iterator();
+            while(iterator.hasNext())
+            {
+                Entry<T> entry = iterator.next();
+                if(entry.expirationSlot() <= currentSlot)
+                {
+                    iterator.remove();
+                    size--;
+                    expired.add(entry.value());
+                }
+            }
+        }
+
+        // Done after the loop so the consumer can safely schedule new values
+        expired.forEach(onExpired);
+    }
+
+    public void clear()
+    {
+        for(ArrayList<Entry<T>> slot : slots)
+        {
+            slot.clear();
+        }
+        size = 0;
+    }
+}